@@ -1,6 +1,12 @@
 package ai.armada.client.common;
 
+import ai.armada.client.common.http.DeadlineExceededException;
+import ai.armada.client.common.http.UpstreamRejectedException;
+import ai.armada.client.datapool.exception.DataPoolApiException;
+import ai.armada.client.organization.exception.OrganizationApiException;
+import ai.armada.client.serviceline.exception.ServiceLineApiException;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import java.time.Instant;
 
@@ -18,4 +24,30 @@ public record ApiError(
     public ApiError(String errorCode, String message, String path) {
         this(errorCode, message, Instant.now(), path);
     }
-}
\ No newline at end of file
+
+    /**
+     * The error code and message {@link ApiExceptionHandler} would respond with for this failure,
+     * for failures reported inside an otherwise successful response
+     */
+    public static ApiError from(Throwable e) {
+        if (e instanceof OrganizationApiException organizationException) {
+            return new ApiError(organizationException.getErrorCode(), e.getMessage());
+        }
+        if (e instanceof DataPoolApiException dataPoolException) {
+            return new ApiError(dataPoolException.getErrorCode(), e.getMessage());
+        }
+        if (e instanceof ServiceLineApiException serviceLineException) {
+            return new ApiError(serviceLineException.getErrorCode(), e.getMessage());
+        }
+        if (e instanceof UpstreamRejectedException rejected) {
+            return new ApiError(rejected.getErrorCode(), e.getMessage());
+        }
+        if (e instanceof DeadlineExceededException) {
+            return new ApiError("DEADLINE_EXCEEDED", e.getMessage());
+        }
+        if (e instanceof WebClientResponseException webClientException) {
+            return new ApiError("EXTERNAL_API_ERROR", "External API call failed: " + webClientException.getStatusText());
+        }
+        return new ApiError("INTERNAL_ERROR", "An unexpected error occurred: " + e.getMessage());
+    }
+}
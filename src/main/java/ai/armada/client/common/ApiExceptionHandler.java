@@ -1,10 +1,13 @@
 package ai.armada.client.common;
 
+import ai.armada.client.common.http.DeadlineExceededException;
+import ai.armada.client.common.http.UpstreamRejectedException;
 import ai.armada.client.common.security.AuthenticationException;
 import ai.armada.client.datapool.exception.DataPoolApiException;
 import ai.armada.client.organization.exception.OrganizationApiException;
 import ai.armada.client.serviceline.exception.ServiceLineApiException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -13,18 +16,77 @@ import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 @ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Slf4j
 public class ApiExceptionHandler {
 
     @ExceptionHandler(OrganizationApiException.class)
     public ResponseEntity<ApiError> handleOrganizationApiException(
             OrganizationApiException ex, WebRequest request) {
+        return organizationApiError(ex, path(request));
+    }
+
+    @ExceptionHandler(DataPoolApiException.class)
+    public ResponseEntity<ApiError> handleDataPoolApiException(
+            DataPoolApiException ex, WebRequest request) {
+        return dataPoolApiError(ex, path(request));
+    }
+
+    @ExceptionHandler(ServiceLineApiException.class)
+    public ResponseEntity<ApiError> handleServiceLineApiException(
+            ServiceLineApiException ex, WebRequest request) {
+        return serviceLineApiError(ex, path(request));
+    }
+
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<ApiError> handleAuthenticationException(
+            AuthenticationException ex, WebRequest request) {
+        return authenticationError(ex, path(request));
+    }
+
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<ApiError> handleDeadlineExceededException(
+            DeadlineExceededException ex, WebRequest request) {
+        return deadlineExceededError(ex, path(request));
+    }
+
+    @ExceptionHandler(UpstreamRejectedException.class)
+    public ResponseEntity<ApiError> handleUpstreamRejectedException(
+            UpstreamRejectedException ex, WebRequest request) {
+        return upstreamRejectedError(ex, path(request));
+    }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ApiError> handleInvalidRequestException(
+            InvalidRequestException ex, WebRequest request) {
+        return invalidRequestError(ex, path(request));
+    }
+
+    @ExceptionHandler(WebClientResponseException.class)
+    public ResponseEntity<ApiError> handleWebClientResponseException(
+            WebClientResponseException ex, WebRequest request) {
+        return webClientError(ex, path(request));
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ApiError> handleGeneralException(
+            Exception ex, WebRequest request) {
+        return generalError(ex, path(request));
+    }
+
+    private static String path(WebRequest request) {
+        return request.getDescription(false).replace("uri=", "");
+    }
+
+    // Response builders shared with ReactiveApiExceptionHandler
+
+    static ResponseEntity<ApiError> organizationApiError(OrganizationApiException ex, String path) {
         log.error("Organization API error: {}", ex.getMessage(), ex);
 
         ApiError error = new ApiError(
                 ex.getErrorCode(),
                 ex.getMessage(),
-                request.getDescription(false).replace("uri=", "")
+                path
         );
 
         return ResponseEntity
@@ -32,15 +94,13 @@ public class ApiExceptionHandler {
                 .body(error);
     }
 
-    @ExceptionHandler(DataPoolApiException.class)
-    public ResponseEntity<ApiError> handleDataPoolApiException(
-            DataPoolApiException ex, WebRequest request) {
+    static ResponseEntity<ApiError> dataPoolApiError(DataPoolApiException ex, String path) {
         log.error("DataPool API error: {}", ex.getMessage(), ex);
 
         ApiError error = new ApiError(
                 ex.getErrorCode(),
                 ex.getMessage(),
-                request.getDescription(false).replace("uri=", "")
+                path
         );
 
         return ResponseEntity
@@ -48,15 +108,13 @@ public class ApiExceptionHandler {
                 .body(error);
     }
 
-    @ExceptionHandler(ServiceLineApiException.class)
-    public ResponseEntity<ApiError> handleServiceLineApiException(
-            ServiceLineApiException ex, WebRequest request) {
+    static ResponseEntity<ApiError> serviceLineApiError(ServiceLineApiException ex, String path) {
         log.error("ServiceLine API error: {}", ex.getMessage(), ex);
 
         ApiError error = new ApiError(
                 ex.getErrorCode(),
                 ex.getMessage(),
-                request.getDescription(false).replace("uri=", "")
+                path
         );
 
         return ResponseEntity
@@ -64,15 +122,13 @@ public class ApiExceptionHandler {
                 .body(error);
     }
 
-    @ExceptionHandler(AuthenticationException.class)
-    public ResponseEntity<ApiError> handleAuthenticationException(
-            AuthenticationException ex, WebRequest request) {
+    static ResponseEntity<ApiError> authenticationError(AuthenticationException ex, String path) {
         log.error("Authentication error: {}", ex.getMessage(), ex);
         
         ApiError error = new ApiError(
                 "AUTH_ERROR",
                 ex.getMessage(),
-                request.getDescription(false).replace("uri=", "")
+                path
         );
         
         return ResponseEntity
@@ -80,15 +136,55 @@ public class ApiExceptionHandler {
                 .body(error);
     }
 
-    @ExceptionHandler(WebClientResponseException.class)
-    public ResponseEntity<ApiError> handleWebClientResponseException(
-            WebClientResponseException ex, WebRequest request) {
+    static ResponseEntity<ApiError> deadlineExceededError(DeadlineExceededException ex, String path) {
+        log.warn("Deadline exceeded: {}", ex.getMessage());
+
+        ApiError error = new ApiError(
+                "DEADLINE_EXCEEDED",
+                ex.getMessage(),
+                path
+        );
+
+        return ResponseEntity
+                .status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(error);
+    }
+
+    static ResponseEntity<ApiError> upstreamRejectedError(UpstreamRejectedException ex, String path) {
+        log.warn("Upstream call rejected: {}", ex.getMessage());
+
+        ApiError error = new ApiError(
+                ex.getErrorCode(),
+                ex.getMessage(),
+                path
+        );
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(error);
+    }
+
+    static ResponseEntity<ApiError> invalidRequestError(InvalidRequestException ex, String path) {
+        log.warn("Invalid request: {}", ex.getMessage());
+
+        ApiError error = new ApiError(
+                "INVALID_REQUEST",
+                ex.getMessage(),
+                path
+        );
+
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(error);
+    }
+
+    static ResponseEntity<ApiError> webClientError(WebClientResponseException ex, String path) {
         log.error("WebClient error: {} - {}", ex.getStatusCode(), ex.getResponseBodyAsString(), ex);
         
         ApiError error = new ApiError(
                 "EXTERNAL_API_ERROR",
                 "External API call failed: " + ex.getStatusText(),
-                request.getDescription(false).replace("uri=", "")
+                path
         );
         
         return ResponseEntity
@@ -96,19 +192,17 @@ public class ApiExceptionHandler {
                 .body(error);
     }
 
-    @ExceptionHandler(Exception.class)
-    public ResponseEntity<ApiError> handleGeneralException(
-            Exception ex, WebRequest request) {
+    static ResponseEntity<ApiError> generalError(Exception ex, String path) {
         log.error("Unexpected error: {}", ex.getMessage(), ex);
         
         ApiError error = new ApiError(
                 "INTERNAL_ERROR",
                 "An unexpected error occurred: " + ex.getMessage(),
-                request.getDescription(false).replace("uri=", "")
+                path
         );
         
         return ResponseEntity
                 .status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(error);
     }
-}
\ No newline at end of file
+}
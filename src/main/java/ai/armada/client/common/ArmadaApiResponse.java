@@ -0,0 +1,19 @@
+package ai.armada.client.common;
+
+/**
+ * Common shape of the standard Armada API response envelope (status, data, metadata).
+ * Lets the API clients unwrap any response type through one code path.
+ */
+public interface ArmadaApiResponse<T> {
+
+    String status();
+
+    T data();
+
+    /**
+     * Check if the response indicates success.
+     */
+    default boolean isSuccess() {
+        return "success".equalsIgnoreCase(status());
+    }
+}
@@ -0,0 +1,21 @@
+package ai.armada.client.common;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome for one ID of a batch request: either its data or the error that prevented fetching it
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchItem<T>(
+        String id,
+        T data,
+        ApiError error
+) {
+    public static <T> BatchItem<T> of(String id, T data) {
+        return new BatchItem<>(id, data, null);
+    }
+
+    public static <T> BatchItem<T> failed(String id, ApiError error) {
+        return new BatchItem<>(id, null, error);
+    }
+}
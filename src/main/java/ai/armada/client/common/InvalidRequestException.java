@@ -0,0 +1,11 @@
+package ai.armada.client.common;
+
+/**
+ * Exception thrown when a request is rejected before any upstream call because its parameters are unusable
+ */
+public class InvalidRequestException extends RuntimeException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
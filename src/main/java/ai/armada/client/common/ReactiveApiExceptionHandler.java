@@ -0,0 +1,76 @@
+package ai.armada.client.common;
+
+import ai.armada.client.common.http.DeadlineExceededException;
+import ai.armada.client.common.http.UpstreamRejectedException;
+import ai.armada.client.common.security.AuthenticationException;
+import ai.armada.client.datapool.exception.DataPoolApiException;
+import ai.armada.client.organization.exception.OrganizationApiException;
+import ai.armada.client.serviceline.exception.ServiceLineApiException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+/**
+ * Reactive-stack counterpart of {@link ApiExceptionHandler}; produces the same {@link ApiError} responses.
+ */
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveApiExceptionHandler {
+
+    @ExceptionHandler(OrganizationApiException.class)
+    public ResponseEntity<ApiError> handleOrganizationApiException(
+            OrganizationApiException ex, ServerHttpRequest request) {
+        return ApiExceptionHandler.organizationApiError(ex, request.getPath().value());
+    }
+
+    @ExceptionHandler(DataPoolApiException.class)
+    public ResponseEntity<ApiError> handleDataPoolApiException(
+            DataPoolApiException ex, ServerHttpRequest request) {
+        return ApiExceptionHandler.dataPoolApiError(ex, request.getPath().value());
+    }
+
+    @ExceptionHandler(ServiceLineApiException.class)
+    public ResponseEntity<ApiError> handleServiceLineApiException(
+            ServiceLineApiException ex, ServerHttpRequest request) {
+        return ApiExceptionHandler.serviceLineApiError(ex, request.getPath().value());
+    }
+
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<ApiError> handleAuthenticationException(
+            AuthenticationException ex, ServerHttpRequest request) {
+        return ApiExceptionHandler.authenticationError(ex, request.getPath().value());
+    }
+
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<ApiError> handleDeadlineExceededException(
+            DeadlineExceededException ex, ServerHttpRequest request) {
+        return ApiExceptionHandler.deadlineExceededError(ex, request.getPath().value());
+    }
+
+    @ExceptionHandler(UpstreamRejectedException.class)
+    public ResponseEntity<ApiError> handleUpstreamRejectedException(
+            UpstreamRejectedException ex, ServerHttpRequest request) {
+        return ApiExceptionHandler.upstreamRejectedError(ex, request.getPath().value());
+    }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ApiError> handleInvalidRequestException(
+            InvalidRequestException ex, ServerHttpRequest request) {
+        return ApiExceptionHandler.invalidRequestError(ex, request.getPath().value());
+    }
+
+    @ExceptionHandler(WebClientResponseException.class)
+    public ResponseEntity<ApiError> handleWebClientResponseException(
+            WebClientResponseException ex, ServerHttpRequest request) {
+        return ApiExceptionHandler.webClientError(ex, request.getPath().value());
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ApiError> handleGeneralException(
+            Exception ex, ServerHttpRequest request) {
+        return ApiExceptionHandler.generalError(ex, request.getPath().value());
+    }
+}
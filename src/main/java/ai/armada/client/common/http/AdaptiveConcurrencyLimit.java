@@ -0,0 +1,126 @@
+package ai.armada.client.common.http;
+
+import ai.armada.client.config.ArmadaApiProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Finds the concurrency limit of a {@link Bulkhead} from the latency of the calls it lets through,
+ * with a gradient algorithm.
+ * <p>
+ * Two latency averages are kept: a long-term one that stands for the upstream's unloaded latency and a
+ * short-term one for now. Their ratio is the gradient. While the upstream answers as fast as usual
+ * (within {@code rtt-tolerance} of the long-term average), the gradient is 1 and the limit grows by about
+ * its square root per sample, smoothed. As calls slow down, the gradient drops towards 0.5 and the limit
+ * shrinks in proportion. A failed or overloaded call ({@code 429}, {@code 5xx}, timeout) cuts the limit by
+ * {@code backoff-ratio}. The limit only grows while the bulkhead is at least half used, so an idle period
+ * does not inflate it. The limit stays between {@code min-limit} and {@code max-limit}, and never exceeds
+ * the number of calls the bulkhead's connection pool can carry at once: calls beyond that would only wait
+ * for a connection, where they are neither timed nor bounded by the bulkhead's queue.
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimit {
+
+    private static final double SHORT_SMOOTHING = 0.5;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final Bulkhead bulkhead;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+    private final double longSmoothing;
+    private final double backoffRatio;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LongAdder increases = new LongAdder();
+    private final LongAdder decreases = new LongAdder();
+    private double limit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    /**
+     * @param connectionCapacity calls the bulkhead's connection pool can carry at once
+     */
+    public AdaptiveConcurrencyLimit(Bulkhead bulkhead, ArmadaApiProperties.AdaptiveConcurrency config,
+                                    int connectionCapacity) {
+        this.bulkhead = bulkhead;
+        int capacity = Math.max(1, connectionCapacity);
+        this.minLimit = Math.min(capacity, Math.max(1, config.getMinLimit()));
+        this.maxLimit = Math.min(capacity, Math.max(this.minLimit, config.getMaxLimit()));
+        this.rttTolerance = Math.max(1.0, config.getRttTolerance());
+        this.smoothing = config.getSmoothing();
+        this.longSmoothing = 1.0 / Math.max(1, config.getLongWindow());
+        this.backoffRatio = config.getBackoffRatio();
+        this.limit = Math.min(maxLimit, Math.max(minLimit, bulkhead.getMaxConcurrentCalls()));
+        bulkhead.setMaxConcurrentCalls((int) limit);
+    }
+
+    /**
+     * Records a call that got a usable response after {@code rttNanos}, started while {@code inFlight}
+     * calls were running
+     */
+    public void onSuccess(long rttNanos, int inFlight) {
+        lock.lock();
+        try {
+            shortRttNanos = shortRttNanos == 0 ? rttNanos : SHORT_SMOOTHING * rttNanos + (1 - SHORT_SMOOTHING) * shortRttNanos;
+            longRttNanos = longRttNanos == 0 ? rttNanos : longSmoothing * rttNanos + (1 - longSmoothing) * longRttNanos;
+            // After a lasting slowdown the long-term average catches up with the new normal faster
+            if (longRttNanos > 2 * shortRttNanos) {
+                longRttNanos *= 0.95;
+            }
+            if (inFlight < limit / 2) {
+                return;
+            }
+            double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, rttTolerance * longRttNanos / shortRttNanos));
+            double target = limit * gradient + Math.sqrt(limit);
+            update(limit * (1 - smoothing) + target * smoothing);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a call that failed or was refused because the upstream is overloaded
+     */
+    public void onDropped() {
+        lock.lock();
+        try {
+            update(limit * backoffRatio);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Callers must hold the lock
+    private void update(double newLimit) {
+        int previous = (int) limit;
+        limit = Math.min(maxLimit, Math.max(minLimit, newLimit));
+        int current = (int) limit;
+        if (current != previous) {
+            (current > previous ? increases : decreases).increment();
+            log.debug("Bulkhead '{}' concurrency limit {} -> {} (short rtt {} ms, long rtt {} ms)",
+                    bulkhead.getName(), previous, current, shortRttNanos / 1e6, longRttNanos / 1e6);
+            bulkhead.setMaxConcurrentCalls(current);
+        }
+    }
+
+    public int getLimit() {
+        return bulkhead.getMaxConcurrentCalls();
+    }
+
+    /**
+     * Times the limit went up by at least one call
+     */
+    public long getIncreases() {
+        return increases.sum();
+    }
+
+    /**
+     * Times the limit went down by at least one call
+     */
+    public long getDecreases() {
+        return decreases.sum();
+    }
+}
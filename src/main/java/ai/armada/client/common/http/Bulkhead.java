@@ -0,0 +1,281 @@
+package ai.armada.client.common.http;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caps the number of concurrent upstream calls for one client domain.
+ * Calls beyond the limit wait, without holding a thread, in a bounded queue; once the queue
+ * is full further calls are rejected with {@link UpstreamRejectedException}.
+ * <p>
+ * Waiting calls are served by {@link Priority}: a freed slot goes to the oldest interactive call first.
+ * Background calls never occupy the slots reserved for interactive traffic, so a running sweep
+ * cannot push interactive calls into the queue.
+ * <p>
+ * The limit can be changed while calls are running, as {@link AdaptiveConcurrencyLimit} does.
+ */
+@Slf4j
+public class Bulkhead {
+
+    private final String name;
+    private final int reservedInteractiveCalls;
+    private final int maxQueuedCalls;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<MonoSink<Permit>> interactiveQueue = new ArrayDeque<>();
+    private final Deque<MonoSink<Permit>> backgroundQueue = new ArrayDeque<>();
+    private final LongAdder rejectedCalls = new LongAdder();
+    private int maxConcurrentCalls;
+    private int maxBackgroundCalls;
+    private int activeCalls;
+    private int activeBackgroundCalls;
+
+    public Bulkhead(String name, int maxConcurrentCalls, int maxQueuedCalls) {
+        this(name, maxConcurrentCalls, maxQueuedCalls, 0);
+    }
+
+    public Bulkhead(String name, int maxConcurrentCalls, int maxQueuedCalls, int reservedInteractiveCalls) {
+        if (maxConcurrentCalls < 1) {
+            throw new IllegalArgumentException("Bulkhead '" + name + "' needs at least one concurrent call");
+        }
+        this.name = name;
+        this.reservedInteractiveCalls = Math.max(0, reservedInteractiveCalls);
+        this.maxQueuedCalls = Math.max(0, maxQueuedCalls);
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxBackgroundCalls = backgroundShare(maxConcurrentCalls);
+    }
+
+    public Mono<Permit> acquire() {
+        return acquire(Priority.INTERACTIVE);
+    }
+
+    /**
+     * Emits a permit once a slot is free for the given priority. The permit must be released when the
+     * call finishes; a permit granted to a subscriber that has already cancelled is released automatically.
+     */
+    public Mono<Permit> acquire(Priority priority) {
+        return Mono.<Permit>create(sink -> {
+                    boolean granted = false;
+                    boolean queued = false;
+                    lock.lock();
+                    try {
+                        if (canStart(priority)) {
+                            start(priority);
+                            granted = true;
+                        } else if (interactiveQueue.size() + backgroundQueue.size() < maxQueuedCalls) {
+                            queueFor(priority).addLast(sink);
+                            queued = true;
+                        }
+                    } finally {
+                        lock.unlock();
+                    }
+
+                    if (granted) {
+                        sink.success(new Permit(priority));
+                    } else if (queued) {
+                        sink.onCancel(() -> dequeue(sink));
+                    } else {
+                        rejectedCalls.increment();
+                        log.warn("Bulkhead '{}' is full ({} active, {} queued), rejecting {} call",
+                                name, getActiveCalls(), maxQueuedCalls, priority);
+                        sink.error(new UpstreamRejectedException(
+                                "BULKHEAD_FULL",
+                                "Too many concurrent " + name + " calls, try again later"
+                        ));
+                    }
+                })
+                .doOnDiscard(Permit.class, Permit::release);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Changes the number of calls allowed in flight at once. Raising it starts waiting calls right away;
+     * lowering it lets calls already in flight finish and holds new ones back until they fit.
+     */
+    public void setMaxConcurrentCalls(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Bulkhead '" + name + "' needs at least one concurrent call");
+        }
+        List<Grant> grants = new ArrayList<>();
+        lock.lock();
+        try {
+            maxConcurrentCalls = limit;
+            maxBackgroundCalls = backgroundShare(limit);
+            for (Grant next = pollNext(); next != null; next = pollNext()) {
+                grants.add(next);
+            }
+        } finally {
+            lock.unlock();
+        }
+        grants.forEach(Grant::run);
+    }
+
+    public int getMaxConcurrentCalls() {
+        lock.lock();
+        try {
+            return maxConcurrentCalls;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getActiveCalls() {
+        lock.lock();
+        try {
+            return activeCalls;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getActiveBackgroundCalls() {
+        lock.lock();
+        try {
+            return activeBackgroundCalls;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueuedCalls() {
+        lock.lock();
+        try {
+            return interactiveQueue.size() + backgroundQueue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueuedBackgroundCalls() {
+        lock.lock();
+        try {
+            return backgroundQueue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRejectedCalls() {
+        return rejectedCalls.sum();
+    }
+
+    // Callers must hold the lock
+
+    private boolean canStart(Priority priority) {
+        if (activeCalls >= maxConcurrentCalls) {
+            return false;
+        }
+        return priority == Priority.INTERACTIVE || activeBackgroundCalls < maxBackgroundCalls;
+    }
+
+    private void start(Priority priority) {
+        activeCalls++;
+        if (priority == Priority.BACKGROUND) {
+            activeBackgroundCalls++;
+        }
+    }
+
+    private int backgroundShare(int limit) {
+        return Math.max(1, limit - reservedInteractiveCalls);
+    }
+
+    /**
+     * Takes the next waiting call that may start now, interactive calls first, and occupies its slot
+     */
+    private Grant pollNext() {
+        if (!interactiveQueue.isEmpty() && canStart(Priority.INTERACTIVE)) {
+            start(Priority.INTERACTIVE);
+            return new Grant(interactiveQueue.pollFirst(), Priority.INTERACTIVE);
+        }
+        if (interactiveQueue.isEmpty() && !backgroundQueue.isEmpty() && canStart(Priority.BACKGROUND)) {
+            start(Priority.BACKGROUND);
+            return new Grant(backgroundQueue.pollFirst(), Priority.BACKGROUND);
+        }
+        return null;
+    }
+
+    private Deque<MonoSink<Permit>> queueFor(Priority priority) {
+        return priority == Priority.BACKGROUND ? backgroundQueue : interactiveQueue;
+    }
+
+    private void dequeue(MonoSink<Permit> sink) {
+        lock.lock();
+        try {
+            if (!interactiveQueue.remove(sink)) {
+                backgroundQueue.remove(sink);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void releaseSlot(Priority released) {
+        Grant next;
+        lock.lock();
+        try {
+            activeCalls--;
+            if (released == Priority.BACKGROUND) {
+                activeBackgroundCalls--;
+            }
+            next = pollNext();
+        } finally {
+            lock.unlock();
+        }
+        if (next != null) {
+            next.run();
+        }
+    }
+
+    /**
+     * A slot taken for a waiting call, to be handed over once the lock is released
+     */
+    private final class Grant {
+
+        private final MonoSink<Permit> waiter;
+        private final Priority priority;
+
+        private Grant(MonoSink<Permit> waiter, Priority priority) {
+            this.waiter = waiter;
+            this.priority = priority;
+        }
+
+        // If the waiter cancelled meanwhile, the permit is discarded and released again
+        void run() {
+            waiter.success(new Permit(priority));
+        }
+    }
+
+    /**
+     * One occupied slot in the bulkhead. Releasing is idempotent.
+     */
+    public final class Permit {
+
+        private final Priority priority;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Priority priority) {
+            this.priority = priority;
+        }
+
+        public Priority getPriority() {
+            return priority;
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                releaseSlot(priority);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package ai.armada.client.common.http;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs every exchange of a WebClient inside a {@link Bulkhead}, at the {@link Priority} found in the
+ * subscriber context. The slot is held until the response body has been read, errored or cancelled.
+ * <p>
+ * With an {@link AdaptiveConcurrencyLimit}, the time from sending the request to receiving the response
+ * headers of each exchange is fed to it, and so are failures and overload responses.
+ */
+public class BulkheadFilter implements ExchangeFilterFunction {
+
+    private final Bulkhead bulkhead;
+    private final AdaptiveConcurrencyLimit limit;
+
+    public BulkheadFilter(Bulkhead bulkhead) {
+        this(bulkhead, null);
+    }
+
+    public BulkheadFilter(Bulkhead bulkhead, AdaptiveConcurrencyLimit limit) {
+        this.bulkhead = bulkhead;
+        this.limit = limit;
+    }
+
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    /**
+     * The adaptive limit of this bulkhead, or null when its limit is fixed
+     */
+    public AdaptiveConcurrencyLimit getLimit() {
+        return limit;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> bulkhead.acquire(Priority.from(context))).flatMap(permit -> {
+            AtomicBoolean responseReceived = new AtomicBoolean();
+            int inFlight = bulkhead.getActiveCalls();
+            long start = System.nanoTime();
+            return next.exchange(request)
+                    .doOnNext(response -> {
+                        responseReceived.set(true);
+                        sample(response, System.nanoTime() - start, inFlight);
+                    })
+                    .doFinally(signal -> {
+                        if (!responseReceived.get()) {
+                            if (signal == SignalType.ON_ERROR && limit != null) {
+                                limit.onDropped();
+                            }
+                            permit.release();
+                        }
+                    })
+                    .map(response -> response.mutate()
+                            .body(body -> body.doFinally(signal -> permit.release()))
+                            .build());
+        });
+    }
+
+    private void sample(ClientResponse response, long rttNanos, int inFlight) {
+        if (limit == null) {
+            return;
+        }
+        if (response.statusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()
+                || response.statusCode().is5xxServerError()) {
+            limit.onDropped();
+        } else {
+            limit.onSuccess(rttNanos, inFlight);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package ai.armada.client.common.http;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts upstream calls that were cancelled before their response body was fully read.
+ * On the reactive stack an inbound client disconnect cancels the controller's {@code Mono}, and that
+ * cancellation travels up to the WebClient subscription, which closes the upstream connection instead of
+ * draining it. This filter observes that cancellation and records how many response bytes were skipped.
+ * <p>
+ * Only cancellations caused by the inbound client going away, as marked by {@link ClientDisconnect}, count as
+ * saved. Calls cancelled for other reasons (a hedge that lost the race, a deadline timeout, a shared call
+ * whose callers all left) are counted separately.
+ */
+@Component
+@Slf4j
+public class CancellationMetricsFilter implements ExchangeFilterFunction {
+
+    private final LongAdder cancelledCalls = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+    private final LongAdder otherCancelledCalls = new LongAdder();
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        // Operators downstream may cancel the exchange Mono after it emitted the response,
+        // so only cancellations before the headers arrived are recorded there
+        return Mono.deferContextual(context -> {
+            AtomicBoolean responseReceived = new AtomicBoolean();
+            return next.exchange(request)
+                    .doOnNext(response -> responseReceived.set(true))
+                    .doOnCancel(() -> {
+                        if (!responseReceived.get()) {
+                            recordCancellation(context, request, OptionalLong.empty(), 0);
+                        }
+                    })
+                    .map(response -> response.mutate()
+                            .body(body -> trackBody(context, request, response.headers().contentLength(), body))
+                            .build());
+        });
+    }
+
+    /**
+     * Number of upstream calls cancelled by an inbound client disconnect before the response completed
+     */
+    public long getCancelledCalls() {
+        return cancelledCalls.sum();
+    }
+
+    /**
+     * Response bytes left unread because of cancellations. Only responses that declared a
+     * {@code Content-Length} contribute; cancellations before the headers arrived count as zero.
+     */
+    public long getBytesSaved() {
+        return bytesSaved.sum();
+    }
+
+    /**
+     * Number of upstream calls cancelled for any other reason than an inbound client disconnect
+     */
+    public long getOtherCancelledCalls() {
+        return otherCancelledCalls.sum();
+    }
+
+    private Flux<DataBuffer> trackBody(ContextView context, ClientRequest request, OptionalLong contentLength,
+                                       Flux<DataBuffer> body) {
+        AtomicLong received = new AtomicLong();
+        return body
+                .doOnNext(buffer -> received.addAndGet(buffer.readableByteCount()))
+                .doOnCancel(() -> recordCancellation(context, request, contentLength, received.get()));
+    }
+
+    private void recordCancellation(ContextView context, ClientRequest request, OptionalLong contentLength,
+                                    long received) {
+        if (!ClientDisconnect.isDisconnected(context)) {
+            otherCancelledCalls.increment();
+            log.debug("Upstream call cancelled without a client disconnect: {} {}",
+                    request.method(), request.url().getPath());
+            return;
+        }
+        long saved = Math.max(0, contentLength.orElse(received) - received);
+        cancelledCalls.increment();
+        bytesSaved.add(saved);
+        log.debug("Upstream call cancelled: {} {} - received {} bytes, skipped {} bytes",
+                request.method(), request.url().getPath(), received, saved);
+    }
+}
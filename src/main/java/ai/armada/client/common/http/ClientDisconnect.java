@@ -0,0 +1,35 @@
+package ai.armada.client.common.http;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Records whether the inbound request a reactive pipeline serves was cancelled by its client going away.
+ * {@link ClientDisconnectWebFilter} puts one into the Reactor context of every inbound request and marks it
+ * when the server cancels the request, before the cancellation reaches the upstream calls. Upstream calls
+ * cancelled for other reasons (a hedge that lost, a deadline timeout) find it unmarked.
+ */
+public final class ClientDisconnect {
+
+    private volatile boolean disconnected;
+
+    public Context asContext() {
+        return Context.of(ClientDisconnect.class, this);
+    }
+
+    public void markDisconnected() {
+        disconnected = true;
+    }
+
+    public boolean isDisconnected() {
+        return disconnected;
+    }
+
+    /**
+     * Whether the pipeline with this context serves an inbound request whose client has gone away
+     */
+    public static boolean isDisconnected(ContextView context) {
+        ClientDisconnect disconnect = context.getOrDefault(ClientDisconnect.class, null);
+        return disconnect != null && disconnect.isDisconnected();
+    }
+}
@@ -0,0 +1,21 @@
+package ai.armada.client.common.http;
+
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Marks the inbound request's {@link ClientDisconnect} when the server cancels it on the reactive stack.
+ * The mark is set before the cancellation travels on to the controller and its upstream calls.
+ */
+public class ClientDisconnectWebFilter implements WebFilter {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ClientDisconnect disconnect = new ClientDisconnect();
+        return chain.filter(exchange)
+                .doOnCancel(disconnect::markDisconnected)
+                .contextWrite(disconnect.asContext());
+    }
+}
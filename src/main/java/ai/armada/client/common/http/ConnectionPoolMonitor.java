@@ -0,0 +1,61 @@
+package ai.armada.client.common.http;
+
+import org.springframework.stereotype.Component;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live gauges of the upstream connection pools. Reactor Netty registers each pool here when it is
+ * created for a remote address, so pools only appear after their first call.
+ * <p>
+ * The gauges are only readable through {@link #getPools()}. There is no Micrometer registry to hand them
+ * to, which is why this registrar replaces Reactor Netty's built-in pool metrics.
+ */
+@Component
+public class ConnectionPoolMonitor implements ConnectionProvider.MeterRegistrar {
+
+    private final Map<String, ConnectionPoolMetrics> pools = new ConcurrentHashMap<>();
+
+    @Override
+    public void registerMetrics(String poolName, String id, SocketAddress remoteAddress, ConnectionPoolMetrics metrics) {
+        pools.put(key(poolName, remoteAddress), metrics);
+    }
+
+    @Override
+    public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+        pools.remove(key(poolName, remoteAddress));
+    }
+
+    /**
+     * Current state of every pool, keyed by pool name and remote address
+     */
+    public Map<String, PoolStats> getPools() {
+        Map<String, PoolStats> snapshot = new TreeMap<>();
+        pools.forEach((key, metrics) -> snapshot.put(key, new PoolStats(
+                metrics.acquiredSize(),
+                metrics.idleSize(),
+                metrics.pendingAcquireSize(),
+                metrics.maxAllocatedSize(),
+                metrics.maxPendingAcquireSize())));
+        return snapshot;
+    }
+
+    private static String key(String poolName, SocketAddress remoteAddress) {
+        return poolName + " " + remoteAddress;
+    }
+
+    /**
+     * @param active         connections currently leased to a call
+     * @param idle           open connections waiting in the pool
+     * @param pending        acquires waiting for a connection
+     * @param maxConnections pool size
+     * @param maxPending     acquires allowed to wait
+     */
+    public record PoolStats(int active, int idle, int pending, int maxConnections, int maxPending) {
+    }
+}
@@ -0,0 +1,81 @@
+package ai.armada.client.common.http;
+
+import ai.armada.client.common.security.TokenProvider;
+import ai.armada.client.config.ArmadaApiProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Opens keep-alive connections to the upstream and fetches the first access token while the application
+ * starts. Spring Boot reports the application ready only once runners have finished, so the first requests
+ * after a deploy no longer pay for DNS, TCP connect, the TLS handshake and the token call.
+ * <p>
+ * Warm-up never fails startup: errors and a timeout are logged, and anything not warmed is set up
+ * lazily on first use as before.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "armada.api.warmup", name = "enabled", matchIfMissing = true)
+public class ConnectionWarmer implements ApplicationRunner {
+
+    private final Map<String, WebClient> webClients;
+    private final TokenProvider tokenProvider;
+    private final ArmadaApiProperties.Warmup config;
+
+    public ConnectionWarmer(Map<String, WebClient> webClients, TokenProvider tokenProvider,
+                            ArmadaApiProperties properties) {
+        this.webClients = webClients;
+        this.tokenProvider = tokenProvider;
+        this.config = properties.getWarmup();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        log.info("Warming up {} connection(s) to each of {} upstream client(s)", config.getConnections(), webClients.size());
+
+        Mono<Void> token = tokenProvider.getAccessTokenReactive()
+                .doOnNext(value -> log.info("Access token obtained during warm-up"))
+                .onErrorResume(e -> {
+                    log.warn("Could not obtain an access token during warm-up: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+        Mono<Void> connections = Flux.fromIterable(webClients.entrySet())
+                .flatMap(entry -> warm(entry.getKey(), entry.getValue()))
+                .then();
+
+        Mono.when(token, connections)
+                .timeout(config.getTimeout(), Mono.fromRunnable(() ->
+                        log.warn("Warm-up did not finish within {}, continuing startup", config.getTimeout())))
+                .block();
+
+        log.info("Warm-up finished in {}ms", Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    private Mono<Void> warm(String name, WebClient webClient) {
+        // Concurrent requests, so that each one needs a connection of its own (or a stream on HTTP/2)
+        return Flux.range(0, config.getConnections())
+                .flatMap(i -> webClient.head()
+                        .uri(config.getPath())
+                        .exchangeToMono(ClientResponse::releaseBody)
+                        .thenReturn(1)
+                        .onErrorResume(e -> {
+                            log.debug("Warm-up request for {} failed: {}", name, e.getMessage());
+                            return Mono.empty();
+                        }))
+                .count()
+                .doOnNext(warmed -> log.info("Warmed {} of {} connection(s) for {}", warmed, config.getConnections(), name))
+                .then();
+    }
+}
@@ -0,0 +1,173 @@
+package ai.armada.client.common.http;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Serves usage requests for the last N billing cycles from a recent or in-flight response that covers
+ * more cycles, by keeping only the latest N of them.
+ * <p>
+ * Per key (everything the call depends on besides the number of cycles) the widest response fetched
+ * within {@code maxAge} is kept. A request it covers is answered from it; any other request fetches
+ * {@code max(N, minFetchedCycles)} cycles, which then becomes the kept response. Raising
+ * {@code minFetchedCycles} to the largest window callers commonly ask for lets one fetch serve them all.
+ * <p>
+ * Like {@link SingleFlight}, a fetch in flight is shared by the requests waiting for it, without any caller's
+ * {@link Deadline}: each caller waits only as long as its own deadline allows, and the fetch is cancelled
+ * once every caller has gone. Only completed responses are kept, for {@code maxAge} after they arrived;
+ * failed, empty and cancelled fetches are not. Expired responses are swept out when a new fetch starts,
+ * at most once per {@code maxAge}, so keys that are never requested again do not pile up.
+ *
+ * @param <T> usage response
+ */
+@Slf4j
+public class CycleWindowCache<T> {
+
+    private final String name;
+    private final boolean enabled;
+    private final Duration maxAge;
+    private final int minFetchedCycles;
+    private final BiFunction<T, Integer, T> latestCycles;
+    private final Map<Object, Window> windows = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweepNanos = new AtomicLong(System.nanoTime());
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder fetches = new LongAdder();
+
+    /**
+     * @param latestCycles keeps only the given number of most recent cycles of a response
+     */
+    public CycleWindowCache(String name, boolean enabled, Duration maxAge, int minFetchedCycles,
+                            BiFunction<T, Integer, T> latestCycles) {
+        this.name = name;
+        this.enabled = enabled && !maxAge.isZero();
+        this.maxAge = maxAge;
+        this.minFetchedCycles = Math.max(1, minFetchedCycles);
+        this.latestCycles = latestCycles;
+    }
+
+    /**
+     * @param key           requests with equal keys differ only in the number of cycles
+     * @param billingCycles cycles requested; null leaves the choice to the upstream and is never reused
+     * @param call          fetches the given number of cycles
+     */
+    public Mono<T> fetch(Object key, Integer billingCycles, Function<Integer, Mono<T>> call) {
+        if (!enabled || billingCycles == null || billingCycles < 1) {
+            return call.apply(billingCycles);
+        }
+        return Mono.deferContextual(context -> {
+            requests.increment();
+            Window window = windowFor(key, billingCycles, call);
+
+            Mono<T> response = window.response();
+            Deadline deadline = context.getOrDefault(Deadline.class, null);
+            if (deadline != null) {
+                response = response.timeout(deadline.remaining(), Mono.error(() -> new DeadlineExceededException(
+                        "Deadline exceeded waiting for a shared " + name + " call")));
+            }
+            return window.cycles == billingCycles
+                    ? response
+                    : response.map(data -> latestCycles.apply(data, billingCycles));
+        });
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getFetches() {
+        return fetches.sum();
+    }
+
+    /**
+     * Requests answered from a response fetched for another request
+     */
+    public long getReusedRequests() {
+        return requests.sum() - fetches.sum();
+    }
+
+    /**
+     * Keys with a kept or in-flight response, including expired ones not yet swept out
+     */
+    public int getSize() {
+        return windows.size();
+    }
+
+    private Window windowFor(Object key, int billingCycles, Function<Integer, Mono<T>> call) {
+        Window existing = windows.get(key);
+        if (existing == null || existing.cycles < billingCycles || !existing.isFresh()) {
+            evictExpired();
+        }
+        return windows.compute(key, (k, current) -> {
+            if (current != null && current.cycles >= billingCycles && current.isFresh()) {
+                return current;
+            }
+            fetches.increment();
+            int cycles = Math.max(billingCycles, minFetchedCycles);
+            log.debug("Fetching {} billing cycles of {} to serve a request for {}", cycles, name, billingCycles);
+            Window window = new Window(cycles);
+            // replay(1): a caller joining between the value and completion still gets the value;
+            // refCount(1): the fetch is cancelled once the last waiting caller has cancelled
+            window.inFlight = call.apply(cycles)
+                    .contextWrite(context -> context.delete(Deadline.class))
+                    .doOnNext(window::complete)
+                    .doFinally(signal -> {
+                        if (window.value == null) {
+                            windows.remove(k, window);
+                        }
+                    })
+                    .flux()
+                    .replay(1)
+                    .refCount(1)
+                    .singleOrEmpty();
+            return window;
+        });
+    }
+
+    private void evictExpired() {
+        long now = System.nanoTime();
+        long last = lastSweepNanos.get();
+        if (now - last < maxAge.toNanos() || !lastSweepNanos.compareAndSet(last, now)) {
+            return;
+        }
+        windows.values().removeIf(window -> !window.isFresh());
+    }
+
+    /**
+     * A fetch of {@code cycles} cycles: in flight until its value arrives, then kept for reuse
+     */
+    private final class Window {
+
+        private final int cycles;
+        private Mono<T> inFlight;
+        private volatile T value;
+        private volatile long completedAtNanos;
+
+        private Window(int cycles) {
+            this.cycles = cycles;
+        }
+
+        private void complete(T value) {
+            this.completedAtNanos = System.nanoTime();
+            this.value = value;
+        }
+
+        private boolean isFresh() {
+            return value == null || System.nanoTime() - completedAtNanos < maxAge.toNanos();
+        }
+
+        private Mono<T> response() {
+            return Mono.defer(() -> {
+                T completed = value;
+                return completed != null ? Mono.just(completed) : inFlight;
+            });
+        }
+    }
+}
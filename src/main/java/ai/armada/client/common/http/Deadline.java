@@ -0,0 +1,54 @@
+package ai.armada.client.common.http;
+
+import reactor.util.context.Context;
+
+import java.time.Duration;
+
+/**
+ * Point in time by which an inbound request must be answered. Every upstream call made on behalf of
+ * the request draws from the same remaining budget.
+ * <p>
+ * On the reactive stack the deadline travels in the Reactor {@link Context} under the {@code Deadline}
+ * class key. On the servlet stack it is bound to the request thread and copied into the context by
+ * {@link #propagate(Context)} before a blocking call subscribes.
+ */
+public record Deadline(long expiresAtNanos) {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    public static Deadline after(Duration budget) {
+        return new Deadline(System.nanoTime() + budget.toNanos());
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, expiresAtNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Deadline bound to the current thread, or null when the thread is not serving a request with a deadline
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    static void bind(Deadline deadline) {
+        CURRENT.set(deadline);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Adds the thread-bound deadline, if any, to a subscriber context.
+     * Used with {@code contextWrite} on pipelines that are about to be blocked on.
+     */
+    public static Context propagate(Context context) {
+        Deadline deadline = CURRENT.get();
+        return deadline == null || context.hasKey(Deadline.class) ? context : context.put(Deadline.class, deadline);
+    }
+}
@@ -0,0 +1,11 @@
+package ai.armada.client.common.http;
+
+/**
+ * Exception thrown when a request's deadline budget runs out before an upstream call completes
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
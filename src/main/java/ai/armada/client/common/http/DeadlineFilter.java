@@ -0,0 +1,55 @@
+package ai.armada.client.common.http;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Limits each upstream call to what is left of the inbound request's {@link Deadline}.
+ * Calls made after the deadline has passed fail without touching the network, and a call in flight
+ * is cancelled, connection included, once the budget runs out while waiting for headers or body.
+ * Calls without a deadline in their context keep only the fixed timeouts from {@code WebClientConfig}.
+ */
+@Component
+@Slf4j
+public class DeadlineFilter implements ExchangeFilterFunction {
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> {
+            Deadline deadline = context.getOrDefault(Deadline.class, null);
+            if (deadline == null) {
+                return next.exchange(request);
+            }
+            if (deadline.isExpired()) {
+                log.warn("Deadline already exceeded, skipping {} {}", request.method(), request.url().getPath());
+                return Mono.error(exceeded(request));
+            }
+
+            log.debug("Calling {} {} with {}ms of deadline budget left",
+                    request.method(), request.url().getPath(), deadline.remaining().toMillis());
+            return next.exchange(request)
+                    .timeout(deadline.remaining(), Mono.error(() -> exceeded(request)))
+                    .map(response -> response.mutate()
+                            .body(body -> body.timeout(
+                                    remainingBudget(deadline),
+                                    buffer -> remainingBudget(deadline),
+                                    Flux.error(() -> exceeded(request))))
+                            .build());
+        });
+    }
+
+    private static Mono<Long> remainingBudget(Deadline deadline) {
+        return Mono.defer(() -> Mono.delay(deadline.remaining()));
+    }
+
+    private static DeadlineExceededException exceeded(ClientRequest request) {
+        return new DeadlineExceededException(
+                "Deadline exceeded for upstream call " + request.method() + " " + request.url().getPath());
+    }
+}
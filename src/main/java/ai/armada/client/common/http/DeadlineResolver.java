@@ -0,0 +1,64 @@
+package ai.armada.client.common.http;
+
+import ai.armada.client.config.ArmadaApiProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.AntPathMatcher;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Turns an inbound request into a {@link Deadline} using the caller's timeout header and the
+ * per-endpoint budgets from {@code armada.api.deadlines}. When both apply, the tighter one wins.
+ * The header never asks for more than {@code max-header-budget}.
+ */
+@Slf4j
+public class DeadlineResolver {
+
+    private final ArmadaApiProperties.Deadlines config;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public DeadlineResolver(ArmadaApiProperties properties) {
+        this.config = properties.getDeadlines();
+    }
+
+    public String getHeaderName() {
+        return config.getHeader();
+    }
+
+    /**
+     * @param path        inbound request path
+     * @param headerValue value of the timeout header in milliseconds, or null when absent
+     * @return the request deadline, or null when neither the header nor the configuration sets a budget
+     */
+    public Deadline resolve(String path, String headerValue) {
+        Duration budget = configuredBudget(path);
+        Duration requested = parseHeader(headerValue);
+        if (requested != null && (budget == null || requested.compareTo(budget) < 0)) {
+            budget = requested;
+        }
+        return budget == null ? null : Deadline.after(budget);
+    }
+
+    private Duration configuredBudget(String path) {
+        for (Map.Entry<String, Duration> entry : config.getEndpoints().entrySet()) {
+            if (pathMatcher.match(entry.getKey(), path)) {
+                return entry.getValue();
+            }
+        }
+        return config.getDefaultBudget();
+    }
+
+    private Duration parseHeader(String headerValue) {
+        if (headerValue == null || headerValue.isBlank()) {
+            return null;
+        }
+        try {
+            long millis = Math.max(0, Long.parseLong(headerValue.trim()));
+            return Duration.ofMillis(Math.min(millis, config.getMaxHeaderBudget().toMillis()));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring invalid {} header: {}", config.getHeader(), headerValue);
+            return null;
+        }
+    }
+}
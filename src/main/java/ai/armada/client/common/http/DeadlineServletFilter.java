@@ -0,0 +1,38 @@
+package ai.armada.client.common.http;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Binds the inbound request's {@link Deadline} to the request thread on the servlet stack
+ */
+public class DeadlineServletFilter extends OncePerRequestFilter {
+
+    private final DeadlineResolver resolver;
+
+    public DeadlineServletFilter(DeadlineResolver resolver) {
+        this.resolver = resolver;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Deadline deadline = resolver.resolve(request.getRequestURI(), request.getHeader(resolver.getHeaderName()));
+        if (deadline == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Deadline.bind(deadline);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Deadline.clear();
+        }
+    }
+}
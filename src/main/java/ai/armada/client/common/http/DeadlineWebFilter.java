@@ -0,0 +1,29 @@
+package ai.armada.client.common.http;
+
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Puts the inbound request's {@link Deadline} into the Reactor context on the reactive stack
+ */
+public class DeadlineWebFilter implements WebFilter {
+
+    private final DeadlineResolver resolver;
+
+    public DeadlineWebFilter(DeadlineResolver resolver) {
+        this.resolver = resolver;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        Deadline deadline = resolver.resolve(
+                exchange.getRequest().getPath().value(),
+                exchange.getRequest().getHeaders().getFirst(resolver.getHeaderName()));
+        if (deadline == null) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange).contextWrite(context -> context.put(Deadline.class, deadline));
+    }
+}
@@ -0,0 +1,213 @@
+package ai.armada.client.common.http;
+
+import ai.armada.client.config.ArmadaApiProperties;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends a second copy of a slow idempotent read. When no response has arrived once the call has taken
+ * longer than the configured percentile of recent latencies for its resource, the call is started again;
+ * whichever copy answers first is used and the other is cancelled.
+ * <p>
+ * Extra calls are paid for from a budget: each call adds {@code budget-percent / 100} of a hedge, and a
+ * hedge is only sent when a whole one is available, so hedges stay within that share of the traffic.
+ * Only interactive calls are hedged. An error from the hedge is ignored in favour of the original call.
+ * While the client's {@link Bulkhead} has calls queued, nothing is hedged: the wait is local, and a second copy
+ * would only join the queue and add load.
+ * <p>
+ * Each call adds one latency sample, taken from the start of the original call until the answer, whichever
+ * copy gave it, or until the call was cancelled. Cancelled calls count with the time they had taken, so
+ * that calls abandoned for being slow do not make the percentile look faster than the upstream is.
+ */
+@Slf4j
+public class Hedger {
+
+    private static final long MILLI_HEDGES_PER_HEDGE = 1000;
+    private static final long MAX_SAVED_MILLI_HEDGES = 10 * MILLI_HEDGES_PER_HEDGE;
+
+    private final String name;
+    private final Bulkhead bulkhead;
+    private final boolean enabled;
+    private final double percentile;
+    private final long milliHedgesPerCall;
+    private final int minSamples;
+    private final int windowSize;
+    private final long minDelayNanos;
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+    private final AtomicLong budget = new AtomicLong();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgesWon = new LongAdder();
+    private final LongAdder hedgesDenied = new LongAdder();
+    private final LongAdder hedgesSkipped = new LongAdder();
+
+    public Hedger(String name, ArmadaApiProperties.Hedging config) {
+        this(name, config, null);
+    }
+
+    public Hedger(String name, ArmadaApiProperties.Hedging config, Bulkhead bulkhead) {
+        this.name = name;
+        this.bulkhead = bulkhead;
+        this.enabled = config.isEnabled();
+        this.percentile = Math.min(100, Math.max(0, config.getPercentile()));
+        this.milliHedgesPerCall = Math.round(config.getBudgetPercent() * MILLI_HEDGES_PER_HEDGE / 100);
+        this.minSamples = Math.max(1, config.getMinSamples());
+        this.windowSize = Math.max(this.minSamples, config.getWindowSize());
+        this.minDelayNanos = config.getMinDelay().toNanos();
+    }
+
+    /**
+     * Runs {@code call}, re-subscribing to it once if it is slow for {@code resource}.
+     * {@code call} must be safe to run twice.
+     */
+    public <T> Mono<T> hedge(String resource, Mono<T> call) {
+        if (!enabled) {
+            return call;
+        }
+        return Mono.deferContextual(context -> {
+            long start = System.nanoTime();
+            calls.increment();
+            deposit();
+            LatencyWindow window = latencies.computeIfAbsent(resource, r -> new LatencyWindow(windowSize));
+            long delayNanos = window.percentileNanos();
+            if (delayNanos < 0 || Priority.from(context) != Priority.INTERACTIVE) {
+                return timed(call, window, start);
+            }
+
+            Duration delay = Duration.ofNanos(Math.max(delayNanos, minDelayNanos));
+            Mono<T> hedge = Mono.delay(delay)
+                    .flatMap(tick -> {
+                        if (bulkhead != null && bulkhead.getQueuedCalls() > 0) {
+                            hedgesSkipped.increment();
+                            return Mono.never();
+                        }
+                        if (!withdraw()) {
+                            hedgesDenied.increment();
+                            return Mono.never();
+                        }
+                        hedges.increment();
+                        log.debug("Hedging {} {} call after {}", name, resource, delay);
+                        return call
+                                .doOnSuccess(result -> hedgesWon.increment())
+                                .onErrorResume(e -> Mono.never());
+                    });
+            return timed(Mono.firstWithSignal(call, hedge), window, start);
+        });
+    }
+
+    /**
+     * Records the time since {@code start} when the call answers or is cancelled. Failed calls are not
+     * recorded, as a fast failure says nothing about how long an answer takes.
+     */
+    private static <T> Mono<T> timed(Mono<T> call, LatencyWindow window, long start) {
+        return call.doFinally(signal -> {
+            if (signal != SignalType.ON_ERROR) {
+                window.record(System.nanoTime() - start);
+            }
+        });
+    }
+
+    private void deposit() {
+        budget.updateAndGet(saved -> Math.min(MAX_SAVED_MILLI_HEDGES, saved + milliHedgesPerCall));
+    }
+
+    private boolean withdraw() {
+        long saved;
+        do {
+            saved = budget.get();
+            if (saved < MILLI_HEDGES_PER_HEDGE) {
+                return false;
+            }
+        } while (!budget.compareAndSet(saved, saved - MILLI_HEDGES_PER_HEDGE));
+        return true;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    /**
+     * Second copies sent
+     */
+    public long getHedges() {
+        return hedges.sum();
+    }
+
+    /**
+     * Second copies that answered before the original call
+     */
+    public long getHedgesWon() {
+        return hedgesWon.sum();
+    }
+
+    /**
+     * Slow calls not hedged because the budget was spent
+     */
+    public long getHedgesDenied() {
+        return hedgesDenied.sum();
+    }
+
+    /**
+     * Slow calls not hedged because the bulkhead had calls queued
+     */
+    public long getHedgesSkipped() {
+        return hedgesSkipped.sum();
+    }
+
+    /**
+     * The current hedge delay for a resource, or null until enough of its calls have been observed
+     */
+    public Duration getHedgeDelay(String resource) {
+        LatencyWindow window = latencies.get(resource);
+        long delayNanos = window == null ? -1 : window.percentileNanos();
+        return delayNanos < 0 ? null : Duration.ofNanos(Math.max(delayNanos, minDelayNanos));
+    }
+
+    /**
+     * The latest latencies of one resource. The percentile is recomputed after every tenth of the window
+     * rather than on every call.
+     */
+    private final class LatencyWindow {
+
+        private final long[] samples;
+        private final int recomputeEvery;
+        private int next;
+        private int count;
+        private int sinceRecompute;
+        private volatile long percentileNanos = -1;
+
+        LatencyWindow(int size) {
+            this.samples = new long[size];
+            this.recomputeEvery = Math.max(1, size / 10);
+        }
+
+        synchronized void record(long latencyNanos) {
+            samples[next] = latencyNanos;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+            if (count >= minSamples && (++sinceRecompute >= recomputeEvery || percentileNanos < 0)) {
+                sinceRecompute = 0;
+                long[] sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                int index = (int) Math.ceil(percentile / 100 * count) - 1;
+                percentileNanos = sorted[Math.min(count - 1, Math.max(0, index))];
+            }
+        }
+
+        long percentileNanos() {
+            return percentileNanos;
+        }
+    }
+}
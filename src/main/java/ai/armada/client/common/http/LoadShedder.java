@@ -0,0 +1,90 @@
+package ai.armada.client.common.http;
+
+import ai.armada.client.common.ApiError;
+import ai.armada.client.config.ArmadaApiProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.AntPathMatcher;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admission control for inbound requests, driven by {@link UpstreamLoadMonitor} and the bulkhead queues.
+ * <p>
+ * A request is rejected outright once the upstream has {@code max-in-flight} calls outstanding, or once
+ * {@code max-queued} calls wait for a bulkhead slot. Calls in flight are bounded by the bulkhead limits,
+ * so under overload it is the queues that grow.
+ * While the average upstream latency is above {@code latency-threshold}, a share of requests
+ * is rejected that grows with the excess (up to {@code max-shed-ratio}). The rest still go through
+ * and keep the latency estimate current, so shedding stops as soon as the upstream recovers.
+ */
+@Slf4j
+public class LoadShedder {
+
+    private final ArmadaApiProperties.LoadShedding config;
+    private final UpstreamLoadMonitor monitor;
+    private final List<Bulkhead> bulkheads;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final LongAdder shedRequests = new LongAdder();
+
+    public LoadShedder(ArmadaApiProperties properties, UpstreamLoadMonitor monitor, List<Bulkhead> bulkheads) {
+        this.config = properties.getLoadShedding();
+        this.monitor = monitor;
+        this.bulkheads = bulkheads;
+    }
+
+    /**
+     * @return the delay to advertise in {@code Retry-After} when the request must be rejected, or null to admit it
+     */
+    public Duration check(String path) {
+        if (config.getPaths().stream().noneMatch(pattern -> pathMatcher.match(pattern, path))) {
+            return null;
+        }
+
+        Duration latency = monitor.getAverageLatency(config.getLatencyWindow());
+        int inFlight = monitor.getInFlight();
+        if (inFlight >= config.getMaxInFlight()) {
+            return reject(path, "in-flight upstream calls " + inFlight, latency);
+        }
+        int queued = getQueuedCalls();
+        if (queued >= config.getMaxQueued()) {
+            return reject(path, "calls queued in bulkheads " + queued, latency);
+        }
+        if (latency != null && latency.compareTo(config.getLatencyThreshold()) > 0) {
+            double excess = (double) (latency.toNanos() - config.getLatencyThreshold().toNanos())
+                    / config.getLatencyThreshold().toNanos();
+            if (ThreadLocalRandom.current().nextDouble() < Math.min(config.getMaxShedRatio(), excess)) {
+                return reject(path, "upstream latency " + latency.toMillis() + "ms", latency);
+            }
+        }
+        return null;
+    }
+
+    static ApiError overloadedError(String path) {
+        return new ApiError("SERVICE_OVERLOADED", "The service is overloaded, retry later", path);
+    }
+
+    public long getShedRequests() {
+        return shedRequests.sum();
+    }
+
+    /**
+     * Calls waiting for a slot, across all bulkheads
+     */
+    public int getQueuedCalls() {
+        int queued = 0;
+        for (Bulkhead bulkhead : bulkheads) {
+            queued += bulkhead.getQueuedCalls();
+        }
+        return queued;
+    }
+
+    private Duration reject(String path, String reason, Duration latency) {
+        shedRequests.increment();
+        log.warn("Shedding request to {}: {}", path, reason);
+        long seconds = latency == null ? 1 : Math.max(1, (latency.toMillis() + 999) / 1000);
+        return Duration.ofSeconds(seconds);
+    }
+}
@@ -0,0 +1,45 @@
+package ai.armada.client.common.http;
+
+import ai.armada.client.common.ApiError;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Rejects inbound requests with 503 and {@code Retry-After} before they reach a controller
+ * while the {@link LoadShedder} reports the upstream as saturated, on the servlet stack
+ */
+public class LoadSheddingServletFilter extends OncePerRequestFilter {
+
+    private final LoadShedder loadShedder;
+    private final ObjectMapper objectMapper;
+
+    public LoadSheddingServletFilter(LoadShedder loadShedder, ObjectMapper objectMapper) {
+        this.loadShedder = loadShedder;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Duration retryAfter = loadShedder.check(request.getRequestURI());
+        if (retryAfter == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter.toSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), LoadShedder.overloadedError(request.getRequestURI()));
+    }
+}
@@ -0,0 +1,49 @@
+package ai.armada.client.common.http;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Rejects inbound requests with 503 and {@code Retry-After} before they reach a controller
+ * while the {@link LoadShedder} reports the upstream as saturated, on the reactive stack
+ */
+public class LoadSheddingWebFilter implements WebFilter {
+
+    private final LoadShedder loadShedder;
+    private final ObjectMapper objectMapper;
+
+    public LoadSheddingWebFilter(LoadShedder loadShedder, ObjectMapper objectMapper) {
+        this.loadShedder = loadShedder;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().value();
+        Duration retryAfter = loadShedder.check(path);
+        if (retryAfter == null) {
+            return chain.filter(exchange);
+        }
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter.toSeconds()));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(LoadShedder.overloadedError(path));
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+    }
+}
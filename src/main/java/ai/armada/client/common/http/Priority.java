@@ -0,0 +1,55 @@
+package ai.armada.client.common.http;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.function.Supplier;
+
+/**
+ * Scheduling class of an upstream call. Interactive calls are served first; background calls
+ * (sweeps, crawls, batch pulls) only use the capacity interactive traffic leaves free.
+ * <p>
+ * Reactive callers tag a pipeline with {@code .contextWrite(Priority.BACKGROUND.asContext())};
+ * blocking callers wrap their work in {@link #runAs(Priority, Supplier)}. Untagged calls are interactive.
+ */
+public enum Priority {
+
+    INTERACTIVE,
+    BACKGROUND;
+
+    private static final ThreadLocal<Priority> CURRENT = new ThreadLocal<>();
+
+    public Context asContext() {
+        return Context.of(Priority.class, this);
+    }
+
+    public static Priority from(ContextView context) {
+        return context.getOrDefault(Priority.class, INTERACTIVE);
+    }
+
+    /**
+     * Runs blocking work with every API client call on this thread made at the given priority
+     */
+    public static <T> T runAs(Priority priority, Supplier<T> work) {
+        Priority previous = CURRENT.get();
+        CURRENT.set(priority);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Adds the thread-bound priority, if any, to a subscriber context.
+     * Used with {@code contextWrite} on pipelines that are about to be blocked on.
+     */
+    public static Context propagate(Context context) {
+        Priority priority = CURRENT.get();
+        return priority == null || context.hasKey(Priority.class) ? context : context.put(Priority.class, priority);
+    }
+}
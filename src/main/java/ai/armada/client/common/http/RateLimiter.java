@@ -0,0 +1,340 @@
+package ai.armada.client.common.http;
+
+import ai.armada.client.config.ArmadaApiProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Paces upstream calls with a token bucket per credential and endpoint once the upstream has said they
+ * come too fast, so that calls run at the rate the upstream allows without tripping its limit again.
+ * <p>
+ * Endpoints are the configured URI templates, so calls for different organizations or service lines
+ * share one bucket. A bucket lets calls through unpaced until its first {@code 429}. From then on it paces
+ * them, starting at the rate calls were sent over the last second cut by {@code backoff-ratio}, and learns
+ * the ceiling: every {@code 2xx} or {@code 3xx} response raises the rate by about {@code increase} calls per
+ * second each second, and a further {@code 429} cuts it by {@code backoff-ratio}. Each {@code 429} holds the
+ * bucket for the response's {@code Retry-After} ({@code default-retry-after} when absent). A bucket whose
+ * rate climbs back to {@code max-rate} stops pacing. Other responses leave the rate alone. Calls wait for
+ * their turn without holding a thread or a bulkhead slot. A call that would wait longer than
+ * {@code max-wait}, or than its {@link Deadline} allows, fails right away with {@code RATE_LIMITED} or
+ * {@link DeadlineExceededException}.
+ */
+@Slf4j
+@Component
+public class RateLimiter implements ExchangeFilterFunction {
+
+    private final ArmadaApiProperties.RateLimiting config;
+    private final String credential;
+    private final List<Endpoint> endpoints;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final LongAdder delayedCalls = new LongAdder();
+    private final LongAdder rejectedCalls = new LongAdder();
+    private final LongAdder rateLimitedResponses = new LongAdder();
+
+    public RateLimiter(ArmadaApiProperties properties) {
+        this.config = properties.getRateLimiting();
+        this.credential = properties.getCredentials() != null && properties.getCredentials().getApiKeyId() != null
+                ? properties.getCredentials().getApiKeyId()
+                : "default";
+        this.endpoints = endpointTemplates(properties.getEndpoints());
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!config.isEnabled()) {
+            return next.exchange(request);
+        }
+        return Mono.deferContextual(context -> {
+            Bucket bucket = buckets.computeIfAbsent(credential + " " + endpoint(request), Bucket::new);
+            Deadline deadline = context.getOrDefault(Deadline.class, null);
+            boolean deadlineFirst = deadline != null && deadline.remaining().compareTo(config.getMaxWait()) < 0;
+            Duration maxWait = deadlineFirst ? deadline.remaining() : config.getMaxWait();
+
+            long waitNanos = bucket.reserve(maxWait.toNanos());
+            if (waitNanos < 0) {
+                rejectedCalls.increment();
+                if (deadlineFirst) {
+                    return Mono.error(new DeadlineExceededException(
+                            "Deadline exceeded waiting for the upstream rate limit of " + bucket.key));
+                }
+                log.warn("Rate limit of {} would delay the call beyond {}ms, rejecting it",
+                        bucket.key, maxWait.toMillis());
+                return Mono.error(new UpstreamRejectedException(
+                        "RATE_LIMITED", "Upstream rate limit reached, try again later"));
+            }
+            Mono<ClientResponse> call = next.exchange(request)
+                    .doOnNext(response -> onResponse(bucket, response));
+            if (waitNanos == 0) {
+                return call;
+            }
+            delayedCalls.increment();
+            return Mono.delay(Duration.ofNanos(waitNanos)).then(call);
+        });
+    }
+
+    private void onResponse(Bucket bucket, ClientResponse response) {
+        if (response.statusCode().is2xxSuccessful() || response.statusCode().is3xxRedirection()) {
+            bucket.onSuccess();
+            return;
+        }
+        if (response.statusCode().value() != HttpStatus.TOO_MANY_REQUESTS.value()) {
+            return;
+        }
+        rateLimitedResponses.increment();
+        Duration retryAfter = retryAfter(response.headers().asHttpHeaders());
+        bucket.onRateLimited(retryAfter);
+        log.warn("Upstream rate limit hit on {}, pausing for {}ms and lowering rate to {}/s",
+                bucket.key, retryAfter.toMillis(), String.format("%.1f", bucket.getRate()));
+    }
+
+    private Duration retryAfter(HttpHeaders headers) {
+        String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value != null) {
+            try {
+                return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+            } catch (NumberFormatException notSeconds) {
+                try {
+                    Duration untilDate = Duration.between(ZonedDateTime.now(),
+                            ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+                    return untilDate.isNegative() ? Duration.ZERO : untilDate;
+                } catch (DateTimeParseException invalid) {
+                    log.debug("Ignoring invalid Retry-After header: {}", value);
+                }
+            }
+        }
+        return config.getDefaultRetryAfter();
+    }
+
+    private String endpoint(ClientRequest request) {
+        String path = request.url().getPath();
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.pattern().matcher(path).matches()) {
+                return request.method() + " " + endpoint.template();
+            }
+        }
+        return request.method() + " " + path;
+    }
+
+    /**
+     * Fixed paths first, then the templates with the fewest variables, so that
+     * {@code /service-lines/data-usage} is not taken for a service line ID
+     */
+    private static List<Endpoint> endpointTemplates(ArmadaApiProperties.Endpoints endpoints) {
+        List<String> paths = new ArrayList<>();
+        if (endpoints != null && endpoints.getAuth() != null) {
+            paths.add(endpoints.getAuth().getToken());
+        }
+        if (endpoints != null && endpoints.getOrganizations() != null) {
+            ArmadaApiProperties.Endpoints.Organizations organizations = endpoints.getOrganizations();
+            Stream.of(organizations.getList(), organizations.getDataPools(), organizations.getDataPoolById(),
+                            organizations.getDataPoolUsage(), organizations.getDataPoolSettings(),
+                            organizations.getServiceLines(), organizations.getServiceLineById(),
+                            organizations.getServiceLineUsage(), organizations.getServiceLineSettings(),
+                            organizations.getAllServiceLinesUsage(), organizations.getAllServiceLinesSettings())
+                    .forEach(paths::add);
+        }
+        return paths.stream()
+                .filter(path -> path != null && !path.isBlank())
+                .map(Endpoint::of)
+                .sorted(Comparator.comparingLong(endpoint -> endpoint.template().chars().filter(c -> c == '{').count()))
+                .toList();
+    }
+
+    /**
+     * A configured URI template, with each variable matching exactly one path segment
+     */
+    private record Endpoint(String template, Pattern pattern) {
+
+        static Endpoint of(String template) {
+            String[] literals = template.split("\\{[^}]*}", -1);
+            StringBuilder regex = new StringBuilder(Pattern.quote(literals[0]));
+            for (int i = 1; i < literals.length; i++) {
+                regex.append("[^/]+").append(Pattern.quote(literals[i]));
+            }
+            return new Endpoint(template, Pattern.compile(regex.toString()));
+        }
+    }
+
+    /**
+     * Calls that waited for their turn
+     */
+    public long getDelayedCalls() {
+        return delayedCalls.sum();
+    }
+
+    /**
+     * Calls failed locally because their turn was too far away
+     */
+    public long getRejectedCalls() {
+        return rejectedCalls.sum();
+    }
+
+    /**
+     * {@code 429} responses received from the upstream
+     */
+    public long getRateLimitedResponses() {
+        return rateLimitedResponses.sum();
+    }
+
+    /**
+     * Current rate in calls per second of each credential and endpoint being paced
+     */
+    public Map<String, Double> getRates() {
+        Map<String, Double> rates = new TreeMap<>();
+        buckets.forEach((key, bucket) -> {
+            double rate = bucket.getRate();
+            if (rate > 0) {
+                rates.put(key, rate);
+            }
+        });
+        return rates;
+    }
+
+    /**
+     * Until its first {@code 429}, only counts the calls sent each second. Once pacing, hands out send
+     * times one interval apart, allowing a burst of {@code burst} calls when the bucket has been idle
+     * (virtual scheduling: {@code nextNanos} is when the bucket would be empty again).
+     */
+    private final class Bucket {
+
+        private static final long SECOND_NANOS = Duration.ofSeconds(1).toNanos();
+
+        private final String key;
+        private final ReentrantLock lock = new ReentrantLock();
+        private boolean paced;
+        private double rate;
+        private long nextNanos;
+        private long pausedUntilNanos;
+        private long secondStartNanos;
+        private int callsThisSecond;
+        private int callsLastSecond;
+
+        Bucket(String key) {
+            this.key = key;
+            // System.nanoTime() may be negative, so the pause starts out at "now" rather than 0
+            this.nextNanos = System.nanoTime();
+            this.pausedUntilNanos = nextNanos;
+            this.secondStartNanos = nextNanos;
+        }
+
+        /**
+         * @return how long the call must wait before it is sent, or -1 when that exceeds {@code maxWaitNanos}
+         */
+        long reserve(long maxWaitNanos) {
+            lock.lock();
+            try {
+                long now = System.nanoTime();
+                startSecond(now);
+                callsThisSecond++;
+                if (!paced) {
+                    return 0;
+                }
+                long interval = interval();
+                long next = Math.max(nextNanos, Math.max(now, pausedUntilNanos));
+                long sendAt = Math.max(Math.max(now, pausedUntilNanos), next - (burst() - 1) * interval);
+                long waitNanos = sendAt - now;
+                if (waitNanos > maxWaitNanos) {
+                    return -1;
+                }
+                nextNanos = next + interval;
+                return waitNanos;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void onSuccess() {
+            lock.lock();
+            try {
+                if (!paced) {
+                    return;
+                }
+                // Adding increase/rate per call raises the rate by about `increase` per second
+                rate = clamp(rate + config.getIncrease() / rate);
+                if (rate >= config.getMaxRate()) {
+                    paced = false;
+                    log.info("Rate of {} is back at {}/s, no longer pacing it", key, config.getMaxRate());
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void onRateLimited(Duration retryAfter) {
+            lock.lock();
+            try {
+                long now = System.nanoTime();
+                if (!paced) {
+                    paced = true;
+                    startSecond(now);
+                    rate = Math.max(callsThisSecond, callsLastSecond);
+                }
+                rate = clamp(rate * config.getBackoffRatio());
+                pausedUntilNanos = Math.max(pausedUntilNanos, now + retryAfter.toNanos());
+                // Resume at the new rate instead of with a burst
+                nextNanos = Math.max(nextNanos, pausedUntilNanos + (burst() - 1) * interval());
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * The pacing rate, or 0 when the bucket is not pacing
+         */
+        double getRate() {
+            lock.lock();
+            try {
+                return paced ? rate : 0;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Moves on to a new second of call counts once the current one is over, so that the rate a bucket
+         * starts pacing at follows what was just sent. Callers must hold the lock.
+         */
+        private void startSecond(long now) {
+            long elapsed = now - secondStartNanos;
+            if (elapsed >= SECOND_NANOS) {
+                callsLastSecond = elapsed < 2 * SECOND_NANOS ? callsThisSecond : 0;
+                callsThisSecond = 0;
+                secondStartNanos = now;
+            }
+        }
+
+        private long interval() {
+            return (long) (1e9 / rate);
+        }
+
+        private int burst() {
+            return Math.max(1, config.getBurst());
+        }
+
+        private double clamp(double value) {
+            return Math.min(config.getMaxRate(), Math.max(config.getMinRate(), value));
+        }
+    }
+}
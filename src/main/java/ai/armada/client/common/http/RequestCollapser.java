@@ -0,0 +1,162 @@
+package ai.armada.client.common.http;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Gathers per-item requests that arrive within a short window and, when enough distinct items come
+ * together, answers them from one batch call instead of one call each.
+ * <p>
+ * Requests are grouped by a batch key (everything the batch call depends on besides the items). The first
+ * request for a key opens a window; when it closes, the batch call runs if at least {@code minBatchSize}
+ * distinct items were requested, otherwise every request makes its own single call. A request whose item
+ * is missing from the batch result, or whose batch call failed, falls back to its single call as well.
+ * <p>
+ * Every request waits for its window to close, so a request that nobody joins is delayed by the full window
+ * before making its single call.
+ * <p>
+ * Like {@link SingleFlight}, the batch call runs without any caller's {@link Deadline}: each caller waits
+ * for it only as long as its own deadline allows, and the batch is cancelled only when every caller has gone.
+ * Batch and single calls are subscribed when the window closes, on a Reactor timer thread, so they must
+ * not block.
+ *
+ * @param <I> item identifier
+ * @param <R> per-item result
+ */
+@Slf4j
+public class RequestCollapser<I, R> {
+
+    private final String name;
+    private final boolean enabled;
+    private final Duration window;
+    private final int minBatchSize;
+    private final Map<Object, Window> windows = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedItems = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+
+    public RequestCollapser(String name, boolean enabled, Duration window, int minBatchSize) {
+        this.name = name;
+        this.enabled = enabled && !window.isZero();
+        this.window = window;
+        this.minBatchSize = Math.max(2, minBatchSize);
+    }
+
+    /**
+     * @param batchKey    requests with equal keys may share a batch call
+     * @param item        the item this request is for
+     * @param batchCall   fetches the results of several items at once, keyed by item
+     * @param singleCall  fetches this item alone
+     */
+    public Mono<R> collapse(Object batchKey, I item, Function<Set<I>, Mono<Map<I, R>>> batchCall, Mono<R> singleCall) {
+        if (!enabled) {
+            return singleCall;
+        }
+        return Mono.deferContextual(context -> {
+            requests.increment();
+            Mono<Optional<Map<I, R>>> batch = join(batchKey, item, batchCall)
+                    .onErrorResume(e -> Mono.just(Optional.empty()));
+
+            Deadline deadline = context.getOrDefault(Deadline.class, null);
+            if (deadline != null) {
+                batch = batch.timeout(deadline.remaining(), Mono.error(() -> new DeadlineExceededException(
+                        "Deadline exceeded waiting for a collapsed " + name + " call")));
+            }
+            return batch.flatMap(results -> results
+                    .map(byItem -> Mono.justOrEmpty(byItem.get(item)))
+                    .orElseGet(Mono::empty)
+                    .switchIfEmpty(singleCall));
+        });
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    /**
+     * Distinct items fetched through batch calls
+     */
+    public long getBatchedItems() {
+        return batchedItems.sum();
+    }
+
+    /**
+     * Batch calls that failed, whose requests fell back to single calls
+     */
+    public long getFailedBatches() {
+        return failedBatches.sum();
+    }
+
+    private Mono<Optional<Map<I, R>>> join(Object batchKey, I item, Function<Set<I>, Mono<Map<I, R>>> batchCall) {
+        while (true) {
+            Window current = windows.computeIfAbsent(batchKey, key -> new Window(key, batchCall));
+            synchronized (current) {
+                if (!current.closed) {
+                    current.items.add(item);
+                    return current.result;
+                }
+            }
+            // Closed between lookup and join; a new window takes its place
+            windows.remove(batchKey, current);
+        }
+    }
+
+    private final class Window {
+
+        private final Object key;
+        private final Set<I> items = new HashSet<>();
+        private final Mono<Optional<Map<I, R>>> result;
+        private boolean closed;
+
+        private Window(Object key, Function<Set<I>, Mono<Map<I, R>>> batchCall) {
+            this.key = key;
+            // replay(1): callers joining late still see the result; refCount(1): cancelled once every caller has gone
+            this.result = Mono.delay(window)
+                    .then(Mono.defer(() -> {
+                        Set<I> batchItems = close();
+                        if (batchItems.size() < minBatchSize) {
+                            return Mono.just(Optional.<Map<I, R>>empty());
+                        }
+                        batches.increment();
+                        batchedItems.add(batchItems.size());
+                        log.debug("Collapsing {} {} requests into one batch call", batchItems.size(), name);
+                        return batchCall.apply(batchItems).map(Optional::of)
+                                .doOnError(e -> {
+                                    failedBatches.increment();
+                                    log.warn("Collapsed {} batch call failed, falling back to single calls: {}",
+                                            name, e.getMessage());
+                                });
+                    }))
+                    .contextWrite(context -> context.delete(Deadline.class))
+                    .doFinally(signal -> close())
+                    .flux()
+                    .replay(1)
+                    .refCount(1)
+                    .singleOrEmpty();
+        }
+
+        private Set<I> close() {
+            Set<I> snapshot;
+            synchronized (this) {
+                closed = true;
+                snapshot = Set.copyOf(items);
+            }
+            windows.remove(key, this);
+            return snapshot;
+        }
+    }
+}
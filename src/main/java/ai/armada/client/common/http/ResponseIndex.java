@@ -0,0 +1,182 @@
+package ai.armada.client.common.http;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Index by ID over recent list responses, so that single-item lookups can be answered from a list
+ * fetched moments earlier instead of from their own upstream call.
+ * <p>
+ * Lists are grouped by a parent key (everything the list call depends on, e.g. organization and data pool).
+ * A list older than {@code maxAge} is never used, and expired lists are swept out when a list is recorded,
+ * at most once per {@code maxAge}. A lookup that misses the index can refresh the list, but at most once per
+ * {@code missRefreshInterval} for each parent, whether or not a list is held; other misses go to the
+ * single-item call.
+ * A refresh is shared by the lookups that wait for it, and the single-item call after a miss is subscribed
+ * on the thread that delivered the list, usually an event loop, so neither call may block.
+ *
+ * @param <V> indexed item
+ */
+@Slf4j
+public class ResponseIndex<V> {
+
+    private final String name;
+    private final boolean enabled;
+    private final Duration maxAge;
+    private final Duration missRefreshInterval;
+    private final Function<V, String> idOf;
+    private final Map<Object, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Map<Object, Long> refreshStarts = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweepNanos = new AtomicLong(System.nanoTime());
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+
+    public ResponseIndex(String name, boolean enabled, Duration maxAge, Duration missRefreshInterval,
+                         Function<V, String> idOf) {
+        this.name = name;
+        this.enabled = enabled && !maxAge.isZero();
+        this.maxAge = maxAge;
+        this.missRefreshInterval = missRefreshInterval;
+        this.idOf = idOf;
+    }
+
+    /**
+     * Records a list response for later lookups, replacing the previous list of the same parent
+     */
+    public void put(Object parentKey, List<V> items) {
+        if (!enabled || items == null) {
+            return;
+        }
+        Map<String, V> byId = new HashMap<>();
+        for (V item : items) {
+            String id = idOf.apply(item);
+            if (id != null) {
+                byId.put(id, item);
+            }
+        }
+        entries.put(parentKey, new Entry<>(byId, System.nanoTime()));
+        evictExpired();
+    }
+
+    /**
+     * Looks {@code id} up in the fresh list of {@code parentKey}. On a miss, the list is refreshed with
+     * {@code listCall} unless that was done within {@code missRefreshInterval}; if the item is still not
+     * found, {@code singleCall} fetches it alone.
+     */
+    public Mono<V> lookup(Object parentKey, String id, Mono<List<V>> listCall, Mono<V> singleCall) {
+        if (!enabled) {
+            return singleCall;
+        }
+        return Mono.defer(() -> {
+            Entry<V> entry = fresh(parentKey);
+            if (entry != null && entry.byId().containsKey(id)) {
+                hits.increment();
+                return Mono.just(entry.byId().get(id));
+            }
+            misses.increment();
+            if (entry != null && age(entry) < missRefreshInterval.toNanos() || !claimRefresh(parentKey)) {
+                return singleCall;
+            }
+            refreshes.increment();
+            log.debug("Refreshing {} index after a miss for: {}", name, id);
+            return listCall
+                    .doOnNext(items -> put(parentKey, items))
+                    .flatMap(items -> Mono.justOrEmpty(items.stream()
+                            .filter(item -> id.equals(idOf.apply(item)))
+                            .findFirst()))
+                    .switchIfEmpty(singleCall);
+        });
+    }
+
+    /**
+     * The item from the fresh list of {@code parentKey}, or null when it is not indexed.
+     * Never refreshes the list.
+     */
+    public V get(Object parentKey, String id) {
+        if (!enabled) {
+            return null;
+        }
+        Entry<V> entry = fresh(parentKey);
+        V item = entry == null ? null : entry.byId().get(id);
+        if (item == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return item;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * List calls made because of a miss
+     */
+    public long getRefreshes() {
+        return refreshes.sum();
+    }
+
+    public int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * Records a refresh of {@code parentKey} unless one started within {@code missRefreshInterval}
+     */
+    private boolean claimRefresh(Object parentKey) {
+        long now = System.nanoTime();
+        boolean[] claimed = new boolean[1];
+        refreshStarts.compute(parentKey, (key, last) -> {
+            if (last != null && now - last < missRefreshInterval.toNanos()) {
+                return last;
+            }
+            claimed[0] = true;
+            return now;
+        });
+        return claimed[0];
+    }
+
+    private void evictExpired() {
+        long now = System.nanoTime();
+        long last = lastSweepNanos.get();
+        if (now - last < maxAge.toNanos() || !lastSweepNanos.compareAndSet(last, now)) {
+            return;
+        }
+        entries.values().removeIf(entry -> age(entry) >= maxAge.toNanos());
+        refreshStarts.values().removeIf(start -> now - start >= missRefreshInterval.toNanos());
+    }
+
+    private Entry<V> fresh(Object parentKey) {
+        Entry<V> entry = entries.get(parentKey);
+        if (entry == null) {
+            return null;
+        }
+        if (age(entry) >= maxAge.toNanos()) {
+            entries.remove(parentKey, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    private static long age(Entry<?> entry) {
+        return System.nanoTime() - entry.fetchedAtNanos();
+    }
+
+    private record Entry<V>(Map<String, V> byId, long fetchedAtNanos) {
+    }
+}
@@ -0,0 +1,103 @@
+package ai.armada.client.common.http;
+
+import ai.armada.client.config.ArmadaApiProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coalesces identical upstream reads that are in flight at the same time. The first caller for a key
+ * starts the call; callers arriving before it completes subscribe to the same call and receive the same
+ * decoded response.
+ * <p>
+ * The shared call is only cancelled once every caller waiting on it has cancelled. For the same reason it
+ * does not carry the first caller's {@link Deadline}: each caller waits only as long as its own deadline
+ * allows, without cutting the call short for the others.
+ */
+@Slf4j
+@Component
+public class SingleFlight {
+
+    private final boolean enabled;
+    private final Map<Object, Mono<?>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder upstreamCalls = new LongAdder();
+
+    public SingleFlight(ArmadaApiProperties properties) {
+        this.enabled = properties.getSingleFlight().isEnabled();
+    }
+
+    /**
+     * Runs {@code call}, or joins the call already in flight under {@code key}.
+     * The key must identify everything that affects the response: the resolved URI, the response type
+     * and the credentials the call is made with.
+     */
+    public <T> Mono<T> execute(Object key, Mono<T> call) {
+        if (!enabled) {
+            return call;
+        }
+        return Mono.deferContextual(context -> {
+            calls.increment();
+            Mono<T> shared = join(key, call);
+
+            Deadline deadline = context.getOrDefault(Deadline.class, null);
+            if (deadline == null) {
+                return shared;
+            }
+            return shared.timeout(deadline.remaining(), Mono.error(() -> new DeadlineExceededException(
+                    "Deadline exceeded waiting for a shared upstream call")));
+        });
+    }
+
+    /**
+     * Key for an authenticated GET
+     */
+    public static Object key(String uri, Class<?> responseType, String accessToken) {
+        return new Key(uri, responseType, accessToken);
+    }
+
+    /**
+     * Callers per upstream call; 1.0 means nothing was coalesced
+     */
+    public double getFanInRatio() {
+        long upstream = upstreamCalls.sum();
+        return upstream == 0 ? 1.0 : (double) calls.sum() / upstream;
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    public long getCoalescedCalls() {
+        return calls.sum() - upstreamCalls.sum();
+    }
+
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> join(Object key, Mono<T> call) {
+        return (Mono<T>) inFlight.computeIfAbsent(key, k -> {
+            upstreamCalls.increment();
+            Mono<?>[] self = new Mono<?>[1];
+            // replay(1): a caller joining between the value and completion still gets the value;
+            // refCount(1): the call is cancelled once the last waiting caller has cancelled
+            self[0] = call
+                    .contextWrite(ctx -> ctx.delete(Deadline.class))
+                    .doFinally(signal -> inFlight.remove(k, self[0]))
+                    .flux()
+                    .replay(1)
+                    .refCount(1)
+                    .singleOrEmpty();
+            return self[0];
+        });
+    }
+
+    private record Key(String uri, Class<?> responseType, String accessToken) {
+    }
+}
@@ -0,0 +1,84 @@
+package ai.armada.client.common.http;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks how loaded the upstream is: the number of calls in flight and a moving average of how long
+ * completed calls took, from request to the end of the body. It sits innermost on each WebClient, so
+ * time spent waiting for the rate limiter or a bulkhead slot is local queueing and not counted.
+ */
+@Component
+public class UpstreamLoadMonitor implements ExchangeFilterFunction {
+
+    private static final double SMOOTHING = 0.2;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong averageLatencyNanos = new AtomicLong();
+    private volatile long lastSampleNanos;
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            inFlight.incrementAndGet();
+            AtomicBoolean finished = new AtomicBoolean();
+            AtomicBoolean responseReceived = new AtomicBoolean();
+            return next.exchange(request)
+                    .doOnNext(response -> responseReceived.set(true))
+                    .doFinally(signal -> {
+                        if (!responseReceived.get()) {
+                            finish(finished, start, signal);
+                        }
+                    })
+                    .map(response -> response.mutate()
+                            .body(body -> body.doFinally(signal -> finish(finished, start, signal)))
+                            .build());
+        });
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Moving average latency of recent upstream calls, or null when no call completed within {@code maxAge}
+     */
+    public Duration getAverageLatency(Duration maxAge) {
+        if (averageLatencyNanos.get() == 0 || System.nanoTime() - lastSampleNanos > maxAge.toNanos()) {
+            return null;
+        }
+        return Duration.ofNanos(averageLatencyNanos.get());
+    }
+
+    private void finish(AtomicBoolean finished, long start, SignalType signal) {
+        if (!finished.compareAndSet(false, true)) {
+            return;
+        }
+        inFlight.decrementAndGet();
+        // A cancelled call only tells that the upstream took at least this long, which matters
+        // once it is above the average (a deadline timeout or a slow primary that lost to its hedge)
+        long latencyNanos = System.nanoTime() - start;
+        long average = averageLatencyNanos.get();
+        if (signal != SignalType.CANCEL || (average != 0 && latencyNanos > average)) {
+            recordLatency(latencyNanos);
+        }
+    }
+
+    private void recordLatency(long latencyNanos) {
+        averageLatencyNanos.updateAndGet(average -> average == 0
+                ? Math.max(1, latencyNanos)
+                : (long) (SMOOTHING * latencyNanos + (1 - SMOOTHING) * average));
+        lastSampleNanos = System.nanoTime();
+    }
+}
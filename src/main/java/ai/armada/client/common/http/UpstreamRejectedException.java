@@ -0,0 +1,19 @@
+package ai.armada.client.common.http;
+
+/**
+ * Exception thrown when an upstream call is refused locally, before reaching the network,
+ * because the capacity reserved for it is exhausted
+ */
+public class UpstreamRejectedException extends RuntimeException {
+
+    private final String errorCode;
+
+    public UpstreamRejectedException(String errorCode, String message) {
+        super(message);
+        this.errorCode = errorCode;
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+}
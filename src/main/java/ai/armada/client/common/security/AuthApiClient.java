@@ -2,10 +2,12 @@ package ai.armada.client.common.security;
 
 import ai.armada.client.config.ArmadaApiProperties;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
 @Component
 @Slf4j
@@ -14,57 +16,54 @@ public class AuthApiClient {
     private final WebClient webClient;
     private final ArmadaApiProperties properties;
 
-    public AuthApiClient(WebClient webClient, ArmadaApiProperties properties) {
+    public AuthApiClient(@Qualifier("authWebClient") WebClient webClient, ArmadaApiProperties properties) {
         this.webClient = webClient;
         this.properties = properties;
     }
 
     public TokenResponse fetchAuthToken() {
-        log.debug("Fetching new authentication token from {}", 
-                properties.getBaseUrl() + properties.getEndpoints().getAuth().getToken());
-        
-        try {
-            TokenRequest request = new TokenRequest(
-                    properties.getCredentials().getApiKey(),
-                    properties.getCredentials().getApiKeyId()
-            );
-
-            TokenResponse response = webClient.post()
-                    .uri(properties.getEndpoints().getAuth().getToken())
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(request)
-                    .retrieve()
-                    .bodyToMono(TokenResponse.class)
-                    .doOnSuccess(r -> {
-                        log.info("Received token response - status: {}, expiresIn: {}, organizationId: {}",
-                                r.status(), r.getExpiresIn(), r.getOrganizationId());
-                        if (r.getAccessToken() != null) {
-                            log.debug("Access token length: {}", r.getAccessToken().length());
-                        }
-                    })
-                    .doOnError(e -> log.error("Failed to obtain access token", e))
-                    .block();
-
-            if (response == null) {
-                throw new AuthenticationException("Failed to authenticate: No response");
-            }
+        return fetchAuthTokenReactive().block();
+    }
 
-            if (!response.isSuccess()) {
-                throw new AuthenticationException("Failed to authenticate: API returned status '" +
-                        response.status() + "'");
-            }
+    /**
+     * Non-blocking variant of {@link #fetchAuthToken()}; the blocking method subscribes to this pipeline
+     */
+    public Mono<TokenResponse> fetchAuthTokenReactive() {
+        log.debug("Fetching new authentication token from {}",
+                properties.getBaseUrl() + properties.getEndpoints().getAuth().getToken());
 
-            if (response.getAccessToken() == null || response.getAccessToken().isEmpty()) {
-                throw new AuthenticationException("Failed to authenticate: No access token in response");
-            }
+        TokenRequest request = new TokenRequest(
+                properties.getCredentials().getApiKey(),
+                properties.getCredentials().getApiKeyId()
+        );
 
-            return response;
-        } catch (WebClientResponseException e) {
-            log.error("HTTP error during token fetch: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
-            throw new AuthenticationException("Authentication failed with status: " + e.getStatusCode(), e);
-        } catch (Exception e) {
-            log.error("Unexpected error during token fetch", e);
-            throw new AuthenticationException("Authentication failed: " + e.getMessage(), e);
-        }
+        return webClient.post()
+                .uri(properties.getEndpoints().getAuth().getToken())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(TokenResponse.class)
+                .switchIfEmpty(Mono.error(() -> new AuthenticationException("Failed to authenticate: No response")))
+                .map(response -> {
+                    if (!response.isSuccess()) {
+                        throw new AuthenticationException("Failed to authenticate: API returned status '" +
+                                response.status() + "'");
+                    }
+                    if (response.getAccessToken() == null || response.getAccessToken().isEmpty()) {
+                        throw new AuthenticationException("Failed to authenticate: No access token in response");
+                    }
+                    log.info("Received token response - status: {}, expiresIn: {}, organizationId: {}",
+                            response.status(), response.getExpiresIn(), response.getOrganizationId());
+                    return response;
+                })
+                .onErrorMap(e -> !(e instanceof AuthenticationException), e -> {
+                    if (e instanceof WebClientResponseException wcre) {
+                        log.error("HTTP error during token fetch: {} - {}",
+                                wcre.getStatusCode(), wcre.getResponseBodyAsString());
+                        return new AuthenticationException("Authentication failed with status: " + wcre.getStatusCode(), e);
+                    }
+                    log.error("Unexpected error during token fetch", e);
+                    return new AuthenticationException("Authentication failed: " + e.getMessage(), e);
+                });
     }
-}
\ No newline at end of file
+}
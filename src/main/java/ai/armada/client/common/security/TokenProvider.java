@@ -1,10 +1,14 @@
 package ai.armada.client.common.security;
 
+import ai.armada.client.common.http.Deadline;
 import ai.armada.client.config.ArmadaApiProperties;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Service
 @Slf4j
@@ -13,6 +17,9 @@ public class TokenProvider {
     private final AuthApiClient authApiClient;
     private final ArmadaApiProperties properties;
     private volatile AccessToken currentToken;
+    // A lock rather than synchronized so a refresh blocking on I/O never pins a virtual thread's carrier
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final AtomicReference<Mono<AccessToken>> pendingRefresh = new AtomicReference<>();
 
     public TokenProvider(AuthApiClient authApiClient, ArmadaApiProperties properties) {
         this.authApiClient = authApiClient;
@@ -24,10 +31,13 @@ public class TokenProvider {
      */
     public String getAccessToken() {
         if (shouldRefreshToken()) {
-            synchronized (this) {
+            refreshLock.lock();
+            try {
                 if (shouldRefreshToken()) {
                     refreshToken();
                 }
+            } finally {
+                refreshLock.unlock();
             }
         }
         
@@ -38,12 +48,30 @@ public class TokenProvider {
         return currentToken.value();
     }
 
+    /**
+     * Non-blocking variant of {@link #getAccessToken()}.
+     * Concurrent callers that find the token stale share a single in-flight refresh.
+     */
+    public Mono<String> getAccessTokenReactive() {
+        AccessToken token = currentToken;
+        if (token != null && !shouldRefreshToken()) {
+            return Mono.just(token.value());
+        }
+
+        return refreshTokenReactive().map(AccessToken::value);
+    }
+
     /**
      * Force an immediate token refresh
      */
-    public synchronized void forceRefresh() {
-        log.info("Force refreshing access token");
-        refreshToken();
+    public void forceRefresh() {
+        refreshLock.lock();
+        try {
+            log.info("Force refreshing access token");
+            refreshToken();
+        } finally {
+            refreshLock.unlock();
+        }
     }
 
     /**
@@ -86,22 +114,57 @@ public class TokenProvider {
             log.info("Refreshing OAuth access token");
             
             TokenResponse response = authApiClient.fetchAuthToken();
-            
-            Instant now = Instant.now();
-            Instant expiresAt = now.plusSeconds(response.getExpiresIn());
-
-            currentToken = new AccessToken(
-                    response.getAccessToken(),
-                    expiresAt,
-                    now
-            );
-            
-            log.info("Access token refreshed successfully. Valid until: {}, Remaining: {}s", 
-                    expiresAt, currentToken.getRemainingSeconds());
+            storeToken(response);
                     
         } catch (Exception e) {
             log.error("Failed to refresh access token", e);
             throw new AuthenticationException("Token refresh failed: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Refresh the access token without blocking, joining a refresh already in flight
+     */
+    private Mono<AccessToken> refreshTokenReactive() {
+        Mono<AccessToken> pending = pendingRefresh.get();
+        if (pending != null) {
+            return pending;
+        }
+
+        Mono<AccessToken> refresh = Mono.defer(() -> {
+                    log.info("Refreshing OAuth access token (reactive)");
+                    return authApiClient.fetchAuthTokenReactive();
+                })
+                .map(this::storeToken)
+                .onErrorMap(e -> {
+                    log.error("Failed to refresh access token", e);
+                    return new AuthenticationException("Token refresh failed: " + e.getMessage(), e);
+                })
+                .doFinally(signal -> pendingRefresh.set(null))
+                // The refresh is shared, so it must not be cut short by the deadline of whichever request started it
+                .contextWrite(context -> context.delete(Deadline.class))
+                .cache();
+
+        if (pendingRefresh.compareAndSet(null, refresh)) {
+            return refresh;
+        }
+        Mono<AccessToken> winner = pendingRefresh.get();
+        return winner != null ? winner : refreshTokenReactive();
+    }
+
+    private AccessToken storeToken(TokenResponse response) {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plusSeconds(response.getExpiresIn());
+
+        AccessToken token = new AccessToken(
+                response.getAccessToken(),
+                expiresAt,
+                now
+        );
+        currentToken = token;
+
+        log.info("Access token refreshed successfully. Valid until: {}, Remaining: {}s",
+                expiresAt, token.getRemainingSeconds());
+        return token;
+    }
 }
\ No newline at end of file
@@ -5,6 +5,11 @@ import org.springframework.context.annotation.Configuration;
 
 import lombok.Data;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Configuration
 @ConfigurationProperties(prefix = "armada.api")
 @Data
@@ -14,6 +19,20 @@ public class ArmadaApiProperties {
     private Endpoints endpoints;
     private Credentials credentials;
     private Token tokenConfig;
+    private Deadlines deadlines = new Deadlines();
+    private Bulkheads bulkheads = new Bulkheads();
+    private LoadShedding loadShedding = new LoadShedding();
+    private EventLoop eventLoop = new EventLoop();
+    private Warmup warmup = new Warmup();
+    private SingleFlight singleFlight = new SingleFlight();
+    private Collapsing collapsing = new Collapsing();
+    private Indexes indexes = new Indexes();
+    private CycleReuse cycleReuse = new CycleReuse();
+    private Planner planner = new Planner();
+    private Crawl crawl = new Crawl();
+    private Hedging hedging = new Hedging();
+    private AdaptiveConcurrency adaptiveConcurrency = new AdaptiveConcurrency();
+    private RateLimiting rateLimiting = new RateLimiting();
     
     @Data
     public static class Endpoints {
@@ -52,4 +71,253 @@ public class ArmadaApiProperties {
         private long refreshRateMs;
         private int expiryThresholdPercent;
     }
-}
\ No newline at end of file
+
+    @Data
+    public static class Deadlines {
+        /** Inbound header carrying the caller's remaining time budget in milliseconds */
+        private String header = "X-Request-Timeout-Ms";
+        /** Largest budget the header may ask for; larger values are cut down to it */
+        private Duration maxHeaderBudget = Duration.ofMinutes(5);
+        /** Budget for requests without a matching endpoint entry; unset means no deadline */
+        private Duration defaultBudget;
+        /** Budgets keyed by Ant-style inbound path pattern, first match wins */
+        private Map<String, Duration> endpoints = new LinkedHashMap<>();
+    }
+
+    /**
+     * Isolated upstream capacity per client domain. Each domain gets its own WebClient and connection
+     * pool, so a flood of calls in one domain cannot starve the others. Auth is kept small and
+     * separate so that token refresh always finds a free connection.
+     */
+    @Data
+    public static class Bulkheads {
+        private Bulkhead auth = new Bulkhead(2, 2, 16, 0);
+        private Bulkhead organizations = new Bulkhead(16, 16, 100, 4);
+        private Bulkhead dataPools = new Bulkhead(16, 16, 100, 4);
+        private Bulkhead serviceLines = new Bulkhead(32, 32, 200, 8);
+    }
+
+    @Data
+    public static class Bulkhead {
+        /** Size of the domain's connection pool; 0 falls back to {@code webclient.pool.max-connections} */
+        private int maxConnections;
+        /** Calls allowed in flight at once */
+        private int maxConcurrentCalls;
+        /** Calls allowed to wait for a free slot before new calls are rejected */
+        private int maxQueuedCalls;
+        /** Concurrent slots background calls may never take, kept free for interactive calls */
+        private int reservedInteractiveCalls;
+
+        public Bulkhead() {
+        }
+
+        public Bulkhead(int maxConnections, int maxConcurrentCalls, int maxQueuedCalls, int reservedInteractiveCalls) {
+            this.maxConnections = maxConnections;
+            this.maxConcurrentCalls = maxConcurrentCalls;
+            this.maxQueuedCalls = maxQueuedCalls;
+            this.reservedInteractiveCalls = reservedInteractiveCalls;
+        }
+    }
+
+    @Data
+    public static class LoadShedding {
+        private boolean enabled = true;
+        /** Ant-style inbound path patterns subject to admission control */
+        private List<String> paths = List.of("/api/organizations/**");
+        /**
+         * Upstream calls in flight at which every new request is rejected. Calls waiting for a bulkhead slot
+         * are not in flight, so this only triggers below the sum of the bulkhead limits.
+         */
+        private int maxInFlight = 60;
+        /** Calls waiting for a bulkhead slot, across all bulkheads, at which every new request is rejected */
+        private int maxQueued = 64;
+        /** Average upstream latency above which requests start being shed */
+        private Duration latencyThreshold = Duration.ofSeconds(2);
+        /** Latency samples older than this are ignored */
+        private Duration latencyWindow = Duration.ofSeconds(10);
+        /** Largest share of requests shed because of latency alone */
+        private double maxShedRatio = 0.9;
+    }
+
+    /**
+     * Netty event loops the upstream WebClients run on
+     */
+    @Data
+    public static class EventLoop {
+        /** Use the native epoll transport when it is available (Linux); NIO otherwise */
+        private boolean nativeTransport = true;
+        /** I/O worker threads; 0 means one per CPU core, at least 4 */
+        private int workerThreads;
+        /** Threads accepting inbound connections when the loops are shared with the server; 0 means the workers accept */
+        private int selectorThreads;
+        /** Run the reactive server on the same loops instead of its own */
+        private boolean shareWithServer;
+    }
+
+    /**
+     * Connections and token prepared at startup, before the application reports ready
+     */
+    @Data
+    public static class Warmup {
+        private boolean enabled = true;
+        /** Connections opened per upstream domain */
+        private int connections = 4;
+        /** Path requested with HEAD to open a connection; any response status will do */
+        private String path = "/";
+        /** Longest startup is held up by warm-up */
+        private Duration timeout = Duration.ofSeconds(10);
+    }
+
+    /**
+     * Coalescing of identical upstream GETs in flight at the same time
+     */
+    @Data
+    public static class SingleFlight {
+        private boolean enabled = true;
+    }
+
+    /**
+     * Collapsing of per-service-line usage requests into all-service-lines usage calls
+     */
+    @Data
+    public static class Collapsing {
+        private boolean enabled = true;
+        /**
+         * How long the first request waits for others to join; zero disables collapsing. A request that
+         * nobody joins still waits the full window before making its own call.
+         */
+        private Duration window = Duration.ofMillis(10);
+        /** Distinct service lines needed in a window to use the all-service-lines call */
+        private int minBatchSize = 3;
+    }
+
+    /**
+     * Indexes by ID over recent list responses, used to answer single-item lookups
+     */
+    @Data
+    public static class Indexes {
+        /** Single service line settings answered from the all-service-lines settings call */
+        private Index serviceLineSettings = new Index(true, Duration.ofSeconds(30), Duration.ofSeconds(5));
+        /** Single data pools answered from a recent data pool list; misses never refresh the list */
+        private Index dataPools = new Index(true, Duration.ofSeconds(10), Duration.ZERO);
+        /** Single service lines answered from a recent service line list; misses never refresh the list */
+        private Index serviceLines = new Index(true, Duration.ofSeconds(10), Duration.ZERO);
+    }
+
+    @Data
+    public static class Index {
+        private boolean enabled;
+        /** Lists older than this are refreshed on the next lookup; zero disables the index */
+        private Duration maxAge;
+        /** Shortest time between list refreshes caused by lookup misses */
+        private Duration missRefreshInterval;
+
+        public Index() {
+        }
+
+        public Index(boolean enabled, Duration maxAge, Duration missRefreshInterval) {
+            this.enabled = enabled;
+            this.maxAge = maxAge;
+            this.missRefreshInterval = missRefreshInterval;
+        }
+    }
+
+    /**
+     * Usage responses with more billing cycles answering requests for fewer
+     */
+    @Data
+    public static class CycleReuse {
+        private boolean enabled = true;
+        /** How long a usage response is reused after it was requested; zero disables reuse */
+        private Duration maxAge = Duration.ofSeconds(30);
+        /** Fewest cycles fetched for any usage request, e.g. the largest window callers commonly ask for */
+        private int minFetchedCycles = 1;
+    }
+
+    /**
+     * Choice between per-line calls and all-service-lines calls for requests covering several service lines
+     */
+    @Data
+    public static class Planner {
+        /** Pick the cheaper plan; when disabled every service line is fetched on its own */
+        private boolean enabled = true;
+        /** Per-line calls in flight at once for one request */
+        private int perLineConcurrency = 8;
+        /** Most distinct service lines one batch request may ask for */
+        private int maxBatchSize = 500;
+    }
+
+    /**
+     * Organization-wide crawls of data pools, service lines and their usage
+     */
+    @Data
+    public static class Crawl {
+        /** Organizations whose data pool lists are fetched at once */
+        private int organizationConcurrency = 2;
+        /** Data pools crawled at once, across all organizations of a crawl */
+        private int dataPoolConcurrency = 4;
+        /** Billing cycles of usage fetched for each service line */
+        private int billingCycles = 1;
+        /** Crawled data pools between progress log lines */
+        private int progressLogInterval = 100;
+    }
+
+    /**
+     * Second copies of slow data pool and service line reads
+     */
+    @Data
+    public static class Hedging {
+        private boolean enabled = false;
+        /** Latency percentile of recent calls to the same resource after which a second copy is sent */
+        private double percentile = 95;
+        /** Second copies allowed, as a percentage of calls */
+        private double budgetPercent = 5;
+        /** Calls to a resource observed before it is hedged */
+        private int minSamples = 50;
+        /** Recent calls per resource the percentile is taken over */
+        private int windowSize = 500;
+        /** Shortest wait before a second copy is sent */
+        private Duration minDelay = Duration.ofMillis(10);
+    }
+
+    /**
+     * Bulkhead concurrency limits that follow upstream latency, starting from each bulkhead's
+     * {@code max-concurrent-calls}
+     */
+    @Data
+    public static class AdaptiveConcurrency {
+        private boolean enabled = true;
+        private int minLimit = 2;
+        private int maxLimit = 128;
+        /** How much slower than its long-term average the upstream may answer before the limit shrinks */
+        private double rttTolerance = 1.5;
+        /** Weight of each new estimate in the limit */
+        private double smoothing = 0.2;
+        /** Calls the long-term latency average spans */
+        private int longWindow = 600;
+        /** Factor applied to the limit after a failed or overloaded call */
+        private double backoffRatio = 0.9;
+    }
+
+    /**
+     * Client-side pacing of upstream calls per credential and endpoint, once and as long as {@code 429} responses
+     * call for it
+     */
+    @Data
+    public static class RateLimiting {
+        private boolean enabled = true;
+        private double minRate = 1;
+        /** Above this rate an endpoint is no longer paced */
+        private double maxRate = 200;
+        /** Calls that may go out at once after a paced endpoint was idle */
+        private int burst = 10;
+        /** Calls per second the rate grows by each second without a 429 */
+        private double increase = 1;
+        /** Factor applied to the rate after a 429, or to the calls sent in the last second after the first one */
+        private double backoffRatio = 0.5;
+        /** Pause after a 429 without a usable Retry-After header */
+        private Duration defaultRetryAfter = Duration.ofSeconds(1);
+        /** Longest a call waits for its turn before failing with RATE_LIMITED */
+        private Duration maxWait = Duration.ofSeconds(5);
+    }
+}
@@ -0,0 +1,38 @@
+package ai.armada.client.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Connection pool settings shared by the upstream WebClients. The pool size of each domain comes from
+ * its {@code armada.api.bulkheads} entry; {@link #maxConnections} applies where that is not set.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "webclient.pool")
+@Data
+public class ConnectionPoolProperties {
+
+    public enum Leasing {
+        /** Hand out the connection idle the longest, spreading load over all pooled connections */
+        FIFO,
+        /** Hand out the most recently used connection, letting surplus connections idle out */
+        LIFO
+    }
+
+    /** Pool size for domains whose bulkhead does not set {@code max-connections} */
+    private int maxConnections = 50;
+    /** Acquires allowed to wait for a connection before new ones fail; 0 means twice the pool size */
+    private int pendingAcquireMaxCount;
+    /** How long an acquire may wait for a connection */
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(10);
+    /** Idle connections older than this are closed; keep it below the upstream's keep-alive timeout */
+    private Duration maxIdleTime = Duration.ofSeconds(20);
+    /** Connections older than this are closed once released, so DNS and load balancer changes are picked up */
+    private Duration maxLifeTime = Duration.ofMinutes(5);
+    /** Interval of the background sweep closing expired idle connections; zero checks only on acquire */
+    private Duration evictInBackground = Duration.ofSeconds(30);
+    private Leasing leasing = Leasing.FIFO;
+}
@@ -0,0 +1,33 @@
+package ai.armada.client.config;
+
+import ai.armada.client.common.http.DeadlineResolver;
+import ai.armada.client.common.http.DeadlineServletFilter;
+import ai.armada.client.common.http.DeadlineWebFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the inbound filter that attaches a {@link ai.armada.client.common.http.Deadline} to each request
+ * for whichever web stack is active
+ */
+@Configuration
+public class DeadlineConfig {
+
+    @Bean
+    public DeadlineResolver deadlineResolver(ArmadaApiProperties properties) {
+        return new DeadlineResolver(properties);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public DeadlineServletFilter deadlineServletFilter(DeadlineResolver deadlineResolver) {
+        return new DeadlineServletFilter(deadlineResolver);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public DeadlineWebFilter deadlineWebFilter(DeadlineResolver deadlineResolver) {
+        return new DeadlineWebFilter(deadlineResolver);
+    }
+}
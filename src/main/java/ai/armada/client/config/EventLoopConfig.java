@@ -0,0 +1,47 @@
+package ai.armada.client.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Event loops for the upstream WebClients, as configured under {@code armada.api.event-loop}.
+ * On Linux the native epoll transport is used unless disabled; elsewhere Netty falls back to NIO.
+ */
+@Slf4j
+@Configuration
+public class EventLoopConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public LoopResources armadaLoopResources(ArmadaApiProperties properties) {
+        ArmadaApiProperties.EventLoop config = properties.getEventLoop();
+        int workerThreads = config.getWorkerThreads() > 0 ? config.getWorkerThreads() : LoopResources.DEFAULT_IO_WORKER_COUNT;
+
+        boolean nativeTransport = config.isNativeTransport() && LoopResources.hasNativeSupport();
+        log.info("Upstream event loop: {} worker threads on {} transport",
+                workerThreads, nativeTransport ? "native" : "NIO");
+        if (config.isNativeTransport() && !nativeTransport) {
+            log.warn("Native transport requested but not available on this platform, using NIO");
+        }
+
+        return config.getSelectorThreads() > 0
+                ? LoopResources.create("armada-client", config.getSelectorThreads(), workerThreads, true)
+                : LoopResources.create("armada-client", workerThreads, true);
+    }
+
+    /**
+     * Moves the reactive server onto the client's loops, so a request and its upstream calls are
+     * handled on the same threads without hand-offs between loop groups
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    @ConditionalOnProperty(prefix = "armada.api.event-loop", name = "share-with-server")
+    public NettyServerCustomizer sharedEventLoopCustomizer(LoopResources armadaLoopResources,
+                                                           ArmadaApiProperties properties) {
+        return server -> server.runOn(armadaLoopResources, properties.getEventLoop().isNativeTransport());
+    }
+}
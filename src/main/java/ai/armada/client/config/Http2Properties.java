@@ -0,0 +1,26 @@
+package ai.armada.client.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Optional HTTP/2 to the upstream. Calls are multiplexed as streams over a few connections instead
+ * of each holding a pooled HTTP/1.1 connection. If the upstream does not speak HTTP/2, the client
+ * falls back to HTTP/1.1 per connection.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "webclient.http2")
+@Data
+public class Http2Properties {
+
+    private boolean enabled;
+    /** Use h2c (HTTP/2 without TLS, via upgrade) instead of h2 over TLS; for local stand-ins only */
+    private boolean cleartext;
+    /** Streams a single connection carries before another connection is opened */
+    private long maxConcurrentStreams = 100;
+    /** Connections opened before streams are multiplexed onto them; more are only added when all of these are full */
+    private int minConnections = 1;
+    /** Upper bound of HTTP/2 connections per domain; 0 uses the domain's pool size */
+    private int maxConnections;
+}
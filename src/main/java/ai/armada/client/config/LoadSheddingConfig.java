@@ -0,0 +1,42 @@
+package ai.armada.client.config;
+
+import ai.armada.client.common.http.BulkheadFilter;
+import ai.armada.client.common.http.LoadShedder;
+import ai.armada.client.common.http.LoadSheddingServletFilter;
+import ai.armada.client.common.http.LoadSheddingWebFilter;
+import ai.armada.client.common.http.UpstreamLoadMonitor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Registers the inbound admission control configured under {@code armada.api.load-shedding}
+ * for whichever web stack is active
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "armada.api.load-shedding", name = "enabled", matchIfMissing = true)
+public class LoadSheddingConfig {
+
+    @Bean
+    public LoadShedder loadShedder(ArmadaApiProperties properties, UpstreamLoadMonitor upstreamLoadMonitor,
+                                   List<BulkheadFilter> bulkheadFilters) {
+        return new LoadShedder(properties, upstreamLoadMonitor,
+                bulkheadFilters.stream().map(BulkheadFilter::getBulkhead).toList());
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public LoadSheddingServletFilter loadSheddingServletFilter(LoadShedder loadShedder, ObjectMapper objectMapper) {
+        return new LoadSheddingServletFilter(loadShedder, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public LoadSheddingWebFilter loadSheddingWebFilter(LoadShedder loadShedder, ObjectMapper objectMapper) {
+        return new LoadSheddingWebFilter(loadShedder, objectMapper);
+    }
+}
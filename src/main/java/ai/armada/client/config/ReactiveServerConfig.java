@@ -0,0 +1,33 @@
+package ai.armada.client.config;
+
+import ai.armada.client.common.http.ClientDisconnectWebFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Serves the reactive stack from Reactor Netty.
+ * Tomcat stays on the classpath for the servlet stack, and Spring Boot would otherwise
+ * prefer it for reactive applications as well. {@link NettyServerCustomizer} beans are applied here
+ * because the factory is not the auto-configured one. Client disconnects are tracked here as well, since
+ * only the reactive stack notices them.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveServerConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory(ObjectProvider<NettyServerCustomizer> customizers) {
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory();
+        factory.getServerCustomizers().addAll(customizers.orderedStream().toList());
+        return factory;
+    }
+
+    @Bean
+    public ClientDisconnectWebFilter clientDisconnectWebFilter() {
+        return new ClientDisconnectWebFilter();
+    }
+}
@@ -0,0 +1,55 @@
+package ai.armada.client.config;
+
+import io.netty.handler.ssl.OpenSsl;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.Http11SslContextSpec;
+import reactor.netty.http.Http2SslContextSpec;
+
+import javax.net.ssl.SSLException;
+import java.util.function.Consumer;
+
+/**
+ * Builds the SSL context shared by the upstream WebClients, as configured under {@code webclient.tls}
+ */
+@Slf4j
+@Configuration
+public class TlsConfig {
+
+    @Bean
+    public SslContext upstreamSslContext(TlsProperties tls, Http2Properties http2) throws SSLException {
+        SslProvider provider = sslProvider(tls.getProvider());
+        log.info("Upstream TLS provider: {}", provider);
+
+        Consumer<SslContextBuilder> configurer = builder -> {
+            builder.sslProvider(provider);
+            if (tls.getSessionCacheSize() > 0) {
+                builder.sessionCacheSize(tls.getSessionCacheSize());
+            }
+            if (!tls.getSessionTimeout().isZero()) {
+                builder.sessionTimeout(tls.getSessionTimeout().toSeconds());
+            }
+        };
+
+        // The HTTP/2 spec adds the ALPN negotiation h2 needs
+        if (http2.isEnabled() && !http2.isCleartext()) {
+            return Http2SslContextSpec.forClient().configure(configurer).sslContext();
+        }
+        return Http11SslContextSpec.forClient().configure(configurer).sslContext();
+    }
+
+    private static SslProvider sslProvider(TlsProperties.Provider provider) {
+        if (provider == TlsProperties.Provider.OPENSSL) {
+            if (OpenSsl.isAvailable()) {
+                return SslProvider.OPENSSL;
+            }
+            log.warn("OpenSSL requested but netty-tcnative is not available, using the JDK provider",
+                    OpenSsl.unavailabilityCause());
+        }
+        return SslProvider.JDK;
+    }
+}
@@ -0,0 +1,29 @@
+package ai.armada.client.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * TLS settings for HTTPS upstreams. All domain clients share one SSL context and therefore one
+ * session cache, so a reconnect to the upstream resumes a cached session instead of doing a full handshake.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "webclient.tls")
+@Data
+public class TlsProperties {
+
+    public enum Provider {
+        JDK,
+        /** OpenSSL via netty-tcnative; falls back to JDK when the native library is not on the classpath */
+        OPENSSL
+    }
+
+    private Provider provider = Provider.JDK;
+    /** Sessions kept for resumption; 0 keeps the provider's default */
+    private int sessionCacheSize;
+    /** How long a cached session may be resumed; zero keeps the provider's default */
+    private Duration sessionTimeout = Duration.ZERO;
+}
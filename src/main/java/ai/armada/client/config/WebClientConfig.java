@@ -1,6 +1,15 @@
 package ai.armada.client.config;
 
+import ai.armada.client.common.http.AdaptiveConcurrencyLimit;
+import ai.armada.client.common.http.Bulkhead;
+import ai.armada.client.common.http.BulkheadFilter;
+import ai.armada.client.common.http.CancellationMetricsFilter;
+import ai.armada.client.common.http.ConnectionPoolMonitor;
+import ai.armada.client.common.http.DeadlineFilter;
+import ai.armada.client.common.http.RateLimiter;
+import ai.armada.client.common.http.UpstreamLoadMonitor;
 import io.netty.channel.ChannelOption;
+import io.netty.handler.ssl.SslContext;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutHandler;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,11 +17,23 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.Http2AllocationStrategy;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
 
 import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * One WebClient per upstream domain (auth, organizations, data pools, service lines), each behind its
+ * own connection pool and {@link Bulkhead} as configured under {@code armada.api.bulkheads}. Unless
+ * {@code armada.api.adaptive-concurrency} is disabled, each API bulkhead's limit follows upstream latency,
+ * up to what its connection pool can carry; the auth bulkhead keeps its configured limit.
+ * Ahead of the bulkheads, a {@link RateLimiter} paces calls per endpoint.
+ * All of them share the event loops from {@link EventLoopConfig} and the SSL context from {@link TlsConfig}.
+ */
 @Configuration
 public class WebClientConfig {
 
@@ -25,19 +46,170 @@ public class WebClientConfig {
     @Value("${webclient.max-memory-size:10485760}")
     private int maxMemorySize;
 
+    private final ArmadaApiProperties properties;
+    private final ConnectionPoolProperties poolProperties;
+    private final Http2Properties http2Properties;
+    private final ConnectionPoolMonitor connectionPoolMonitor;
+    private final CancellationMetricsFilter cancellationMetricsFilter;
+    private final UpstreamLoadMonitor upstreamLoadMonitor;
+    private final DeadlineFilter deadlineFilter;
+    private final RateLimiter rateLimiter;
+    private final LoopResources loopResources;
+    private final SslContext sslContext;
+
+    public WebClientConfig(ArmadaApiProperties properties,
+                           ConnectionPoolProperties poolProperties,
+                           Http2Properties http2Properties,
+                           ConnectionPoolMonitor connectionPoolMonitor,
+                           CancellationMetricsFilter cancellationMetricsFilter,
+                           UpstreamLoadMonitor upstreamLoadMonitor,
+                           DeadlineFilter deadlineFilter,
+                           RateLimiter rateLimiter,
+                           LoopResources armadaLoopResources,
+                           SslContext upstreamSslContext) {
+        this.properties = properties;
+        this.poolProperties = poolProperties;
+        this.http2Properties = http2Properties;
+        this.connectionPoolMonitor = connectionPoolMonitor;
+        this.loopResources = armadaLoopResources;
+        this.sslContext = upstreamSslContext;
+        this.cancellationMetricsFilter = cancellationMetricsFilter;
+        this.upstreamLoadMonitor = upstreamLoadMonitor;
+        this.deadlineFilter = deadlineFilter;
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Token calls are rare and single-flighted, too few to learn a limit from, so this limit stays fixed
+     */
+    @Bean
+    public BulkheadFilter authBulkhead() {
+        return new BulkheadFilter(bulkhead("auth", properties.getBulkheads().getAuth()));
+    }
+
     @Bean
-    public WebClient webClient(ArmadaApiProperties properties) {
-        HttpClient httpClient = HttpClient.create()
+    public BulkheadFilter organizationBulkhead() {
+        return bulkheadFilter("organizations", properties.getBulkheads().getOrganizations());
+    }
+
+    @Bean
+    public BulkheadFilter dataPoolBulkhead() {
+        return bulkheadFilter("data-pools", properties.getBulkheads().getDataPools());
+    }
+
+    @Bean
+    public BulkheadFilter serviceLineBulkhead() {
+        return bulkheadFilter("service-lines", properties.getBulkheads().getServiceLines());
+    }
+
+    @Bean
+    public WebClient authWebClient() {
+        return webClient(authBulkhead(), properties.getBulkheads().getAuth());
+    }
+
+    @Bean
+    public WebClient organizationWebClient() {
+        return webClient(organizationBulkhead(), properties.getBulkheads().getOrganizations());
+    }
+
+    @Bean
+    public WebClient dataPoolWebClient() {
+        return webClient(dataPoolBulkhead(), properties.getBulkheads().getDataPools());
+    }
+
+    @Bean
+    public WebClient serviceLineWebClient() {
+        return webClient(serviceLineBulkhead(), properties.getBulkheads().getServiceLines());
+    }
+
+    private BulkheadFilter bulkheadFilter(String name, ArmadaApiProperties.Bulkhead config) {
+        Bulkhead bulkhead = bulkhead(name, config);
+        ArmadaApiProperties.AdaptiveConcurrency adaptive = properties.getAdaptiveConcurrency();
+        if (!adaptive.isEnabled()) {
+            return new BulkheadFilter(bulkhead);
+        }
+        return new BulkheadFilter(bulkhead,
+                new AdaptiveConcurrencyLimit(bulkhead, adaptive, connectionCapacity(config.getMaxConnections())));
+    }
+
+    private static Bulkhead bulkhead(String name, ArmadaApiProperties.Bulkhead config) {
+        return new Bulkhead(name, config.getMaxConcurrentCalls(), config.getMaxQueuedCalls(),
+                config.getReservedInteractiveCalls());
+    }
+
+    /**
+     * Calls a domain's connection pool can carry at once: one per connection, or one per stream over HTTP/2
+     */
+    private int connectionCapacity(int maxConnections) {
+        int poolSize = poolSize(maxConnections);
+        if (!http2Properties.isEnabled()) {
+            return poolSize;
+        }
+        long connections = http2Properties.getMaxConnections() > 0 ? http2Properties.getMaxConnections() : poolSize;
+        return (int) Math.min(Integer.MAX_VALUE, connections * http2Properties.getMaxConcurrentStreams());
+    }
+
+    private int poolSize(int maxConnections) {
+        return maxConnections > 0 ? maxConnections : poolProperties.getMaxConnections();
+    }
+
+    private WebClient webClient(BulkheadFilter bulkheadFilter, ArmadaApiProperties.Bulkhead config) {
+        ConnectionProvider connectionProvider = connectionProvider(
+                "armada-" + bulkheadFilter.getBulkhead().getName(), config.getMaxConnections());
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .runOn(loopResources, properties.getEventLoop().isNativeTransport())
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectionTimeout)
                 .responseTimeout(Duration.ofMillis(readTimeout))
                 .doOnConnected(conn ->
                         conn.addHandlerLast(new ReadTimeoutHandler(readTimeout, TimeUnit.MILLISECONDS))
                             .addHandlerLast(new WriteTimeoutHandler(readTimeout, TimeUnit.MILLISECONDS)));
+        if (properties.getBaseUrl().startsWith("https:")) {
+            httpClient = httpClient.secure(ssl -> ssl.sslContext(sslContext));
+        }
+        if (http2Properties.isEnabled()) {
+            httpClient = httpClient.protocol(
+                    http2Properties.isCleartext() ? HttpProtocol.H2C : HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
 
         return WebClient.builder()
                 .baseUrl(properties.getBaseUrl())
                 .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(maxMemorySize))
+                // Outermost first: deadline timeouts surface as errors, not as caller cancellations,
+                // and time spent waiting for the rate limit or a bulkhead slot counts against the deadline.
+                // Calls waiting for the rate limit do not hold a bulkhead slot. The load monitor sits
+                // around the network exchange alone, so local waits do not count as upstream load.
+                .filter(cancellationMetricsFilter)
+                .filter(deadlineFilter)
+                .filter(rateLimiter)
+                .filter(bulkheadFilter)
+                .filter(upstreamLoadMonitor)
                 .build();
     }
-}
\ No newline at end of file
+
+    private ConnectionProvider connectionProvider(String name, int maxConnections) {
+        int poolSize = poolSize(maxConnections);
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(name)
+                .maxConnections(poolSize)
+                .pendingAcquireMaxCount(poolProperties.getPendingAcquireMaxCount() > 0
+                        ? poolProperties.getPendingAcquireMaxCount()
+                        : 2 * poolSize)
+                .pendingAcquireTimeout(poolProperties.getPendingAcquireTimeout())
+                .maxIdleTime(poolProperties.getMaxIdleTime())
+                .maxLifeTime(poolProperties.getMaxLifeTime())
+                .evictInBackground(poolProperties.getEvictInBackground())
+                .metrics(true, () -> connectionPoolMonitor);
+        if (poolProperties.getLeasing() == ConnectionPoolProperties.Leasing.LIFO) {
+            builder.lifo();
+        }
+        if (http2Properties.isEnabled()) {
+            builder.allocationStrategy(Http2AllocationStrategy.builder()
+                    .maxConcurrentStreams(http2Properties.getMaxConcurrentStreams())
+                    .maxConnections(http2Properties.getMaxConnections() > 0 ? http2Properties.getMaxConnections() : poolSize)
+                    .minConnections(http2Properties.getMinConnections())
+                    .build());
+        }
+        return builder.build();
+    }
+}
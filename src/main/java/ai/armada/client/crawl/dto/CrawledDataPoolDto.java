@@ -0,0 +1,20 @@
+package ai.armada.client.crawl.dto;
+
+import ai.armada.client.common.ApiError;
+import ai.armada.client.datapool.dto.DataPoolDto;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * One data pool of a crawl with all its service lines. When the pool could not be crawled, {@code error}
+ * is set and {@code serviceLines} is empty; when the organization's data pools could not be listed,
+ * {@code dataPool} is absent as well.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CrawledDataPoolDto(
+        String orgId,
+        DataPoolDto dataPool,
+        List<CrawledServiceLineDto> serviceLines,
+        ApiError error
+) {}
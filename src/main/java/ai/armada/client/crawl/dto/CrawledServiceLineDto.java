@@ -0,0 +1,14 @@
+package ai.armada.client.crawl.dto;
+
+import ai.armada.client.serviceline.dto.ServiceLineDto;
+import ai.armada.client.serviceline.dto.ServiceLineUsageDto;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A crawled service line; {@code usage} is absent when the all-service-lines usage response had no entry for it
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CrawledServiceLineDto(
+        ServiceLineDto serviceLine,
+        ServiceLineUsageDto usage
+) {}
@@ -0,0 +1,51 @@
+package ai.armada.client.crawl.service;
+
+import ai.armada.client.crawl.dto.CrawledDataPoolDto;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Data pools a crawl has finished with. The consumer of {@link OrganizationCrawler#crawl(CrawlCheckpoint)}
+ * marks a pool completed once it has stored it, and persists {@link #getCompletedDataPools()} as it sees fit.
+ * A crawl resumed from the same checkpoint skips those pools, so every pool is delivered at least once.
+ */
+public class CrawlCheckpoint {
+
+    private final Set<String> completedDataPools = ConcurrentHashMap.newKeySet();
+
+    public CrawlCheckpoint() {
+    }
+
+    /**
+     * A checkpoint holding data pools completed by an earlier crawl, as returned by {@link #getCompletedDataPools()}
+     */
+    public static CrawlCheckpoint resume(Collection<String> completedDataPools) {
+        CrawlCheckpoint checkpoint = new CrawlCheckpoint();
+        checkpoint.completedDataPools.addAll(completedDataPools);
+        return checkpoint;
+    }
+
+    /**
+     * Marks a crawled data pool completed. Pools that failed, or whose organization could not be listed,
+     * are not recorded, so a resumed crawl tries them again.
+     */
+    public void markCompleted(CrawledDataPoolDto crawled) {
+        if (crawled.error() == null && crawled.dataPool() != null) {
+            completedDataPools.add(key(crawled.orgId(), crawled.dataPool().id()));
+        }
+    }
+
+    public boolean isCompleted(String orgId, String dataPoolId) {
+        return completedDataPools.contains(key(orgId, dataPoolId));
+    }
+
+    public Set<String> getCompletedDataPools() {
+        return Set.copyOf(completedDataPools);
+    }
+
+    private static String key(String orgId, String dataPoolId) {
+        return orgId + "/" + dataPoolId;
+    }
+}
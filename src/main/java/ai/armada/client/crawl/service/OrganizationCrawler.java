@@ -0,0 +1,209 @@
+package ai.armada.client.crawl.service;
+
+import ai.armada.client.common.ApiError;
+import ai.armada.client.common.http.Priority;
+import ai.armada.client.common.security.AuthenticationException;
+import ai.armada.client.config.ArmadaApiProperties;
+import ai.armada.client.crawl.dto.CrawledDataPoolDto;
+import ai.armada.client.crawl.dto.CrawledServiceLineDto;
+import ai.armada.client.datapool.dto.DataPoolDto;
+import ai.armada.client.datapool.service.DataPoolService;
+import ai.armada.client.organization.dto.OrganizationDto;
+import ai.armada.client.organization.service.OrganizationService;
+import ai.armada.client.serviceline.dto.ServiceLineDto;
+import ai.armada.client.serviceline.dto.ServiceLineUsageDto;
+import ai.armada.client.serviceline.dto.ServiceLinesUsageDto;
+import ai.armada.client.serviceline.service.ServiceLineService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Streams every data pool of every organization, with each pool's service lines and their usage.
+ * <p>
+ * The crawl is one {@link Flux}: organizations are listed once, data pool lists are fetched for up to
+ * {@code organization-concurrency} organizations at a time, and up to {@code data-pool-concurrency} data pools
+ * are crawled at a time, each with one service line list call and one all-service-lines usage call. Nothing
+ * is fetched ahead of the consumer's demand beyond those limits. All calls run at {@link Priority#BACKGROUND},
+ * so a crawl only uses upstream capacity interactive requests leave free.
+ * <p>
+ * A data pool that cannot be crawled is emitted with its error and the crawl goes on; an authentication
+ * failure ends the crawl.
+ */
+@Slf4j
+@Component
+public class OrganizationCrawler {
+
+    private final OrganizationService organizationService;
+    private final DataPoolService dataPoolService;
+    private final ServiceLineService serviceLineService;
+    private final ArmadaApiProperties.Crawl config;
+
+    private final LongAdder organizations = new LongAdder();
+    private final LongAdder dataPoolsCrawled = new LongAdder();
+    private final LongAdder dataPoolsSkipped = new LongAdder();
+    private final LongAdder dataPoolsFailed = new LongAdder();
+    private final LongAdder serviceLines = new LongAdder();
+    private final AtomicInteger activeCrawls = new AtomicInteger();
+    private final AtomicLong lastCrawlServiceLinesPerSecond = new AtomicLong();
+
+    public OrganizationCrawler(OrganizationService organizationService, DataPoolService dataPoolService,
+                               ServiceLineService serviceLineService, ArmadaApiProperties properties) {
+        this.organizationService = organizationService;
+        this.dataPoolService = dataPoolService;
+        this.serviceLineService = serviceLineService;
+        this.config = properties.getCrawl();
+    }
+
+    public Flux<CrawledDataPoolDto> crawl() {
+        return crawl(new CrawlCheckpoint());
+    }
+
+    /**
+     * Crawls every data pool not yet completed in the checkpoint
+     */
+    public Flux<CrawledDataPoolDto> crawl(CrawlCheckpoint checkpoint) {
+        return Flux.defer(() -> {
+                    Progress progress = new Progress();
+                    log.info("Crawl started, {} data pools already completed", checkpoint.getCompletedDataPools().size());
+                    activeCrawls.incrementAndGet();
+
+                    return organizationService.getOrganizationsReactive()
+                            .flatMapIterable(list -> list)
+                            .doOnNext(organization -> organizations.increment())
+                            .flatMap(organization -> dataPools(organization, checkpoint, progress),
+                                    Math.max(1, config.getOrganizationConcurrency()), 1)
+                            .flatMap(next -> next, Math.max(1, config.getDataPoolConcurrency()), 1)
+                            .doOnNext(progress::record)
+                            .doFinally(signal -> {
+                                activeCrawls.decrementAndGet();
+                                progress.finish(signal.toString());
+                            });
+                })
+                .contextWrite(Priority.BACKGROUND.asContext());
+    }
+
+    /**
+     * The organization's data pools still to crawl, each as a pending crawl
+     */
+    private Flux<Mono<CrawledDataPoolDto>> dataPools(OrganizationDto organization, CrawlCheckpoint checkpoint,
+                                                     Progress progress) {
+        String orgId = organization.id();
+        return dataPoolService.getDataPoolsReactive(orgId)
+                .flatMapIterable(list -> list)
+                .filter(dataPool -> {
+                    if (checkpoint.isCompleted(orgId, dataPool.id())) {
+                        dataPoolsSkipped.increment();
+                        progress.skipped.incrementAndGet();
+                        return false;
+                    }
+                    return true;
+                })
+                .map(dataPool -> crawlDataPool(orgId, dataPool))
+                .onErrorResume(e -> !(e instanceof AuthenticationException), e -> {
+                    log.warn("Crawl could not list data pools of organization {}: {}", orgId, e.getMessage());
+                    return Flux.just(Mono.just(new CrawledDataPoolDto(orgId, null, List.of(), ApiError.from(e))));
+                });
+    }
+
+    private Mono<CrawledDataPoolDto> crawlDataPool(String orgId, DataPoolDto dataPool) {
+        return Mono.defer(() -> Mono.zip(
+                        serviceLineService.getServiceLinesReactive(orgId, dataPool.id()),
+                        serviceLineService.getAllServiceLinesUsageReactive(orgId, dataPool.id(), config.getBillingCycles())
+                                .defaultIfEmpty(new ServiceLinesUsageDto(dataPool.id(), List.of()))))
+                .map(fetched -> new CrawledDataPoolDto(orgId, dataPool,
+                        withUsage(fetched.getT1(), fetched.getT2()), null))
+                .onErrorResume(e -> !(e instanceof AuthenticationException), e -> {
+                    log.warn("Crawl could not fetch data pool {} of organization {}: {}",
+                            dataPool.id(), orgId, e.getMessage());
+                    return Mono.just(new CrawledDataPoolDto(orgId, dataPool, List.of(), ApiError.from(e)));
+                });
+    }
+
+    private static List<CrawledServiceLineDto> withUsage(List<ServiceLineDto> lines, ServiceLinesUsageDto usage) {
+        Map<String, ServiceLineUsageDto> usageByServiceLine = usage.byServiceLine();
+        return lines.stream()
+                .map(line -> new CrawledServiceLineDto(line, usageByServiceLine.get(line.id())))
+                .toList();
+    }
+
+    public long getOrganizations() {
+        return organizations.sum();
+    }
+
+    public long getDataPoolsCrawled() {
+        return dataPoolsCrawled.sum();
+    }
+
+    public long getDataPoolsSkipped() {
+        return dataPoolsSkipped.sum();
+    }
+
+    public long getDataPoolsFailed() {
+        return dataPoolsFailed.sum();
+    }
+
+    public long getServiceLines() {
+        return serviceLines.sum();
+    }
+
+    public int getActiveCrawls() {
+        return activeCrawls.get();
+    }
+
+    /**
+     * Service lines delivered per second by the most recently finished crawl
+     */
+    public long getLastCrawlServiceLinesPerSecond() {
+        return lastCrawlServiceLinesPerSecond.get();
+    }
+
+    /**
+     * Counts of one crawl, for its progress and summary log lines
+     */
+    private final class Progress {
+
+        private final long startNanos = System.nanoTime();
+        private final AtomicInteger crawled = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger skipped = new AtomicInteger();
+        private final AtomicLong lines = new AtomicLong();
+
+        void record(CrawledDataPoolDto dataPool) {
+            if (dataPool.error() != null) {
+                dataPoolsFailed.increment();
+                failed.incrementAndGet();
+            } else {
+                dataPoolsCrawled.increment();
+                serviceLines.add(dataPool.serviceLines().size());
+                lines.addAndGet(dataPool.serviceLines().size());
+            }
+            int done = crawled.incrementAndGet();
+            if (config.getProgressLogInterval() > 0 && done % config.getProgressLogInterval() == 0) {
+                log.info("Crawl progress: {} data pools ({} failed, {} skipped), {} service lines, {} service lines/s",
+                        done, failed.get(), skipped.get(), lines.get(), linesPerSecond());
+            }
+        }
+
+        void finish(String signal) {
+            long perSecond = linesPerSecond();
+            lastCrawlServiceLinesPerSecond.set(perSecond);
+            log.info("Crawl ended ({}) after {}: {} data pools ({} failed, {} skipped), {} service lines, {} service lines/s",
+                    signal, Duration.ofNanos(System.nanoTime() - startNanos), crawled.get(), failed.get(),
+                    skipped.get(), lines.get(), perSecond);
+        }
+
+        private long linesPerSecond() {
+            long elapsedNanos = Math.max(1, System.nanoTime() - startNanos);
+            return lines.get() * Duration.ofSeconds(1).toNanos() / elapsedNanos;
+        }
+    }
+}
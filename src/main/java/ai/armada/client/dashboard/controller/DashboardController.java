@@ -0,0 +1,35 @@
+package ai.armada.client.dashboard.controller;
+
+import ai.armada.client.dashboard.dto.DataPoolDashboardDto;
+import ai.armada.client.dashboard.service.DashboardService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/organizations/{orgId}/data-pools/{dataPoolId}/dashboard")
+@Slf4j
+public class DashboardController {
+
+    private final DashboardService service;
+
+    public DashboardController(DashboardService service) {
+        this.service = service;
+    }
+
+    /**
+     * Get the data pool, its usage and settings, its service lines and their usage in one response
+     * GET /api/organizations/{orgId}/data-pools/{dataPoolId}/dashboard?billingCycles=1
+     */
+    @GetMapping
+    public ResponseEntity<DataPoolDashboardDto> getDataPoolDashboard(
+            @PathVariable String orgId,
+            @PathVariable String dataPoolId,
+            @RequestParam(defaultValue = "1") Integer billingCycles) {
+        log.info("Received request to get dashboard for data pool: {}", dataPoolId);
+        DataPoolDashboardDto dashboard = service.getDataPoolDashboard(orgId, dataPoolId, billingCycles);
+        return ResponseEntity.ok(dashboard);
+    }
+}
@@ -0,0 +1,40 @@
+package ai.armada.client.dashboard.controller;
+
+import ai.armada.client.dashboard.dto.DataPoolDashboardDto;
+import ai.armada.client.dashboard.service.DashboardService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link DashboardController}, active when the application
+ * runs on the reactive (Reactor Netty) stack.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/organizations/{orgId}/data-pools/{dataPoolId}/dashboard")
+@Slf4j
+public class ReactiveDashboardController {
+
+    private final DashboardService service;
+
+    public ReactiveDashboardController(DashboardService service) {
+        this.service = service;
+    }
+
+    /**
+     * Get the data pool, its usage and settings, its service lines and their usage in one response
+     * GET /api/organizations/{orgId}/data-pools/{dataPoolId}/dashboard?billingCycles=1
+     */
+    @GetMapping
+    public Mono<ResponseEntity<DataPoolDashboardDto>> getDataPoolDashboard(
+            @PathVariable String orgId,
+            @PathVariable String dataPoolId,
+            @RequestParam(defaultValue = "1") Integer billingCycles) {
+        log.info("Received request to get dashboard for data pool: {}", dataPoolId);
+        return service.getDataPoolDashboardReactive(orgId, dataPoolId, billingCycles)
+                .map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,32 @@
+package ai.armada.client.dashboard.dto;
+
+import ai.armada.client.common.ApiError;
+import ai.armada.client.datapool.dto.DataPoolDataUsageDto;
+import ai.armada.client.datapool.dto.DataPoolDto;
+import ai.armada.client.datapool.dto.DataPoolSettingsDto;
+import ai.armada.client.serviceline.dto.ServiceLineDto;
+import ai.armada.client.serviceline.dto.ServiceLinesUsageDto;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the dashboard shows for one data pool. A section that could not be fetched is left out
+ * and its error is listed in {@code errors} under the section's name.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DataPoolDashboardDto(
+        DataPoolDto dataPool,
+        DataPoolDataUsageDto usage,
+        DataPoolSettingsDto settings,
+        List<ServiceLineDto> serviceLines,
+        ServiceLinesUsageDto serviceLinesUsage,
+        Map<String, ApiError> errors
+) {
+    public static final String DATA_POOL = "dataPool";
+    public static final String USAGE = "usage";
+    public static final String SETTINGS = "settings";
+    public static final String SERVICE_LINES = "serviceLines";
+    public static final String SERVICE_LINES_USAGE = "serviceLinesUsage";
+}
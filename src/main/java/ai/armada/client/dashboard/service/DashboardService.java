@@ -0,0 +1,90 @@
+package ai.armada.client.dashboard.service;
+
+import ai.armada.client.common.ApiError;
+import ai.armada.client.common.http.Deadline;
+import ai.armada.client.common.http.Priority;
+import ai.armada.client.common.security.AuthenticationException;
+import ai.armada.client.dashboard.dto.DataPoolDashboardDto;
+import ai.armada.client.datapool.service.DataPoolService;
+import ai.armada.client.serviceline.service.ServiceLineService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static ai.armada.client.dashboard.dto.DataPoolDashboardDto.*;
+
+/**
+ * Assembles the data pool dashboard from the data pool and service line services. The five sections are
+ * fetched concurrently, so the dashboard takes about as long as its slowest section.
+ */
+@Service
+@Slf4j
+public class DashboardService {
+
+    private final DataPoolService dataPoolService;
+    private final ServiceLineService serviceLineService;
+
+    public DashboardService(DataPoolService dataPoolService, ServiceLineService serviceLineService) {
+        this.dataPoolService = dataPoolService;
+        this.serviceLineService = serviceLineService;
+    }
+
+    public DataPoolDashboardDto getDataPoolDashboard(String orgId, String dataPoolId, Integer billingCycles) {
+        return getDataPoolDashboardReactive(orgId, dataPoolId, billingCycles)
+                .contextWrite(Deadline::propagate)
+                .contextWrite(Priority::propagate)
+                .block();
+    }
+
+    /**
+     * Sections that fail are reported in {@link DataPoolDashboardDto#errors()} and the rest are still returned.
+     * The dashboard fails as a whole when authentication fails, or when no section could be fetched.
+     */
+    public Mono<DataPoolDashboardDto> getDataPoolDashboardReactive(String orgId, String dataPoolId, Integer billingCycles) {
+        log.info("Retrieving dashboard for data pool: {} with {} billing cycles", dataPoolId, billingCycles);
+
+        return Mono.zip(
+                        section(DATA_POOL, dataPoolService.getDataPoolByIdReactive(orgId, dataPoolId)),
+                        section(USAGE, dataPoolService.getDataPoolUsageReactive(orgId, dataPoolId, billingCycles)),
+                        section(SETTINGS, dataPoolService.getDataPoolSettingsReactive(orgId, dataPoolId)),
+                        section(SERVICE_LINES, serviceLineService.getServiceLinesReactive(orgId, dataPoolId)),
+                        section(SERVICE_LINES_USAGE,
+                                serviceLineService.getAllServiceLinesUsageReactive(orgId, dataPoolId, billingCycles)))
+                .flatMap(sections -> {
+                    Map<String, ApiError> errors = new LinkedHashMap<>();
+                    Throwable firstFailure = null;
+                    for (Object section : sections) {
+                        Section<?> fetched = (Section<?>) section;
+                        if (fetched.failure() != null) {
+                            errors.put(fetched.name(), ApiError.from(fetched.failure()));
+                            firstFailure = firstFailure != null ? firstFailure : fetched.failure();
+                        }
+                    }
+                    if (errors.size() == sections.size()) {
+                        return Mono.error(firstFailure);
+                    }
+                    return Mono.just(new DataPoolDashboardDto(
+                            sections.getT1().data(),
+                            sections.getT2().data(),
+                            sections.getT3().data(),
+                            sections.getT4().data(),
+                            sections.getT5().data(),
+                            errors));
+                });
+    }
+
+    private static <T> Mono<Section<T>> section(String name, Mono<T> call) {
+        return call.map(data -> new Section<>(name, data, null))
+                .defaultIfEmpty(new Section<>(name, null, null))
+                .onErrorResume(e -> !(e instanceof AuthenticationException), e -> {
+                    log.warn("Dashboard section {} failed: {}", name, e.getMessage());
+                    return Mono.just(new Section<>(name, null, e));
+                });
+    }
+
+    private record Section<T>(String name, T data, Throwable failure) {
+    }
+}
@@ -1,20 +1,37 @@
 package ai.armada.client.datapool.client;
 
+import ai.armada.client.common.ArmadaApiResponse;
+import ai.armada.client.common.http.CycleWindowCache;
+import ai.armada.client.common.http.Deadline;
+import ai.armada.client.common.http.DeadlineExceededException;
+import ai.armada.client.common.http.BulkheadFilter;
+import ai.armada.client.common.http.Hedger;
+import ai.armada.client.common.http.Priority;
+import ai.armada.client.common.http.SingleFlight;
+import ai.armada.client.common.http.UpstreamRejectedException;
+import ai.armada.client.common.security.AuthenticationException;
 import ai.armada.client.common.security.TokenProvider;
 import ai.armada.client.config.ArmadaApiProperties;
 import ai.armada.client.datapool.dto.*;
 import ai.armada.client.datapool.exception.DataPoolApiException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
-
 import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Client for the Armada data pool endpoints.
+ * Every endpoint is available as a blocking method and as a non-blocking {@code *Reactive}
+ * variant; both run the same request pipeline and differ only in how the access token is obtained.
+ */
 @Component
 @Slf4j
 public class DataPoolApiClient {
@@ -22,244 +39,218 @@ public class DataPoolApiClient {
     private final WebClient webClient;
     private final TokenProvider tokenProvider;
     private final ArmadaApiProperties properties;
+    private final SingleFlight singleFlight;
+    private final Hedger hedger;
+    private final CycleWindowCache<DataPoolDataUsageDto> usageCycles;
 
     public DataPoolApiClient(
-            WebClient webClient,
+            @Qualifier("dataPoolWebClient") WebClient webClient,
             TokenProvider tokenProvider,
-            ArmadaApiProperties properties) {
+            ArmadaApiProperties properties,
+            SingleFlight singleFlight,
+            @Qualifier("dataPoolBulkhead") BulkheadFilter bulkheadFilter) {
         this.webClient = webClient;
         this.tokenProvider = tokenProvider;
         this.properties = properties;
+        this.singleFlight = singleFlight;
+        this.hedger = new Hedger("data pool", properties.getHedging(), bulkheadFilter.getBulkhead());
+        ArmadaApiProperties.CycleReuse cycleReuse = properties.getCycleReuse();
+        this.usageCycles = new CycleWindowCache<>("data pool usage", cycleReuse.isEnabled(),
+                cycleReuse.getMaxAge(), cycleReuse.getMinFetchedCycles(), DataPoolApiClient::latestCycles);
     }
 
     public List<ExternalDataPoolDto> fetchDataPools(String orgId) {
         log.debug("Fetching data pools for organization: {}", orgId);
+        return block(dataPools(orgId, blockingAccessToken()));
+    }
 
-        try {
-            String accessToken = tokenProvider.getAccessToken();
-            String uri = UriComponentsBuilder.fromUriString(
-                    properties.getEndpoints().getOrganizations().getDataPools())
-                    .buildAndExpand(Map.of("orgId", orgId))
-                    .encode()
-                    .toUriString();
-
-            DataPoolApiResponse response = webClient.get()
-                    .uri(uri)
-                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
-                    .retrieve()
-                    .bodyToMono(DataPoolApiResponse.class)
-                    .doOnSuccess(r -> log.info("Received data pool response - status: {}", r.status()))
-                    .doOnError(e -> log.error("Failed to fetch data pools", e))
-                    .block();
-
-            if (response == null) {
-                log.warn("Received null response when fetching data pools");
-                return List.of();
-            }
-
-            if (!response.isSuccess()) {
-                throw new DataPoolApiException(
-                        "DATAPOOL_FETCH_ERROR",
-                        "API returned error status: " + response.status()
-                );
-            }
-
-            if (response.data() == null) {
-                log.info("No data pool data in response");
-                return List.of();
-            }
-
-            log.info("Successfully fetched {} data pools", response.data().size());
-            return response.data();
+    public Mono<List<ExternalDataPoolDto>> fetchDataPoolsReactive(String orgId) {
+        log.debug("Fetching data pools (reactive) for organization: {}", orgId);
+        return dataPools(orgId, tokenProvider.getAccessTokenReactive());
+    }
 
-        } catch (ai.armada.client.common.security.AuthenticationException e) {
-            // Re-throw authentication exceptions to be handled by AuthenticationException handler
-            throw e;
-        } catch (WebClientResponseException e) {
-            log.error("HTTP error fetching data pools: {} - {}",
-                    e.getStatusCode(), e.getResponseBodyAsString());
-            throw new DataPoolApiException(
-                    "DATAPOOL_FETCH_ERROR",
-                    "Failed to fetch data pools: " + e.getStatusText(),
-                    e
-            );
-        } catch (Exception e) {
-            log.error("Unexpected error fetching data pools", e);
-            throw new DataPoolApiException(
-                    "DATAPOOL_FETCH_ERROR",
-                    "Failed to fetch data pools: " + e.getMessage(),
-                    e
-            );
-        }
+    /**
+     * Emits the data pools of an organization one by one
+     */
+    public Flux<ExternalDataPoolDto> streamDataPools(String orgId) {
+        return fetchDataPoolsReactive(orgId).flatMapIterable(dataPools -> dataPools);
     }
 
     public ExternalDataPoolDto fetchDataPoolById(String orgId, String dataPoolId) {
         log.debug("Fetching data pool: {} for organization: {}", dataPoolId, orgId);
+        return block(dataPoolById(orgId, dataPoolId, blockingAccessToken()));
+    }
 
-        try {
-            String accessToken = tokenProvider.getAccessToken();
-            String uri = UriComponentsBuilder.fromUriString(
-                    properties.getEndpoints().getOrganizations().getDataPoolById())
-                    .buildAndExpand(Map.of("orgId", orgId, "dataPoolId", dataPoolId))
-                    .encode()
-                    .toUriString();
-
-            DataPoolSingleApiResponse response = webClient.get()
-                    .uri(uri)
-                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
-                    .retrieve()
-                    .bodyToMono(DataPoolSingleApiResponse.class)
-                    .doOnSuccess(r -> log.info("Received data pool response - status: {}", r.status()))
-                    .doOnError(e -> log.error("Failed to fetch data pool", e))
-                    .block();
-
-            if (response == null) {
-                log.warn("Received null response when fetching data pool");
-                return null;
-            }
-
-            if (!response.isSuccess()) {
-                throw new DataPoolApiException(
-                        "DATAPOOL_FETCH_ERROR",
-                        "API returned error status: " + response.status()
-                );
-            }
-
-            log.info("Successfully fetched data pool: {}", dataPoolId);
-            return response.data();
-
-        } catch (ai.armada.client.common.security.AuthenticationException e) {
-            // Re-throw authentication exceptions to be handled by AuthenticationException handler
-            throw e;
-        } catch (WebClientResponseException e) {
-            log.error("HTTP error fetching data pool: {} - {}",
-                    e.getStatusCode(), e.getResponseBodyAsString());
-            throw new DataPoolApiException(
-                    "DATAPOOL_FETCH_ERROR",
-                    "Failed to fetch data pool: " + e.getStatusText(),
-                    e
-            );
-        } catch (Exception e) {
-            log.error("Unexpected error fetching data pool", e);
-            throw new DataPoolApiException(
-                    "DATAPOOL_FETCH_ERROR",
-                    "Failed to fetch data pool: " + e.getMessage(),
-                    e
-            );
-        }
+    public Mono<ExternalDataPoolDto> fetchDataPoolByIdReactive(String orgId, String dataPoolId) {
+        log.debug("Fetching data pool (reactive): {} for organization: {}", dataPoolId, orgId);
+        return dataPoolById(orgId, dataPoolId, tokenProvider.getAccessTokenReactive());
     }
 
     public DataPoolDataUsageDto fetchDataPoolUsage(String orgId, String dataPoolId, Integer billingCycles) {
         log.debug("Fetching data usage for data pool: {} with {} billing cycles", dataPoolId, billingCycles);
+        return block(dataPoolUsage(orgId, dataPoolId, billingCycles, blockingAccessToken()));
+    }
 
-        try {
-            String accessToken = tokenProvider.getAccessToken();
-            String uri = UriComponentsBuilder.fromUriString(
-                    properties.getEndpoints().getOrganizations().getDataPoolUsage())
-                    .queryParam("billingCycles", billingCycles)
-                    .buildAndExpand(Map.of("orgId", orgId, "dataPoolId", dataPoolId))
-                    .encode()
-                    .toUriString();
+    public Mono<DataPoolDataUsageDto> fetchDataPoolUsageReactive(String orgId, String dataPoolId, Integer billingCycles) {
+        log.debug("Fetching data usage (reactive) for data pool: {} with {} billing cycles", dataPoolId, billingCycles);
+        return dataPoolUsage(orgId, dataPoolId, billingCycles, tokenProvider.getAccessTokenReactive());
+    }
 
-            DataPoolUsageApiResponse response = webClient.get()
-                    .uri(uri)
-                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
-                    .retrieve()
-                    .bodyToMono(DataPoolUsageApiResponse.class)
-                    .doOnSuccess(r -> log.info("Received data pool usage response - status: {}", r.status()))
-                    .doOnError(e -> log.error("Failed to fetch data pool usage", e))
-                    .block();
+    public DataPoolSettingsDto fetchDataPoolSettings(String orgId, String dataPoolId) {
+        log.debug("Fetching settings for data pool: {}", dataPoolId);
+        return block(dataPoolSettings(orgId, dataPoolId, blockingAccessToken()));
+    }
 
-            if (response == null) {
-                log.warn("Received null response when fetching data pool usage");
-                return null;
-            }
+    public Mono<DataPoolSettingsDto> fetchDataPoolSettingsReactive(String orgId, String dataPoolId) {
+        log.debug("Fetching settings (reactive) for data pool: {}", dataPoolId);
+        return dataPoolSettings(orgId, dataPoolId, tokenProvider.getAccessTokenReactive());
+    }
 
-            if (!response.isSuccess()) {
-                throw new DataPoolApiException(
-                        "DATAPOOL_USAGE_ERROR",
-                        "API returned error status: " + response.status()
-                );
-            }
+    private Mono<List<ExternalDataPoolDto>> dataPools(String orgId, Mono<String> accessToken) {
+        return retrieve(dataPoolsUri(orgId), DataPoolApiResponse.class, accessToken,
+                        "DATAPOOL_FETCH_ERROR", "data pools")
+                .defaultIfEmpty(List.of())
+                .doOnNext(data -> log.info("Successfully fetched {} data pools", data.size()));
+    }
 
-            log.info("Successfully fetched data usage for data pool: {}", dataPoolId);
-            return response.data();
+    private Mono<ExternalDataPoolDto> dataPoolById(String orgId, String dataPoolId, Mono<String> accessToken) {
+        return retrieve(dataPoolByIdUri(orgId, dataPoolId), DataPoolSingleApiResponse.class, accessToken,
+                        "DATAPOOL_FETCH_ERROR", "data pool")
+                .doOnNext(data -> log.info("Successfully fetched data pool: {}", dataPoolId));
+    }
 
-        } catch (ai.armada.client.common.security.AuthenticationException e) {
-            // Re-throw authentication exceptions to be handled by AuthenticationException handler
-            throw e;
-        } catch (WebClientResponseException e) {
-            log.error("HTTP error fetching data pool usage: {} - {}",
-                    e.getStatusCode(), e.getResponseBodyAsString());
-            throw new DataPoolApiException(
-                    "DATAPOOL_USAGE_ERROR",
-                    "Failed to fetch data pool usage: " + e.getStatusText(),
-                    e
-            );
-        } catch (Exception e) {
-            log.error("Unexpected error fetching data pool usage", e);
-            throw new DataPoolApiException(
-                    "DATAPOOL_USAGE_ERROR",
-                    "Failed to fetch data pool usage: " + e.getMessage(),
-                    e
-            );
-        }
+    /**
+     * Usage recently fetched with at least as many billing cycles is reused, keeping only the latest cycles
+     */
+    private Mono<DataPoolDataUsageDto> dataPoolUsage(String orgId, String dataPoolId, Integer billingCycles,
+                                                     Mono<String> accessToken) {
+        return usageCycles.fetch(List.of(orgId, dataPoolId), billingCycles, cycles ->
+                retrieve(dataPoolUsageUri(orgId, dataPoolId, cycles), DataPoolUsageApiResponse.class,
+                        accessToken, "DATAPOOL_USAGE_ERROR", "data pool usage")
+                        .doOnNext(data -> log.info("Successfully fetched data usage for data pool: {}", dataPoolId)));
     }
 
-    public DataPoolSettingsDto fetchDataPoolSettings(String orgId, String dataPoolId) {
-        log.debug("Fetching settings for data pool: {}", dataPoolId);
+    private static DataPoolDataUsageDto latestCycles(DataPoolDataUsageDto usage, int billingCycles) {
+        return new DataPoolDataUsageDto(BillingCycleUsageDto.latest(usage.billingCycles(), billingCycles));
+    }
 
-        try {
-            String accessToken = tokenProvider.getAccessToken();
-            String uri = UriComponentsBuilder.fromUriString(
-                    properties.getEndpoints().getOrganizations().getDataPoolSettings())
-                    .buildAndExpand(Map.of("orgId", orgId, "dataPoolId", dataPoolId))
-                    .encode()
-                    .toUriString();
+    private Mono<DataPoolSettingsDto> dataPoolSettings(String orgId, String dataPoolId, Mono<String> accessToken) {
+        return retrieve(dataPoolSettingsUri(orgId, dataPoolId), DataPoolSettingsApiResponse.class, accessToken,
+                        "DATAPOOL_SETTINGS_ERROR", "data pool settings")
+                .doOnNext(data -> log.info("Successfully fetched settings for data pool: {}", dataPoolId));
+    }
 
-            DataPoolSettingsApiResponse response = webClient.get()
-                    .uri(uri)
-                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
-                    .retrieve()
-                    .bodyToMono(DataPoolSettingsApiResponse.class)
-                    .doOnSuccess(r -> log.info("Received data pool settings response - status: {}", r.status()))
-                    .doOnError(e -> log.error("Failed to fetch data pool settings", e))
-                    .block();
+    public Hedger getHedger() {
+        return hedger;
+    }
 
-            if (response == null) {
-                log.warn("Received null response when fetching data pool settings");
-                return null;
-            }
+    /**
+     * Resolves the access token right away, on the calling thread, as the other clients do: a due refresh
+     * blocks, and the token Mono may be subscribed later on a Reactor thread that must not block.
+     */
+    private Mono<String> blockingAccessToken() {
+        try {
+            return Mono.just(tokenProvider.getAccessToken());
+        } catch (RuntimeException e) {
+            return Mono.error(e);
+        }
+    }
 
-            if (!response.isSuccess()) {
-                throw new DataPoolApiException(
-                        "DATAPOOL_SETTINGS_ERROR",
-                        "API returned error status: " + response.status()
-                );
-            }
+    /**
+     * Waits for the call on the current thread, carrying over the request deadline and priority bound to it
+     */
+    private static <T> T block(Mono<T> call) {
+        return call.contextWrite(Deadline::propagate)
+                .contextWrite(Priority::propagate)
+                .block();
+    }
 
-            log.info("Successfully fetched settings for data pool: {}", dataPoolId);
-            return response.data();
+    /**
+     * Performs an authenticated GET and unwraps the response envelope. Slow GETs may be hedged.
+     * Completes empty when the API returns no data.
+     */
+    private <T> Mono<T> retrieve(String uri, Class<? extends ArmadaApiResponse<T>> responseType,
+                                 Mono<String> accessToken, String errorCode, String resource) {
+        return accessToken
+                .<ArmadaApiResponse<T>>flatMap(token -> singleFlight.execute(
+                        SingleFlight.key(uri, responseType, token),
+                        hedger.hedge(resource, webClient.get()
+                                .uri(uri)
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                                .retrieve()
+                                .bodyToMono(responseType))))
+                .<T>handle((response, sink) -> {
+                    log.info("Received {} response - status: {}", resource, response.status());
+                    if (!response.isSuccess()) {
+                        sink.error(new DataPoolApiException(
+                                errorCode,
+                                "API returned error status: " + response.status()
+                        ));
+                    } else if (response.data() != null) {
+                        sink.next(response.data());
+                    }
+                })
+                .onErrorMap(e -> toApiException(e, errorCode, resource));
+    }
 
-        } catch (ai.armada.client.common.security.AuthenticationException e) {
-            // Re-throw authentication exceptions to be handled by AuthenticationException handler
-            throw e;
-        } catch (WebClientResponseException e) {
-            log.error("HTTP error fetching data pool settings: {} - {}",
-                    e.getStatusCode(), e.getResponseBodyAsString());
-            throw new DataPoolApiException(
-                    "DATAPOOL_SETTINGS_ERROR",
-                    "Failed to fetch data pool settings: " + e.getStatusText(),
-                    e
-            );
-        } catch (Exception e) {
-            log.error("Unexpected error fetching data pool settings", e);
-            throw new DataPoolApiException(
-                    "DATAPOOL_SETTINGS_ERROR",
-                    "Failed to fetch data pool settings: " + e.getMessage(),
+    private Throwable toApiException(Throwable e, String errorCode, String resource) {
+        if (e instanceof AuthenticationException
+                || e instanceof DeadlineExceededException
+                || e instanceof UpstreamRejectedException) {
+            // Propagate authentication, deadline and local rejection exceptions to be handled by their own handlers
+            return e;
+        }
+        if (e.getCause() instanceof DeadlineExceededException deadlineExceeded) {
+            // WebClient wraps failures while reading the body, but the deadline is still the reason
+            return deadlineExceeded;
+        }
+        if (e instanceof WebClientResponseException webClientException) {
+            log.error("HTTP error fetching {}: {} - {}",
+                    resource, webClientException.getStatusCode(), webClientException.getResponseBodyAsString());
+            return new DataPoolApiException(
+                    errorCode,
+                    "Failed to fetch " + resource + ": " + webClientException.getStatusText(),
                     e
             );
         }
+        log.error("Unexpected error fetching {}", resource, e);
+        return new DataPoolApiException(
+                errorCode,
+                "Failed to fetch " + resource + ": " + e.getMessage(),
+                e
+        );
     }
 
-}
\ No newline at end of file
+    private String dataPoolsUri(String orgId) {
+        return UriComponentsBuilder.fromUriString(
+                properties.getEndpoints().getOrganizations().getDataPools())
+                .buildAndExpand(Map.of("orgId", orgId))
+                .encode()
+                .toUriString();
+    }
+
+    private String dataPoolByIdUri(String orgId, String dataPoolId) {
+        return UriComponentsBuilder.fromUriString(
+                properties.getEndpoints().getOrganizations().getDataPoolById())
+                .buildAndExpand(Map.of("orgId", orgId, "dataPoolId", dataPoolId))
+                .encode()
+                .toUriString();
+    }
+
+    private String dataPoolUsageUri(String orgId, String dataPoolId, Integer billingCycles) {
+        return UriComponentsBuilder.fromUriString(
+                properties.getEndpoints().getOrganizations().getDataPoolUsage())
+                .queryParam("billingCycles", billingCycles)
+                .buildAndExpand(Map.of("orgId", orgId, "dataPoolId", dataPoolId))
+                .encode()
+                .toUriString();
+    }
+
+    private String dataPoolSettingsUri(String orgId, String dataPoolId) {
+        return UriComponentsBuilder.fromUriString(
+                properties.getEndpoints().getOrganizations().getDataPoolSettings())
+                .buildAndExpand(Map.of("orgId", orgId, "dataPoolId", dataPoolId))
+                .encode()
+                .toUriString();
+    }
+}
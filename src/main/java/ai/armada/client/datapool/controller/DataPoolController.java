@@ -3,12 +3,14 @@ package ai.armada.client.datapool.controller;
 import ai.armada.client.datapool.dto.*;
 import ai.armada.client.datapool.service.DataPoolService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/organizations/{orgId}/data-pools")
 @Slf4j
 public class DataPoolController {
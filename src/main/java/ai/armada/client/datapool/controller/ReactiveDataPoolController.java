@@ -0,0 +1,80 @@
+package ai.armada.client.datapool.controller;
+
+import ai.armada.client.datapool.dto.*;
+import ai.armada.client.datapool.service.DataPoolService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link DataPoolController}, active when the application
+ * runs on the reactive (Reactor Netty) stack.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/organizations/{orgId}/data-pools")
+@Slf4j
+public class ReactiveDataPoolController {
+
+    private final DataPoolService service;
+
+    public ReactiveDataPoolController(DataPoolService service) {
+        this.service = service;
+    }
+
+    /**
+     * Get all data pools for an organization
+     * GET /api/organizations/{orgId}/data-pools
+     */
+    @GetMapping
+    public Mono<ResponseEntity<List<DataPoolDto>>> getDataPools(@PathVariable String orgId) {
+        log.info("Received request to get data pools for organization: {}", orgId);
+        return service.getDataPoolsReactive(orgId)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Get a specific data pool by ID
+     * GET /api/organizations/{orgId}/data-pools/{dataPoolId}
+     */
+    @GetMapping("/{dataPoolId}")
+    public Mono<ResponseEntity<DataPoolDto>> getDataPoolById(
+            @PathVariable String orgId,
+            @PathVariable String dataPoolId) {
+        log.info("Received request to get data pool: {} for organization: {}", dataPoolId, orgId);
+        return service.getDataPoolByIdReactive(orgId, dataPoolId)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Get data usage for a data pool
+     * GET /api/organizations/{orgId}/data-pools/{dataPoolId}/data-usage?billingCycles=1
+     */
+    @GetMapping("/{dataPoolId}/data-usage")
+    public Mono<ResponseEntity<DataPoolDataUsageDto>> getDataPoolUsage(
+            @PathVariable String orgId,
+            @PathVariable String dataPoolId,
+            @RequestParam(defaultValue = "1") Integer billingCycles) {
+        log.info("Received request to get data usage for data pool: {} with {} billing cycles",
+                dataPoolId, billingCycles);
+        return service.getDataPoolUsageReactive(orgId, dataPoolId, billingCycles)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Get settings for a data pool
+     * GET /api/organizations/{orgId}/data-pools/{dataPoolId}/settings
+     */
+    @GetMapping("/{dataPoolId}/settings")
+    public Mono<ResponseEntity<DataPoolSettingsDto>> getDataPoolSettings(
+            @PathVariable String orgId,
+            @PathVariable String dataPoolId) {
+        log.info("Received request to get settings for data pool: {}", dataPoolId);
+        return service.getDataPoolSettingsReactive(orgId, dataPoolId)
+                .map(ResponseEntity::ok);
+    }
+}
@@ -1,7 +1,11 @@
 package ai.armada.client.datapool.dto;
 
 import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Data usage for a billing cycle
@@ -11,4 +15,21 @@ public record BillingCycleUsageDto(
         LocalDate endDate,
         Float totalBillingCycleUsageGB,
         List<DailyUsageDto> dailyDataUsage
-) {}
+) {
+
+    /**
+     * The {@code count} most recent cycles of {@code cycles}, in their original order
+     */
+    public static List<BillingCycleUsageDto> latest(List<BillingCycleUsageDto> cycles, int count) {
+        if (cycles == null || cycles.size() <= count) {
+            return cycles;
+        }
+        Set<BillingCycleUsageDto> latest = Collections.newSetFromMap(new IdentityHashMap<>());
+        cycles.stream()
+                .sorted(Comparator.comparing(BillingCycleUsageDto::startDate,
+                        Comparator.nullsFirst(Comparator.naturalOrder())).reversed())
+                .limit(count)
+                .forEach(latest::add);
+        return cycles.stream().filter(latest::contains).toList();
+    }
+}
@@ -1,5 +1,6 @@
 package ai.armada.client.datapool.dto;
 
+import ai.armada.client.common.ArmadaApiResponse;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.util.List;
@@ -12,7 +13,7 @@ public record DataPoolApiResponse(
         String status,
         List<ExternalDataPoolDto> data,
         ResponseMetadata metadata
-) {
+) implements ArmadaApiResponse<List<ExternalDataPoolDto>> {
     /**
      * Response metadata record.
      */
@@ -21,11 +22,4 @@ public record DataPoolApiResponse(
             @JsonProperty("request_id") String requestId,
             @JsonProperty("api_version") String apiVersion
     ) {}
-
-    /**
-     * Check if the response indicates success.
-     */
-    public boolean isSuccess() {
-        return "success".equalsIgnoreCase(status);
-    }
 }
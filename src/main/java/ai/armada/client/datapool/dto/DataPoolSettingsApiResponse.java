@@ -1,5 +1,6 @@
 package ai.armada.client.datapool.dto;
 
+import ai.armada.client.common.ArmadaApiResponse;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 /**
@@ -10,7 +11,7 @@ public record DataPoolSettingsApiResponse(
         String status,
         DataPoolSettingsDto data,
         ResponseMetadata metadata
-) {
+) implements ArmadaApiResponse<DataPoolSettingsDto> {
     /**
      * Response metadata record.
      */
@@ -19,11 +20,4 @@ public record DataPoolSettingsApiResponse(
             @JsonProperty("request_id") String requestId,
             @JsonProperty("api_version") String apiVersion
     ) {}
-
-    /**
-     * Check if the response indicates success.
-     */
-    public boolean isSuccess() {
-        return "success".equalsIgnoreCase(status);
-    }
 }
@@ -1,10 +1,14 @@
 package ai.armada.client.datapool.service;
 
+import ai.armada.client.common.http.ResponseIndex;
+import ai.armada.client.config.ArmadaApiProperties;
 import ai.armada.client.datapool.client.DataPoolApiClient;
 import ai.armada.client.datapool.dto.*;
 import ai.armada.client.datapool.mapper.DataPoolMapper;
+import ai.armada.client.serviceline.service.ServiceLineBatchPlanner;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
@@ -14,28 +18,43 @@ public class DataPoolService {
 
     private final DataPoolApiClient apiClient;
     private final DataPoolMapper mapper;
+    private final ServiceLineBatchPlanner planner;
+    private final ResponseIndex<ExternalDataPoolDto> dataPoolIndex;
     
-    public DataPoolService(DataPoolApiClient apiClient, DataPoolMapper mapper) {
+    public DataPoolService(DataPoolApiClient apiClient, DataPoolMapper mapper, ArmadaApiProperties properties,
+                           ServiceLineBatchPlanner planner) {
         this.apiClient = apiClient;
         this.mapper = mapper;
+        this.planner = planner;
+        ArmadaApiProperties.Index index = properties.getIndexes().getDataPools();
+        this.dataPoolIndex = new ResponseIndex<>("data pools", index.isEnabled(), index.getMaxAge(),
+                index.getMissRefreshInterval(), ExternalDataPoolDto::id);
     }
 
     public List<DataPoolDto> getDataPools(String orgId) {
         log.info("Retrieving data pools for organization: {}", orgId);
         
-        List<DataPoolDto> dataPools = apiClient.fetchDataPools(orgId).stream()
-                .map(mapper::toDto)
+        List<ExternalDataPoolDto> external = apiClient.fetchDataPools(orgId);
+        dataPoolIndex.put(orgId, external);
+        List<DataPoolDto> dataPools = external.stream()
+                .map(dataPool -> toDto(orgId, dataPool))
                 .toList();
         
         log.info("Retrieved {} data pools", dataPools.size());
         return dataPools;
     }
 
+    /**
+     * Answered from a data pool list of the organization fetched within the index's max age, if it has the pool
+     */
     public DataPoolDto getDataPoolById(String orgId, String dataPoolId) {
         log.info("Retrieving data pool: {} for organization: {}", dataPoolId, orgId);
         
-        ExternalDataPoolDto external = apiClient.fetchDataPoolById(orgId, dataPoolId);
-        return mapper.toDto(external);
+        ExternalDataPoolDto external = dataPoolIndex.get(orgId, dataPoolId);
+        if (external == null) {
+            external = apiClient.fetchDataPoolById(orgId, dataPoolId);
+        }
+        return toDto(orgId, external);
     }
 
     public DataPoolDataUsageDto getDataPoolUsage(String orgId, String dataPoolId, Integer billingCycles) {
@@ -50,4 +69,46 @@ public class DataPoolService {
         
         return apiClient.fetchDataPoolSettings(orgId, dataPoolId);
     }
-}
\ No newline at end of file
+
+    public Mono<List<DataPoolDto>> getDataPoolsReactive(String orgId) {
+        log.info("Retrieving data pools (reactive) for organization: {}", orgId);
+
+        return apiClient.fetchDataPoolsReactive(orgId)
+                .doOnNext(external -> dataPoolIndex.put(orgId, external))
+                .map(external -> external.stream()
+                        .map(dataPool -> toDto(orgId, dataPool))
+                        .toList());
+    }
+
+    public Mono<DataPoolDto> getDataPoolByIdReactive(String orgId, String dataPoolId) {
+        log.info("Retrieving data pool (reactive): {} for organization: {}", dataPoolId, orgId);
+
+        return Mono.fromSupplier(() -> dataPoolIndex.get(orgId, dataPoolId))
+                .switchIfEmpty(Mono.defer(() -> apiClient.fetchDataPoolByIdReactive(orgId, dataPoolId)))
+                .map(external -> toDto(orgId, external));
+    }
+
+    public Mono<DataPoolDataUsageDto> getDataPoolUsageReactive(String orgId, String dataPoolId, Integer billingCycles) {
+        log.info("Retrieving data usage (reactive) for data pool: {} with {} billing cycles",
+                dataPoolId, billingCycles);
+
+        return apiClient.fetchDataPoolUsageReactive(orgId, dataPoolId, billingCycles);
+    }
+
+    public Mono<DataPoolSettingsDto> getDataPoolSettingsReactive(String orgId, String dataPoolId) {
+        log.info("Retrieving settings (reactive) for data pool: {}", dataPoolId);
+
+        return apiClient.fetchDataPoolSettingsReactive(orgId, dataPoolId);
+    }
+
+    /**
+     * Maps a data pool, passing its service line count on to {@link ServiceLineBatchPlanner} when reported
+     */
+    private DataPoolDto toDto(String orgId, ExternalDataPoolDto external) {
+        DataPoolDto dataPool = mapper.toDto(external);
+        if (dataPool != null && dataPool.totalServiceLines() != null) {
+            planner.recordPoolSize(orgId, dataPool.id(), dataPool.totalServiceLines());
+        }
+        return dataPool;
+    }
+}
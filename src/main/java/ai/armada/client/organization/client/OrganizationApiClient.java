@@ -1,14 +1,24 @@
 package ai.armada.client.organization.client;
 
+import ai.armada.client.common.http.Deadline;
+import ai.armada.client.common.http.DeadlineExceededException;
+import ai.armada.client.common.http.Priority;
+import ai.armada.client.common.http.SingleFlight;
+import ai.armada.client.common.http.UpstreamRejectedException;
+import ai.armada.client.common.security.AuthenticationException;
 import ai.armada.client.common.security.TokenProvider;
 import ai.armada.client.config.ArmadaApiProperties;
 import ai.armada.client.organization.dto.ExternalOrganizationDto;
+import ai.armada.client.organization.dto.OrganizationApiResponse;
 import ai.armada.client.organization.exception.OrganizationApiException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
@@ -19,71 +29,109 @@ public class OrganizationApiClient {
     private final WebClient webClient;
     private final TokenProvider tokenProvider;
     private final ArmadaApiProperties properties;
+    private final SingleFlight singleFlight;
 
     public OrganizationApiClient(
-            WebClient webClient,
+            @Qualifier("organizationWebClient") WebClient webClient,
             TokenProvider tokenProvider,
-            ArmadaApiProperties properties) {
+            ArmadaApiProperties properties,
+            SingleFlight singleFlight) {
         this.webClient = webClient;
         this.tokenProvider = tokenProvider;
         this.properties = properties;
+        this.singleFlight = singleFlight;
     }
 
     public List<ExternalOrganizationDto> fetchOrganizations() {
         log.debug("Fetching organizations from external API");
+        return block(organizations(blockingAccessToken()));
+    }
 
-        try {
-            String accessToken = tokenProvider.getAccessToken();
-
-            ai.armada.client.organization.dto.OrganizationApiResponse response = webClient.get()
-                    .uri(properties.getEndpoints().getOrganizations().getList())
-                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
-                    .retrieve()
-                    .bodyToMono(ai.armada.client.organization.dto.OrganizationApiResponse.class)
-                    .doOnSuccess(r -> log.info("Received organization response - status: {}", r.status()))
-                    .doOnError(e -> log.error("Failed to fetch organizations", e))
-                    .block();
+    public Mono<List<ExternalOrganizationDto>> fetchOrganizationsReactive() {
+        log.debug("Fetching organizations (reactive) from external API");
+        return organizations(tokenProvider.getAccessTokenReactive());
+    }
 
-            if (response == null) {
-                log.warn("Received null response when fetching organizations");
-                return List.of();
-            }
+    /**
+     * Emits the organizations visible to the configured credentials one by one
+     */
+    public Flux<ExternalOrganizationDto> streamOrganizations() {
+        return fetchOrganizationsReactive().flatMapIterable(organizations -> organizations);
+    }
 
-            if (!response.isSuccess()) {
-                throw new OrganizationApiException(
-                        "ORG_FETCH_ERROR",
-                        "API returned error status: " + response.status()
-                );
-            }
+    /**
+     * Resolves the access token right away, on the calling thread, as the other clients do: a due refresh
+     * blocks, and the token Mono may be subscribed later on a Reactor thread that must not block.
+     */
+    private Mono<String> blockingAccessToken() {
+        try {
+            return Mono.just(tokenProvider.getAccessToken());
+        } catch (RuntimeException e) {
+            return Mono.error(e);
+        }
+    }
 
-            if (response.data() == null) {
-                log.info("No organization data in response");
-                return List.of();
-            }
+    private Mono<List<ExternalOrganizationDto>> organizations(Mono<String> accessToken) {
+        return accessToken
+                .flatMap(token -> singleFlight.execute(
+                        SingleFlight.key(properties.getEndpoints().getOrganizations().getList(),
+                                OrganizationApiResponse.class, token),
+                        webClient.get()
+                                .uri(properties.getEndpoints().getOrganizations().getList())
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                                .retrieve()
+                                .bodyToMono(OrganizationApiResponse.class)))
+                .<List<ExternalOrganizationDto>>handle((response, sink) -> {
+                    log.info("Received organization response - status: {}", response.status());
+                    if (!response.isSuccess()) {
+                        sink.error(new OrganizationApiException(
+                                "ORG_FETCH_ERROR",
+                                "API returned error status: " + response.status()
+                        ));
+                    } else if (response.data() != null) {
+                        // The API returns a single organization, wrap it in a list
+                        log.info("Successfully fetched organization: {}", response.data().getName());
+                        sink.next(List.of(response.data()));
+                    }
+                })
+                .defaultIfEmpty(List.of())
+                .onErrorMap(this::toApiException);
+    }
 
-            // The API returns a single organization, wrap it in a list
-            log.info("Successfully fetched organization: {}", response.data().getName());
-            return List.of(response.data());
+    /**
+     * Waits for the call on the current thread, carrying over the request deadline and priority bound to it
+     */
+    private static <T> T block(Mono<T> call) {
+        return call.contextWrite(Deadline::propagate)
+                .contextWrite(Priority::propagate)
+                .block();
+    }
 
-        } catch (ai.armada.client.common.security.AuthenticationException e) {
-            // Re-throw authentication exceptions to be handled by AuthenticationException handler
-            throw e;
-        } catch (WebClientResponseException e) {
+    private Throwable toApiException(Throwable e) {
+        if (e instanceof AuthenticationException
+                || e instanceof DeadlineExceededException
+                || e instanceof UpstreamRejectedException) {
+            // Propagate authentication, deadline and local rejection exceptions to be handled by their own handlers
+            return e;
+        }
+        if (e.getCause() instanceof DeadlineExceededException deadlineExceeded) {
+            // WebClient wraps failures while reading the body, but the deadline is still the reason
+            return deadlineExceeded;
+        }
+        if (e instanceof WebClientResponseException webClientException) {
             log.error("HTTP error fetching organizations: {} - {}",
-                    e.getStatusCode(), e.getResponseBodyAsString());
-            throw new OrganizationApiException(
+                    webClientException.getStatusCode(), webClientException.getResponseBodyAsString());
+            return new OrganizationApiException(
                     "ORG_FETCH_ERROR",
-                    "Failed to fetch organizations: " + e.getStatusText(),
-                    e
-            );
-        } catch (Exception e) {
-            log.error("Unexpected error fetching organizations", e);
-            throw new OrganizationApiException(
-                    "ORG_FETCH_ERROR",
-                    "Failed to fetch organizations: " + e.getMessage(),
+                    "Failed to fetch organizations: " + webClientException.getStatusText(),
                     e
             );
         }
+        log.error("Unexpected error fetching organizations", e);
+        return new OrganizationApiException(
+                "ORG_FETCH_ERROR",
+                "Failed to fetch organizations: " + e.getMessage(),
+                e
+        );
     }
-
-}
\ No newline at end of file
+}
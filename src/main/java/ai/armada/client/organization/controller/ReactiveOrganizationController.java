@@ -0,0 +1,37 @@
+package ai.armada.client.organization.controller;
+
+import ai.armada.client.organization.dto.OrganizationDto;
+import ai.armada.client.organization.service.OrganizationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link OrganizationController}, active when the application
+ * runs on the reactive (Reactor Netty) stack.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/orgs")
+@Slf4j
+public class ReactiveOrganizationController {
+
+    private final OrganizationService service;
+
+    public ReactiveOrganizationController(OrganizationService service) {
+        this.service = service;
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<List<OrganizationDto>>> getOrganizations() {
+        log.info("Received request to get organizations");
+        return service.getOrganizationsReactive()
+                .map(ResponseEntity::ok);
+    }
+}
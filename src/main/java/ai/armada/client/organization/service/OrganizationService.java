@@ -5,6 +5,7 @@ import ai.armada.client.organization.dto.OrganizationDto;
 import ai.armada.client.organization.mapper.OrganizationMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
@@ -30,4 +31,13 @@ public class OrganizationService {
         log.info("Retrieved {} organizations", organizations.size());
         return organizations;
     }
-}
\ No newline at end of file
+
+    public Mono<List<OrganizationDto>> getOrganizationsReactive() {
+        log.info("Retrieving organizations (reactive)");
+
+        return apiClient.fetchOrganizationsReactive()
+                .map(external -> external.stream()
+                        .map(mapper::toDto)
+                        .toList());
+    }
+}
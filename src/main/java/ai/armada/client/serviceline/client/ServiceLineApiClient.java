@@ -1,20 +1,46 @@
 package ai.armada.client.serviceline.client;
 
+import ai.armada.client.common.ArmadaApiResponse;
+import ai.armada.client.common.http.CycleWindowCache;
+import ai.armada.client.common.http.Deadline;
+import ai.armada.client.common.http.DeadlineExceededException;
+import ai.armada.client.common.http.BulkheadFilter;
+import ai.armada.client.common.http.Hedger;
+import ai.armada.client.common.http.Priority;
+import ai.armada.client.common.http.RequestCollapser;
+import ai.armada.client.common.http.ResponseIndex;
+import ai.armada.client.common.http.SingleFlight;
+import ai.armada.client.common.http.UpstreamRejectedException;
+import ai.armada.client.common.security.AuthenticationException;
 import ai.armada.client.common.security.TokenProvider;
 import ai.armada.client.config.ArmadaApiProperties;
+import ai.armada.client.datapool.dto.BillingCycleUsageDto;
 import ai.armada.client.serviceline.dto.*;
 import ai.armada.client.serviceline.exception.ServiceLineApiException;
+import ai.armada.client.serviceline.service.ServiceLineBatchPlanner;
+import ai.armada.client.serviceline.service.ServiceLineBatchPlanner.Resource;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
-
 import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.Map;
-
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Client for the Armada service line endpoints.
+ * Every endpoint is available as a blocking method and as a non-blocking {@code *Reactive}
+ * variant; both run the same request pipeline and differ only in how the access token is obtained.
+ * Calls that reach the upstream report their latency to {@link ServiceLineBatchPlanner}; answers served
+ * from an index, a cycle window or another caller's collapsed call are not samples of upstream cost.
+ */
 @Component
 @Slf4j
 public class ServiceLineApiClient {
@@ -22,361 +48,395 @@ public class ServiceLineApiClient {
     private final WebClient webClient;
     private final TokenProvider tokenProvider;
     private final ArmadaApiProperties properties;
+    private final SingleFlight singleFlight;
+    private final Hedger hedger;
+    private final ServiceLineBatchPlanner planner;
+    private final RequestCollapser<String, ServiceLineUsageDto> usageCollapser;
+    private final ResponseIndex<ServiceLineSettingsDto> settingsIndex;
+    private final CycleWindowCache<ServiceLineUsageDto> usageCycles;
+    private final CycleWindowCache<ServiceLinesUsageDto> allUsageCycles;
 
     public ServiceLineApiClient(
-            WebClient webClient,
+            @Qualifier("serviceLineWebClient") WebClient webClient,
             TokenProvider tokenProvider,
-            ArmadaApiProperties properties) {
+            ArmadaApiProperties properties,
+            SingleFlight singleFlight,
+            ServiceLineBatchPlanner planner,
+            @Qualifier("serviceLineBulkhead") BulkheadFilter bulkheadFilter) {
         this.webClient = webClient;
         this.tokenProvider = tokenProvider;
         this.properties = properties;
+        this.singleFlight = singleFlight;
+        this.planner = planner;
+        this.hedger = new Hedger("service line", properties.getHedging(), bulkheadFilter.getBulkhead());
+        ArmadaApiProperties.Collapsing collapsing = properties.getCollapsing();
+        this.usageCollapser = new RequestCollapser<>("service line usage",
+                collapsing.isEnabled(), collapsing.getWindow(), collapsing.getMinBatchSize());
+        ArmadaApiProperties.Index settings = properties.getIndexes().getServiceLineSettings();
+        this.settingsIndex = new ResponseIndex<>("service line settings", settings.isEnabled(),
+                settings.getMaxAge(), settings.getMissRefreshInterval(), ServiceLineSettingsDto::serviceLineId);
+        ArmadaApiProperties.CycleReuse cycleReuse = properties.getCycleReuse();
+        this.usageCycles = new CycleWindowCache<>("service line usage", cycleReuse.isEnabled(),
+                cycleReuse.getMaxAge(), cycleReuse.getMinFetchedCycles(), ServiceLineApiClient::latestCycles);
+        this.allUsageCycles = new CycleWindowCache<>("service lines usage", cycleReuse.isEnabled(),
+                cycleReuse.getMaxAge(), cycleReuse.getMinFetchedCycles(), ServiceLineApiClient::latestCycles);
     }
 
     public List<ExternalServiceLineDto> fetchServiceLines(String orgId, String dataPoolId) {
         log.debug("Fetching service lines for data pool: {}", dataPoolId);
+        return block(serviceLines(orgId, dataPoolId, blockingAccessToken()));
+    }
 
-        try {
-            String accessToken = tokenProvider.getAccessToken();
-            String uri = UriComponentsBuilder.fromUriString(
-                    properties.getEndpoints().getOrganizations().getServiceLines())
-                    .buildAndExpand(Map.of("orgId", orgId, "dataPoolId", dataPoolId))
-                    .encode()
-                    .toUriString();
-
-            ServiceLineApiResponse response = webClient.get()
-                    .uri(uri)
-                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
-                    .retrieve()
-                    .bodyToMono(ServiceLineApiResponse.class)
-                    .doOnSuccess(r -> log.info("Received service line response - status: {}", r.status()))
-                    .doOnError(e -> log.error("Failed to fetch service lines", e))
-                    .block();
-
-            if (response == null) {
-                log.warn("Received null response when fetching service lines");
-                return List.of();
-            }
-
-            if (!response.isSuccess()) {
-                throw new ServiceLineApiException(
-                        "SERVICELINE_FETCH_ERROR",
-                        "API returned error status: " + response.status()
-                );
-            }
-
-            if (response.data() == null) {
-                log.info("No service line data in response");
-                return List.of();
-            }
-
-            log.info("Successfully fetched {} service lines", response.data().size());
-            return response.data();
-
-        } catch (ai.armada.client.common.security.AuthenticationException e) {
-            // Re-throw authentication exceptions to be handled by AuthenticationException handler
-            throw e;
-        } catch (WebClientResponseException e) {
-            log.error("HTTP error fetching service lines: {} - {}",
-                    e.getStatusCode(), e.getResponseBodyAsString());
-            throw new ServiceLineApiException(
-                    "SERVICELINE_FETCH_ERROR",
-                    "Failed to fetch service lines: " + e.getStatusText(),
-                    e
-            );
-        } catch (Exception e) {
-            log.error("Unexpected error fetching service lines", e);
-            throw new ServiceLineApiException(
-                    "SERVICELINE_FETCH_ERROR",
-                    "Failed to fetch service lines: " + e.getMessage(),
-                    e
-            );
-        }
+    public Mono<List<ExternalServiceLineDto>> fetchServiceLinesReactive(String orgId, String dataPoolId) {
+        log.debug("Fetching service lines (reactive) for data pool: {}", dataPoolId);
+        return serviceLines(orgId, dataPoolId, tokenProvider.getAccessTokenReactive());
+    }
+
+    /**
+     * Emits the service lines of a data pool one by one
+     */
+    public Flux<ExternalServiceLineDto> streamServiceLines(String orgId, String dataPoolId) {
+        return fetchServiceLinesReactive(orgId, dataPoolId).flatMapIterable(serviceLines -> serviceLines);
     }
 
     public ExternalServiceLineDto fetchServiceLineById(String orgId, String dataPoolId, String serviceLineId) {
         log.debug("Fetching service line: {} for data pool: {}", serviceLineId, dataPoolId);
+        return block(serviceLineById(orgId, dataPoolId, serviceLineId, blockingAccessToken()));
+    }
 
-        try {
-            String accessToken = tokenProvider.getAccessToken();
-            String uri = UriComponentsBuilder.fromUriString(
-                    properties.getEndpoints().getOrganizations().getServiceLineById())
-                    .buildAndExpand(Map.of("orgId", orgId, "dataPoolId", dataPoolId, "serviceLineId", serviceLineId))
-                    .encode()
-                    .toUriString();
-
-            ServiceLineSingleApiResponse response = webClient.get()
-                    .uri(uri)
-                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
-                    .retrieve()
-                    .bodyToMono(ServiceLineSingleApiResponse.class)
-                    .doOnSuccess(r -> log.info("Received service line response - status: {}", r.status()))
-                    .doOnError(e -> log.error("Failed to fetch service line", e))
-                    .block();
-
-            if (response == null) {
-                log.warn("Received null response when fetching service line");
-                return null;
-            }
-
-            if (!response.isSuccess()) {
-                throw new ServiceLineApiException(
-                        "SERVICELINE_FETCH_ERROR",
-                        "API returned error status: " + response.status()
-                );
-            }
-
-            log.info("Successfully fetched service line: {}", serviceLineId);
-            return response.data();
-
-        } catch (ai.armada.client.common.security.AuthenticationException e) {
-            // Re-throw authentication exceptions to be handled by AuthenticationException handler
-            throw e;
-        } catch (WebClientResponseException e) {
-            log.error("HTTP error fetching service line: {} - {}",
-                    e.getStatusCode(), e.getResponseBodyAsString());
-            throw new ServiceLineApiException(
-                    "SERVICELINE_FETCH_ERROR",
-                    "Failed to fetch service line: " + e.getStatusText(),
-                    e
-            );
-        } catch (Exception e) {
-            log.error("Unexpected error fetching service line", e);
-            throw new ServiceLineApiException(
-                    "SERVICELINE_FETCH_ERROR",
-                    "Failed to fetch service line: " + e.getMessage(),
-                    e
-            );
-        }
+    public Mono<ExternalServiceLineDto> fetchServiceLineByIdReactive(String orgId, String dataPoolId, String serviceLineId) {
+        log.debug("Fetching service line (reactive): {} for data pool: {}", serviceLineId, dataPoolId);
+        return serviceLineById(orgId, dataPoolId, serviceLineId, tokenProvider.getAccessTokenReactive());
     }
 
     public ServiceLineUsageDto fetchServiceLineUsage(String orgId, String dataPoolId, String serviceLineId, Integer billingCycles) {
         log.debug("Fetching usage for service line: {}", serviceLineId);
+        return block(serviceLineUsage(orgId, dataPoolId, serviceLineId, billingCycles, blockingAccessToken()));
+    }
 
-        try {
-            String accessToken = tokenProvider.getAccessToken();
-            String uri = UriComponentsBuilder.fromUriString(
-                    properties.getEndpoints().getOrganizations().getServiceLineUsage())
-                    .queryParam("billingCycles", billingCycles)
-                    .buildAndExpand(Map.of("orgId", orgId, "dataPoolId", dataPoolId, "serviceLineId", serviceLineId))
-                    .encode()
-                    .toUriString();
-
-            ServiceLineSingleUsageApiResponse response = webClient.get()
-                    .uri(uri)
-                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
-                    .retrieve()
-                    .bodyToMono(ServiceLineSingleUsageApiResponse.class)
-                    .doOnSuccess(r -> log.info("Received service line usage response - status: {}", r.status()))
-                    .doOnError(e -> log.error("Failed to fetch service line usage", e))
-                    .block();
-
-            if (response == null) {
-                log.warn("Received null response when fetching service line usage");
-                return null;
-            }
-
-            if (!response.isSuccess()) {
-                throw new ServiceLineApiException(
-                        "SERVICELINE_USAGE_ERROR",
-                        "API returned error status: " + response.status()
-                );
-            }
-
-            log.info("Successfully fetched usage for service line: {}", serviceLineId);
-            return response.data();
-
-        } catch (ai.armada.client.common.security.AuthenticationException e) {
-            // Re-throw authentication exceptions to be handled by AuthenticationException handler
-            throw e;
-        } catch (WebClientResponseException e) {
-            log.error("HTTP error fetching service line usage: {} - {}",
-                    e.getStatusCode(), e.getResponseBodyAsString());
-            throw new ServiceLineApiException(
-                    "SERVICELINE_USAGE_ERROR",
-                    "Failed to fetch service line usage: " + e.getStatusText(),
-                    e
-            );
-        } catch (Exception e) {
-            log.error("Unexpected error fetching service line usage", e);
-            throw new ServiceLineApiException(
-                    "SERVICELINE_USAGE_ERROR",
-                    "Failed to fetch service line usage: " + e.getMessage(),
-                    e
-            );
-        }
+    public Mono<ServiceLineUsageDto> fetchServiceLineUsageReactive(String orgId, String dataPoolId, String serviceLineId, Integer billingCycles) {
+        log.debug("Fetching usage (reactive) for service line: {}", serviceLineId);
+        return serviceLineUsage(orgId, dataPoolId, serviceLineId, billingCycles, tokenProvider.getAccessTokenReactive());
+    }
+
+    /**
+     * Usage of one service line from its own per-line call, never collapsed into an all-service-lines call.
+     * For callers that have already chosen per-line fetching.
+     */
+    public Mono<ServiceLineUsageDto> fetchServiceLineUsagePerLineReactive(String orgId, String dataPoolId,
+                                                                         String serviceLineId, Integer billingCycles) {
+        log.debug("Fetching usage (reactive, per line) for service line: {}", serviceLineId);
+        return usageCycles.fetch(List.of(orgId, dataPoolId, serviceLineId), billingCycles, cycles ->
+                singleServiceLineUsage(orgId, dataPoolId, serviceLineId, cycles, tokenProvider.getAccessTokenReactive()));
     }
 
     public ServiceLinesUsageDto fetchAllServiceLinesUsage(String orgId, String dataPoolId, Integer billingCycles) {
         log.debug("Fetching usage for all service lines in data pool: {}", dataPoolId);
+        return block(allServiceLinesUsage(orgId, dataPoolId, billingCycles, blockingAccessToken()));
+    }
 
-        try {
-            String accessToken = tokenProvider.getAccessToken();
-            String uri = UriComponentsBuilder.fromUriString(
-                    properties.getEndpoints().getOrganizations().getAllServiceLinesUsage())
-                    .queryParam("billingCycles", billingCycles)
-                    .buildAndExpand(Map.of("orgId", orgId, "dataPoolId", dataPoolId))
-                    .encode()
-                    .toUriString();
-
-            ServiceLinesUsageApiResponse response = webClient.get()
-                    .uri(uri)
-                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
-                    .retrieve()
-                    .bodyToMono(ServiceLinesUsageApiResponse.class)
-                    .doOnSuccess(r -> log.info("Received service lines usage response - status: {}", r.status()))
-                    .doOnError(e -> log.error("Failed to fetch service lines usage", e))
-                    .block();
-
-            if (response == null) {
-                log.warn("Received null response when fetching service lines usage");
-                return null;
-            }
-
-            if (!response.isSuccess()) {
-                throw new ServiceLineApiException(
-                        "SERVICELINE_USAGE_ERROR",
-                        "API returned error status: " + response.status()
-                );
-            }
-
-            log.info("Successfully fetched usage for all service lines");
-            return response.data();
-
-        } catch (ai.armada.client.common.security.AuthenticationException e) {
-            // Re-throw authentication exceptions to be handled by AuthenticationException handler
-            throw e;
-        } catch (WebClientResponseException e) {
-            log.error("HTTP error fetching all service lines usage: {} - {}",
-                    e.getStatusCode(), e.getResponseBodyAsString());
-            throw new ServiceLineApiException(
-                    "SERVICELINE_USAGE_ERROR",
-                    "Failed to fetch service lines usage: " + e.getStatusText(),
-                    e
-            );
-        } catch (Exception e) {
-            log.error("Unexpected error fetching service lines usage", e);
-            throw new ServiceLineApiException(
-                    "SERVICELINE_USAGE_ERROR",
-                    "Failed to fetch service lines usage: " + e.getMessage(),
-                    e
-            );
-        }
+    public Mono<ServiceLinesUsageDto> fetchAllServiceLinesUsageReactive(String orgId, String dataPoolId, Integer billingCycles) {
+        log.debug("Fetching usage (reactive) for all service lines in data pool: {}", dataPoolId);
+        return allServiceLinesUsage(orgId, dataPoolId, billingCycles, tokenProvider.getAccessTokenReactive());
     }
 
     public ServiceLineSettingsDto fetchServiceLineSettings(String orgId, String dataPoolId, String serviceLineId) {
         log.debug("Fetching settings for service line: {}", serviceLineId);
+        return block(serviceLineSettings(orgId, dataPoolId, serviceLineId, blockingAccessToken()));
+    }
 
-        try {
-            String accessToken = tokenProvider.getAccessToken();
-            String uri = properties.getEndpoints().getOrganizations().getServiceLineSettings()
-                    .replace("{orgId}", orgId)
-                    .replace("{dataPoolId}", dataPoolId)
-                    .replace("{serviceLineId}", serviceLineId);
-
-            ServiceLineSettingsApiResponse response = webClient.get()
-                    .uri(uri)
-                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
-                    .retrieve()
-                    .bodyToMono(ServiceLineSettingsApiResponse.class)
-                    .doOnSuccess(r -> log.info("Received service line settings response - status: {}", r.status()))
-                    .doOnError(e -> log.error("Failed to fetch service line settings", e))
-                    .block();
-
-            if (response == null) {
-                log.warn("Received null response when fetching service line settings");
-                return null;
-            }
-
-            if (!response.isSuccess()) {
-                throw new ServiceLineApiException(
-                        "SERVICELINE_SETTINGS_ERROR",
-                        "API returned error status: " + response.status()
-                );
-            }
-
-            log.info("Successfully fetched settings for service line: {}", serviceLineId);
-            return response.data();
-
-        } catch (ai.armada.client.common.security.AuthenticationException e) {
-            // Re-throw authentication exceptions to be handled by AuthenticationException handler
-            throw e;
-        } catch (WebClientResponseException e) {
-            log.error("HTTP error fetching service line settings: {} - {}",
-                    e.getStatusCode(), e.getResponseBodyAsString());
-            throw new ServiceLineApiException(
-                    "SERVICELINE_SETTINGS_ERROR",
-                    "Failed to fetch service line settings: " + e.getStatusText(),
-                    e
-            );
-        } catch (Exception e) {
-            log.error("Unexpected error fetching service line settings", e);
-            throw new ServiceLineApiException(
-                    "SERVICELINE_SETTINGS_ERROR",
-                    "Failed to fetch service line settings: " + e.getMessage(),
-                    e
-            );
-        }
+    public Mono<ServiceLineSettingsDto> fetchServiceLineSettingsReactive(String orgId, String dataPoolId, String serviceLineId) {
+        log.debug("Fetching settings (reactive) for service line: {}", serviceLineId);
+        return serviceLineSettings(orgId, dataPoolId, serviceLineId, tokenProvider.getAccessTokenReactive());
+    }
+
+    /**
+     * Settings of one service line from the settings index if there, otherwise from its own per-line call.
+     * A miss never refreshes the all-service-lines settings. For callers that have already chosen per-line
+     * fetching.
+     */
+    public Mono<ServiceLineSettingsDto> fetchServiceLineSettingsPerLineReactive(String orgId, String dataPoolId,
+                                                                               String serviceLineId) {
+        log.debug("Fetching settings (reactive, per line) for service line: {}", serviceLineId);
+        return Mono.fromSupplier(() -> settingsIndex.get(List.of(orgId, dataPoolId), serviceLineId))
+                .switchIfEmpty(Mono.defer(() -> singleServiceLineSettings(orgId, dataPoolId, serviceLineId,
+                        tokenProvider.getAccessTokenReactive())));
     }
 
     public List<ServiceLineSettingsDto> fetchAllServiceLinesSettings(String orgId, String dataPoolId) {
         log.debug("Fetching settings for all service lines in data pool: {}", dataPoolId);
+        return block(allServiceLinesSettings(orgId, dataPoolId, blockingAccessToken()));
+    }
+
+    public Mono<List<ServiceLineSettingsDto>> fetchAllServiceLinesSettingsReactive(String orgId, String dataPoolId) {
+        log.debug("Fetching settings (reactive) for all service lines in data pool: {}", dataPoolId);
+        return allServiceLinesSettings(orgId, dataPoolId, tokenProvider.getAccessTokenReactive());
+    }
+
+    /**
+     * Emits the settings of every service line in a data pool one by one
+     */
+    public Flux<ServiceLineSettingsDto> streamAllServiceLinesSettings(String orgId, String dataPoolId) {
+        return fetchAllServiceLinesSettingsReactive(orgId, dataPoolId).flatMapIterable(settings -> settings);
+    }
+
+    private Mono<List<ExternalServiceLineDto>> serviceLines(String orgId, String dataPoolId, Mono<String> accessToken) {
+        return retrieve(serviceLinesUri(orgId, dataPoolId), ServiceLineApiResponse.class, accessToken,
+                        "SERVICELINE_FETCH_ERROR", "service lines",
+                        bulk(Resource.SERVICE_LINES, orgId, dataPoolId, List::size))
+                .defaultIfEmpty(List.of())
+                .doOnNext(data -> log.info("Successfully fetched {} service lines", data.size()));
+    }
 
+    private Mono<ExternalServiceLineDto> serviceLineById(String orgId, String dataPoolId, String serviceLineId,
+                                                         Mono<String> accessToken) {
+        return retrieve(serviceLineByIdUri(orgId, dataPoolId, serviceLineId), ServiceLineSingleApiResponse.class,
+                        accessToken, "SERVICELINE_FETCH_ERROR", "service line", perLine(Resource.SERVICE_LINES))
+                .doOnNext(data -> log.info("Successfully fetched service line: {}", serviceLineId));
+    }
+
+    /**
+     * Usage requests for several service lines of the same data pool arriving together are answered
+     * from one all-service-lines usage call. Usage recently fetched with at least as many billing cycles
+     * is reused, keeping only the latest cycles.
+     */
+    private Mono<ServiceLineUsageDto> serviceLineUsage(String orgId, String dataPoolId, String serviceLineId,
+                                                       Integer billingCycles, Mono<String> accessToken) {
+        return usageCycles.fetch(List.of(orgId, dataPoolId, serviceLineId), billingCycles, cycles ->
+                usageCollapser.collapse(
+                        List.of(orgId, dataPoolId, String.valueOf(cycles)),
+                        serviceLineId,
+                        serviceLineIds -> allServiceLinesUsage(orgId, dataPoolId, cycles, accessToken)
+                                .map(ServiceLinesUsageDto::byServiceLine),
+                        singleServiceLineUsage(orgId, dataPoolId, serviceLineId, cycles, accessToken)));
+    }
+
+    private Mono<ServiceLineUsageDto> singleServiceLineUsage(String orgId, String dataPoolId, String serviceLineId,
+                                                             Integer billingCycles, Mono<String> accessToken) {
+        return retrieve(serviceLineUsageUri(orgId, dataPoolId, serviceLineId, billingCycles),
+                        ServiceLineSingleUsageApiResponse.class, accessToken,
+                        "SERVICELINE_USAGE_ERROR", "service line usage", perLine(Resource.USAGE))
+                .doOnNext(data -> log.info("Successfully fetched usage for service line: {}", serviceLineId));
+    }
+
+    private Mono<ServiceLinesUsageDto> allServiceLinesUsage(String orgId, String dataPoolId, Integer billingCycles,
+                                                            Mono<String> accessToken) {
+        return allUsageCycles.fetch(List.of(orgId, dataPoolId), billingCycles, cycles ->
+                retrieve(allServiceLinesUsageUri(orgId, dataPoolId, cycles),
+                        ServiceLinesUsageApiResponse.class, accessToken,
+                        "SERVICELINE_USAGE_ERROR", "service lines usage",
+                        bulk(Resource.USAGE, orgId, dataPoolId,
+                                usage -> usage.serviceLines() == null ? 0 : usage.serviceLines().size()))
+                        .doOnNext(data -> log.info("Successfully fetched usage for all service lines")));
+    }
+
+    private static ServiceLineUsageDto latestCycles(ServiceLineUsageDto usage, int billingCycles) {
+        return new ServiceLineUsageDto(
+                usage.serviceLineName(),
+                usage.serviceLineNumber(),
+                usage.status(),
+                usage.activationDate(),
+                usage.kitNumbers(),
+                BillingCycleUsageDto.latest(usage.billingCycles(), billingCycles));
+    }
+
+    private static ServiceLinesUsageDto latestCycles(ServiceLinesUsageDto usage, int billingCycles) {
+        if (usage.serviceLines() == null) {
+            return usage;
+        }
+        return new ServiceLinesUsageDto(usage.id(), usage.serviceLines().stream()
+                .map(line -> new ServiceLineListUsageDto(
+                        line.serviceLineId(),
+                        line.serviceLineName(),
+                        line.serviceLineNumber(),
+                        line.status(),
+                        line.activationDate(),
+                        line.kitNumbers(),
+                        BillingCycleUsageDto.latest(line.billingCycles(), billingCycles)))
+                .toList());
+    }
+
+    /**
+     * Settings of a single service line are answered from the data pool's all-service-lines settings,
+     * fetched at most once per index refresh
+     */
+    private Mono<ServiceLineSettingsDto> serviceLineSettings(String orgId, String dataPoolId, String serviceLineId,
+                                                             Mono<String> accessToken) {
+        return settingsIndex.lookup(List.of(orgId, dataPoolId), serviceLineId,
+                fetchAllServiceLinesSettings(orgId, dataPoolId, accessToken),
+                singleServiceLineSettings(orgId, dataPoolId, serviceLineId, accessToken));
+    }
+
+    private Mono<ServiceLineSettingsDto> singleServiceLineSettings(String orgId, String dataPoolId, String serviceLineId,
+                                                                   Mono<String> accessToken) {
+        return retrieve(serviceLineSettingsUri(orgId, dataPoolId, serviceLineId),
+                        ServiceLineSettingsApiResponse.class, accessToken,
+                        "SERVICELINE_SETTINGS_ERROR", "service line settings", perLine(Resource.SETTINGS))
+                .doOnNext(data -> log.info("Successfully fetched settings for service line: {}", serviceLineId));
+    }
+
+    private Mono<List<ServiceLineSettingsDto>> allServiceLinesSettings(String orgId, String dataPoolId,
+                                                                       Mono<String> accessToken) {
+        return fetchAllServiceLinesSettings(orgId, dataPoolId, accessToken)
+                .doOnNext(data -> settingsIndex.put(List.of(orgId, dataPoolId), data));
+    }
+
+    private Mono<List<ServiceLineSettingsDto>> fetchAllServiceLinesSettings(String orgId, String dataPoolId,
+                                                                            Mono<String> accessToken) {
+        return retrieve(allServiceLinesSettingsUri(orgId, dataPoolId),
+                        ServiceLineSettingsListApiResponse.class, accessToken,
+                        "SERVICELINE_SETTINGS_ERROR", "service lines settings",
+                        bulk(Resource.SETTINGS, orgId, dataPoolId, List::size))
+                .defaultIfEmpty(List.of())
+                .doOnNext(data -> log.info("Settings fetched for {} service lines", data.size()));
+    }
+
+    public Hedger getHedger() {
+        return hedger;
+    }
+
+    /**
+     * Resolves the access token right away, on the calling thread. A due refresh blocks, and the token
+     * Mono may be subscribed later on a Reactor thread that must not block: collapsed calls run after
+     * the collapse window and index refreshes inside a shared pipeline.
+     */
+    private Mono<String> blockingAccessToken() {
         try {
-            String accessToken = tokenProvider.getAccessToken();
-            String uri = UriComponentsBuilder.fromUriString(
-                    properties.getEndpoints().getOrganizations().getAllServiceLinesSettings())
-                    .buildAndExpand(Map.of("orgId", orgId, "dataPoolId", dataPoolId))
-                    .encode()
-                    .toUriString();
-
-            ServiceLineSettingsListApiResponse response = webClient.get()
-                    .uri(uri)
-                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
-                    .retrieve()
-                    .bodyToMono(ServiceLineSettingsListApiResponse.class)
-                    .doOnSuccess(r -> log.info("Received service lines settings response - status: {}", r.status()))
-                    .doOnError(e -> log.error("Failed to fetch service lines settings", e))
-                    .block();
-
-            if (response == null) {
-                log.warn("Received null response when fetching service lines settings");
-                return List.of();
-            }
-
-            if (!response.isSuccess()) {
-                throw new ServiceLineApiException(
-                        "SERVICELINE_SETTINGS_ERROR",
-                        "API returned error status: " + response.status()
-                );
-            }
-
-            if (response.data() == null) {
-                log.info("No service line settings data in response");
-                return List.of();
-            }
-
-            log.info("Successfully fetched settings for {} service lines", response.data().size());
-            return response.data();
-
-        } catch (ai.armada.client.common.security.AuthenticationException e) {
-            // Re-throw authentication exceptions to be handled by AuthenticationException handler
-            throw e;
-        } catch (WebClientResponseException e) {
-            log.error("HTTP error fetching service lines settings: {} - {}",
-                    e.getStatusCode(), e.getResponseBodyAsString());
-            throw new ServiceLineApiException(
-                    "SERVICELINE_SETTINGS_ERROR",
-                    "Failed to fetch service lines settings: " + e.getStatusText(),
-                    e
-            );
-        } catch (Exception e) {
-            log.error("Unexpected error fetching service lines settings", e);
-            throw new ServiceLineApiException(
-                    "SERVICELINE_SETTINGS_ERROR",
-                    "Failed to fetch service lines settings: " + e.getMessage(),
+            return Mono.just(tokenProvider.getAccessToken());
+        } catch (RuntimeException e) {
+            return Mono.error(e);
+        }
+    }
+
+    /**
+     * Waits for the call on the current thread, carrying over the request deadline and priority bound to it
+     */
+    private static <T> T block(Mono<T> call) {
+        return call.contextWrite(Deadline::propagate)
+                .contextWrite(Priority::propagate)
+                .block();
+    }
+
+    /**
+     * Measures a call for one service line
+     */
+    private <T> UnaryOperator<Mono<ArmadaApiResponse<T>>> perLine(Resource resource) {
+        return call -> planner.measurePerLine(resource, call);
+    }
+
+    /**
+     * Measures a call for all service lines of a data pool, which also tells the pool's size
+     */
+    private <T> UnaryOperator<Mono<ArmadaApiResponse<T>>> bulk(Resource resource, String orgId, String dataPoolId,
+                                                               ToIntFunction<T> serviceLines) {
+        return call -> planner.measureBulk(resource, orgId, dataPoolId, call,
+                response -> response.data() == null ? 0 : serviceLines.applyAsInt(response.data()));
+    }
+
+    /**
+     * Performs an authenticated GET and unwraps the response envelope. Slow GETs may be hedged.
+     * The upstream exchange is measured once, however many callers share it. Completes empty when
+     * the API returns no data.
+     */
+    private <T> Mono<T> retrieve(String uri, Class<? extends ArmadaApiResponse<T>> responseType,
+                                 Mono<String> accessToken, String errorCode, String resource,
+                                 UnaryOperator<Mono<ArmadaApiResponse<T>>> measure) {
+        return accessToken
+                .<ArmadaApiResponse<T>>flatMap(token -> singleFlight.execute(
+                        SingleFlight.key(uri, responseType, token),
+                        measure.apply(Mono.from(hedger.hedge(resource, webClient.get()
+                                .uri(uri)
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                                .retrieve()
+                                .bodyToMono(responseType))))))
+                .<T>handle((response, sink) -> {
+                    log.info("Received {} response - status: {}", resource, response.status());
+                    if (!response.isSuccess()) {
+                        sink.error(new ServiceLineApiException(
+                                errorCode,
+                                "API returned error status: " + response.status()
+                        ));
+                    } else if (response.data() != null) {
+                        sink.next(response.data());
+                    }
+                })
+                .onErrorMap(e -> toApiException(e, errorCode, resource));
+    }
+
+    private Throwable toApiException(Throwable e, String errorCode, String resource) {
+        if (e instanceof AuthenticationException
+                || e instanceof DeadlineExceededException
+                || e instanceof UpstreamRejectedException) {
+            // Propagate authentication, deadline and local rejection exceptions to be handled by their own handlers
+            return e;
+        }
+        if (e.getCause() instanceof DeadlineExceededException deadlineExceeded) {
+            // WebClient wraps failures while reading the body, but the deadline is still the reason
+            return deadlineExceeded;
+        }
+        if (e instanceof WebClientResponseException webClientException) {
+            log.error("HTTP error fetching {}: {} - {}",
+                    resource, webClientException.getStatusCode(), webClientException.getResponseBodyAsString());
+            return new ServiceLineApiException(
+                    errorCode,
+                    "Failed to fetch " + resource + ": " + webClientException.getStatusText(),
                     e
             );
         }
+        log.error("Unexpected error fetching {}", resource, e);
+        return new ServiceLineApiException(
+                errorCode,
+                "Failed to fetch " + resource + ": " + e.getMessage(),
+                e
+        );
+    }
+
+    private String serviceLinesUri(String orgId, String dataPoolId) {
+        return UriComponentsBuilder.fromUriString(
+                properties.getEndpoints().getOrganizations().getServiceLines())
+                .buildAndExpand(Map.of("orgId", orgId, "dataPoolId", dataPoolId))
+                .encode()
+                .toUriString();
+    }
+
+    private String serviceLineByIdUri(String orgId, String dataPoolId, String serviceLineId) {
+        return UriComponentsBuilder.fromUriString(
+                properties.getEndpoints().getOrganizations().getServiceLineById())
+                .buildAndExpand(Map.of("orgId", orgId, "dataPoolId", dataPoolId, "serviceLineId", serviceLineId))
+                .encode()
+                .toUriString();
+    }
+
+    private String serviceLineUsageUri(String orgId, String dataPoolId, String serviceLineId, Integer billingCycles) {
+        return UriComponentsBuilder.fromUriString(
+                properties.getEndpoints().getOrganizations().getServiceLineUsage())
+                .queryParam("billingCycles", billingCycles)
+                .buildAndExpand(Map.of("orgId", orgId, "dataPoolId", dataPoolId, "serviceLineId", serviceLineId))
+                .encode()
+                .toUriString();
+    }
+
+    private String allServiceLinesUsageUri(String orgId, String dataPoolId, Integer billingCycles) {
+        return UriComponentsBuilder.fromUriString(
+                properties.getEndpoints().getOrganizations().getAllServiceLinesUsage())
+                .queryParam("billingCycles", billingCycles)
+                .buildAndExpand(Map.of("orgId", orgId, "dataPoolId", dataPoolId))
+                .encode()
+                .toUriString();
     }
 
-}
\ No newline at end of file
+    private String serviceLineSettingsUri(String orgId, String dataPoolId, String serviceLineId) {
+        return properties.getEndpoints().getOrganizations().getServiceLineSettings()
+                .replace("{orgId}", orgId)
+                .replace("{dataPoolId}", dataPoolId)
+                .replace("{serviceLineId}", serviceLineId);
+    }
+
+    private String allServiceLinesSettingsUri(String orgId, String dataPoolId) {
+        return UriComponentsBuilder.fromUriString(
+                properties.getEndpoints().getOrganizations().getAllServiceLinesSettings())
+                .buildAndExpand(Map.of("orgId", orgId, "dataPoolId", dataPoolId))
+                .encode()
+                .toUriString();
+    }
+}
@@ -0,0 +1,143 @@
+package ai.armada.client.serviceline.controller;
+
+import ai.armada.client.common.BatchItem;
+import ai.armada.client.serviceline.dto.*;
+import ai.armada.client.serviceline.service.ServiceLineService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link ServiceLineController}, active when the application
+ * runs on the reactive (Reactor Netty) stack.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/organizations/{orgId}/data-pools/{dataPoolId}/service-lines")
+@Slf4j
+public class ReactiveServiceLineController {
+
+    private final ServiceLineService service;
+
+    public ReactiveServiceLineController(ServiceLineService service) {
+        this.service = service;
+    }
+
+    /**
+     * Get all service lines for a data pool
+     * GET /api/organizations/{orgId}/data-pools/{dataPoolId}/service-lines
+     */
+    @GetMapping
+    public Mono<ResponseEntity<List<ServiceLineDto>>> getServiceLines(
+            @PathVariable String orgId,
+            @PathVariable String dataPoolId) {
+        log.info("Received request to get service lines for data pool: {}", dataPoolId);
+        return service.getServiceLinesReactive(orgId, dataPoolId)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Get several service lines by ID, one item per ID in request order
+     * GET /api/organizations/{orgId}/data-pools/{dataPoolId}/service-lines?ids=a,b,c
+     */
+    @GetMapping(params = "ids")
+    public Mono<ResponseEntity<List<BatchItem<ServiceLineDto>>>> getServiceLinesByIds(
+            @PathVariable String orgId,
+            @PathVariable String dataPoolId,
+            @RequestParam List<String> ids) {
+        log.info("Received request to get {} service lines for data pool: {}", ids.size(), dataPoolId);
+        return service.getServiceLinesByIdsReactive(orgId, dataPoolId, ids)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Get a specific service line by ID
+     * GET /api/organizations/{orgId}/data-pools/{dataPoolId}/service-lines/{serviceLineId}
+     */
+    @GetMapping("/{serviceLineId}")
+    public Mono<ResponseEntity<ServiceLineDto>> getServiceLineById(
+            @PathVariable String orgId,
+            @PathVariable String dataPoolId,
+            @PathVariable String serviceLineId) {
+        log.info("Received request to get service line: {}", serviceLineId);
+        return service.getServiceLineByIdReactive(orgId, dataPoolId, serviceLineId)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Get data usage for a specific service line
+     * GET /api/organizations/{orgId}/data-pools/{dataPoolId}/service-lines/{serviceLineId}/data-usage?billingCycles=1
+     */
+    @GetMapping("/{serviceLineId}/data-usage")
+    public Mono<ResponseEntity<ServiceLineUsageDto>> getServiceLineUsage(
+            @PathVariable String orgId,
+            @PathVariable String dataPoolId,
+            @PathVariable String serviceLineId,
+            @RequestParam(defaultValue = "1") Integer billingCycles) {
+        log.info("Received request to get usage for service line: {} with {} billing cycles",
+                serviceLineId, billingCycles);
+        return service.getServiceLineUsageReactive(orgId, dataPoolId, serviceLineId, billingCycles)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Get data usage for all service lines in a data pool
+     * GET /api/organizations/{orgId}/data-pools/{dataPoolId}/service-lines/data-usage?billingCycles=1
+     */
+    @GetMapping("/data-usage")
+    public Mono<ResponseEntity<ServiceLinesUsageDto>> getAllServiceLinesUsage(
+            @PathVariable String orgId,
+            @PathVariable String dataPoolId,
+            @RequestParam(defaultValue = "1") Integer billingCycles) {
+        log.info("Received request to get usage for all service lines with {} billing cycles", billingCycles);
+        return service.getAllServiceLinesUsageReactive(orgId, dataPoolId, billingCycles)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Get data usage for several service lines, one item per ID in request order
+     * POST /api/organizations/{orgId}/data-pools/{dataPoolId}/service-lines/data-usage:batchGet
+     */
+    @PostMapping("/data-usage:batchGet")
+    public Mono<ResponseEntity<List<BatchItem<ServiceLineUsageDto>>>> batchGetServiceLinesUsage(
+            @PathVariable String orgId,
+            @PathVariable String dataPoolId,
+            @RequestBody ServiceLineUsageBatchRequest request) {
+        List<String> serviceLineIds = ServiceLineController.serviceLineIds(request);
+        log.info("Received request to get usage for {} service lines with {} billing cycles",
+                serviceLineIds.size(), request.billingCyclesOrDefault());
+        return service.getServiceLinesUsageReactive(orgId, dataPoolId, serviceLineIds, request.billingCyclesOrDefault())
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Get settings for a specific service line
+     * GET /api/organizations/{orgId}/data-pools/{dataPoolId}/service-lines/{serviceLineId}/settings
+     */
+    @GetMapping("/{serviceLineId}/settings")
+    public Mono<ResponseEntity<ServiceLineSettingsDto>> getServiceLineSettings(
+            @PathVariable String orgId,
+            @PathVariable String dataPoolId,
+            @PathVariable String serviceLineId) {
+        log.info("Received request to get settings for service line: {}", serviceLineId);
+        return service.getServiceLineSettingsReactive(orgId, dataPoolId, serviceLineId)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Get settings for all service lines in a data pool
+     * GET /api/organizations/{orgId}/data-pools/{dataPoolId}/service-lines/settings
+     */
+    @GetMapping("/settings")
+    public Mono<ResponseEntity<List<ServiceLineSettingsDto>>> getAllServiceLinesSettings(
+            @PathVariable String orgId,
+            @PathVariable String dataPoolId) {
+        log.info("Received request to get settings for all service lines in data pool: {}", dataPoolId);
+        return service.getAllServiceLinesSettingsReactive(orgId, dataPoolId)
+                .map(ResponseEntity::ok);
+    }
+}
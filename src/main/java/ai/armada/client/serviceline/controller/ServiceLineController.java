@@ -1,14 +1,18 @@
 package ai.armada.client.serviceline.controller;
 
+import ai.armada.client.common.BatchItem;
+import ai.armada.client.common.InvalidRequestException;
 import ai.armada.client.serviceline.dto.*;
 import ai.armada.client.serviceline.service.ServiceLineService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/organizations/{orgId}/data-pools/{dataPoolId}/service-lines")
 @Slf4j
 public class ServiceLineController {
@@ -32,6 +36,20 @@ public class ServiceLineController {
         return ResponseEntity.ok(serviceLines);
     }
 
+    /**
+     * Get several service lines by ID, one item per ID in request order
+     * GET /api/organizations/{orgId}/data-pools/{dataPoolId}/service-lines?ids=a,b,c
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<BatchItem<ServiceLineDto>>> getServiceLinesByIds(
+            @PathVariable String orgId,
+            @PathVariable String dataPoolId,
+            @RequestParam List<String> ids) {
+        log.info("Received request to get {} service lines for data pool: {}", ids.size(), dataPoolId);
+        List<BatchItem<ServiceLineDto>> serviceLines = service.getServiceLinesByIds(orgId, dataPoolId, ids);
+        return ResponseEntity.ok(serviceLines);
+    }
+
     /**
      * Get a specific service line by ID
      * GET /api/organizations/{orgId}/data-pools/{dataPoolId}/service-lines/{serviceLineId}
@@ -76,6 +94,23 @@ public class ServiceLineController {
         return ResponseEntity.ok(usage);
     }
 
+    /**
+     * Get data usage for several service lines, one item per ID in request order
+     * POST /api/organizations/{orgId}/data-pools/{dataPoolId}/service-lines/data-usage:batchGet
+     */
+    @PostMapping("/data-usage:batchGet")
+    public ResponseEntity<List<BatchItem<ServiceLineUsageDto>>> batchGetServiceLinesUsage(
+            @PathVariable String orgId,
+            @PathVariable String dataPoolId,
+            @RequestBody ServiceLineUsageBatchRequest request) {
+        List<String> serviceLineIds = serviceLineIds(request);
+        log.info("Received request to get usage for {} service lines with {} billing cycles",
+                serviceLineIds.size(), request.billingCyclesOrDefault());
+        List<BatchItem<ServiceLineUsageDto>> usage = service.getServiceLinesUsage(orgId, dataPoolId,
+                serviceLineIds, request.billingCyclesOrDefault());
+        return ResponseEntity.ok(usage);
+    }
+
     /**
      * Get settings for a specific service line
      * GET /api/organizations/{orgId}/data-pools/{dataPoolId}/service-lines/{serviceLineId}/settings
@@ -102,4 +137,14 @@ public class ServiceLineController {
         List<ServiceLineSettingsDto> settings = service.getAllServiceLinesSettings(orgId, dataPoolId);
         return ResponseEntity.ok(settings);
     }
-}
\ No newline at end of file
+
+    /**
+     * The IDs of a batch request body; shared with ReactiveServiceLineController
+     */
+    static List<String> serviceLineIds(ServiceLineUsageBatchRequest request) {
+        if (request.serviceLineIds() == null) {
+            throw new InvalidRequestException("serviceLineIds is required");
+        }
+        return request.serviceLineIds();
+    }
+}
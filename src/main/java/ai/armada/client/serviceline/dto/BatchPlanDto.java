@@ -0,0 +1,22 @@
+package ai.armada.client.serviceline.dto;
+
+/**
+ * How a request for several service lines is fetched, and the estimates the choice was based on
+ */
+public record BatchPlanDto(
+        String resource,
+        Strategy strategy,
+        int requestedServiceLines,
+        int poolSize,
+        boolean poolSizeObserved,
+        long perLineEstimateMs,
+        long bulkEstimateMs
+) {
+
+    public enum Strategy {
+        /** One upstream call per service line */
+        PER_LINE,
+        /** One upstream call for every service line of the data pool */
+        BULK
+    }
+}
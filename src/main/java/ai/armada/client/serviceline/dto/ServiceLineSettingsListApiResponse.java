@@ -1,5 +1,6 @@
 package ai.armada.client.serviceline.dto;
 
+import ai.armada.client.common.ArmadaApiResponse;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.util.List;
@@ -12,7 +13,7 @@ public record ServiceLineSettingsListApiResponse(
         String status,
         List<ServiceLineSettingsDto> data,
         ResponseMetadata metadata
-) {
+) implements ArmadaApiResponse<List<ServiceLineSettingsDto>> {
     /**
      * Response metadata record.
      */
@@ -21,11 +22,4 @@ public record ServiceLineSettingsListApiResponse(
             @JsonProperty("request_id") String requestId,
             @JsonProperty("api_version") String apiVersion
     ) {}
-
-    /**
-     * Check if the response indicates success.
-     */
-    public boolean isSuccess() {
-        return "success".equalsIgnoreCase(status);
-    }
 }
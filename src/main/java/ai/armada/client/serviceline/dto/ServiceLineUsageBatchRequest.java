@@ -0,0 +1,15 @@
+package ai.armada.client.serviceline.dto;
+
+import java.util.List;
+
+/**
+ * Body of a batch usage request; {@code billingCycles} defaults to 1
+ */
+public record ServiceLineUsageBatchRequest(
+        List<String> serviceLineIds,
+        Integer billingCycles
+) {
+    public int billingCyclesOrDefault() {
+        return billingCycles != null ? billingCycles : 1;
+    }
+}
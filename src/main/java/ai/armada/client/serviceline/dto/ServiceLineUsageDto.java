@@ -17,4 +17,18 @@ public record ServiceLineUsageDto(
         LocalDate activationDate,
         List<String> kitNumbers,
         List<BillingCycleUsageDto> billingCycles
-) {}
+) {
+
+    /**
+     * Usage of one service line taken from an all-service-lines usage response
+     */
+    public static ServiceLineUsageDto from(ServiceLineListUsageDto line) {
+        return new ServiceLineUsageDto(
+                line.serviceLineName(),
+                line.serviceLineNumber(),
+                line.status(),
+                line.activationDate(),
+                line.kitNumbers(),
+                line.billingCycles());
+    }
+}
@@ -1,6 +1,8 @@
 package ai.armada.client.serviceline.dto;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * All service lines usage response
@@ -8,4 +10,18 @@ import java.util.List;
 public record ServiceLinesUsageDto(
         String id,
         List<ServiceLineListUsageDto> serviceLines
-) {}
+) {
+
+    /**
+     * Usage of each service line in the response, keyed by service line ID
+     */
+    public Map<String, ServiceLineUsageDto> byServiceLine() {
+        Map<String, ServiceLineUsageDto> byServiceLine = new HashMap<>();
+        if (serviceLines != null) {
+            for (ServiceLineListUsageDto line : serviceLines) {
+                byServiceLine.put(line.serviceLineId(), ServiceLineUsageDto.from(line));
+            }
+        }
+        return byServiceLine;
+    }
+}
@@ -0,0 +1,121 @@
+package ai.armada.client.serviceline.service;
+
+import ai.armada.client.config.ArmadaApiProperties;
+import ai.armada.client.serviceline.dto.BatchPlanDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+
+/**
+ * Chooses between per-line calls and one all-service-lines call (or the service line list) when data for
+ * several service lines of a data pool is needed.
+ * <p>
+ * Both plans are priced in upstream time. Per-line calls cost the requested count times the moving
+ * average latency of a per-line call. The all-service-lines call costs the data pool's size times the
+ * moving average latency per line of earlier all-service-lines calls, since its payload grows with the
+ * pool. Pool sizes come from the data pool's reported {@code totalServiceLines} and from the service line
+ * lists and all-service-lines responses seen for each pool. Latencies are only sampled from calls that
+ * reach the upstream, not from answers served locally. Until calls have been observed, fixed priors are used.
+ */
+@Slf4j
+@Component
+public class ServiceLineBatchPlanner {
+
+    public enum Resource {
+        /** Service lines by ID, or the service line list */
+        SERVICE_LINES,
+        USAGE,
+        SETTINGS
+    }
+
+    private static final double SMOOTHING = 0.2;
+    private static final long PRIOR_PER_LINE_NANOS = Duration.ofMillis(100).toNanos();
+    private static final long PRIOR_BULK_PER_LINE_NANOS = Duration.ofMillis(10).toNanos();
+    private static final int PRIOR_POOL_SIZE = 50;
+
+    private final boolean enabled;
+    private final Map<Resource, Costs> costs = new EnumMap<>(Resource.class);
+    private final Map<Object, Integer> poolSizes = new ConcurrentHashMap<>();
+
+    public ServiceLineBatchPlanner(ArmadaApiProperties properties) {
+        this.enabled = properties.getPlanner().isEnabled();
+        for (Resource resource : Resource.values()) {
+            costs.put(resource, new Costs());
+        }
+    }
+
+    /**
+     * Picks the cheaper plan for fetching {@code serviceLines} distinct service lines of a data pool.
+     * With planning disabled, every line is fetched on its own.
+     */
+    public BatchPlanDto plan(Resource resource, String orgId, String dataPoolId, int serviceLines) {
+        Integer observedPoolSize = poolSizes.get(List.of(orgId, dataPoolId));
+        int poolSize = Math.max(serviceLines, observedPoolSize != null ? observedPoolSize : PRIOR_POOL_SIZE);
+        Costs resourceCosts = costs.get(resource);
+        long perLineNanos = serviceLines * resourceCosts.perLineNanos.get();
+        long bulkNanos = poolSize * resourceCosts.bulkPerLineNanos.get();
+
+        BatchPlanDto.Strategy strategy = enabled && bulkNanos <= perLineNanos
+                ? BatchPlanDto.Strategy.BULK
+                : BatchPlanDto.Strategy.PER_LINE;
+        BatchPlanDto plan = new BatchPlanDto(resource.name(), strategy, serviceLines, poolSize,
+                observedPoolSize != null, Duration.ofNanos(perLineNanos).toMillis(), Duration.ofNanos(bulkNanos).toMillis());
+        log.debug("Planned {} for {} {} of data pool {}: {}", strategy, serviceLines, resource, dataPoolId, plan);
+        return plan;
+    }
+
+    /**
+     * Records the number of service lines in a data pool, as reported with the pool or seen in a list or
+     * all-service-lines response
+     */
+    public void recordPoolSize(String orgId, String dataPoolId, int size) {
+        poolSizes.put(List.of(orgId, dataPoolId), size);
+    }
+
+    public <T> Mono<T> measurePerLine(Resource resource, Mono<T> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.doOnSuccess(result -> costs.get(resource).recordPerLine(System.nanoTime() - start));
+        });
+    }
+
+    public <T> Mono<T> measureBulk(Resource resource, String orgId, String dataPoolId, Mono<T> call,
+                                   ToIntFunction<T> serviceLines) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.doOnNext(result -> recordBulk(resource, orgId, dataPoolId,
+                    System.nanoTime() - start, serviceLines.applyAsInt(result)));
+        });
+    }
+
+    private void recordBulk(Resource resource, String orgId, String dataPoolId, long latencyNanos, int serviceLines) {
+        recordPoolSize(orgId, dataPoolId, serviceLines);
+        costs.get(resource).recordBulk(latencyNanos / Math.max(1, serviceLines));
+    }
+
+    private static final class Costs {
+
+        private final AtomicLong perLineNanos = new AtomicLong(PRIOR_PER_LINE_NANOS);
+        private final AtomicLong bulkPerLineNanos = new AtomicLong(PRIOR_BULK_PER_LINE_NANOS);
+
+        void recordPerLine(long latencyNanos) {
+            update(perLineNanos, latencyNanos);
+        }
+
+        void recordBulk(long latencyPerLineNanos) {
+            update(bulkPerLineNanos, latencyPerLineNanos);
+        }
+
+        private static void update(AtomicLong average, long sample) {
+            average.updateAndGet(current -> Math.max(1, (long) (SMOOTHING * sample + (1 - SMOOTHING) * current)));
+        }
+    }
+}
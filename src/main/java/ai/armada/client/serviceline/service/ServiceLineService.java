@@ -1,12 +1,31 @@
 package ai.armada.client.serviceline.service;
 
+import ai.armada.client.common.ApiError;
+import ai.armada.client.common.BatchItem;
+import ai.armada.client.common.InvalidRequestException;
+import ai.armada.client.common.http.Deadline;
+import ai.armada.client.common.http.Priority;
+import ai.armada.client.common.http.ResponseIndex;
+import ai.armada.client.common.http.UpstreamRejectedException;
+import ai.armada.client.config.ArmadaApiProperties;
 import ai.armada.client.serviceline.client.ServiceLineApiClient;
 import ai.armada.client.serviceline.dto.*;
+import ai.armada.client.serviceline.exception.ServiceLineApiException;
 import ai.armada.client.serviceline.mapper.ServiceLineMapper;
+import ai.armada.client.serviceline.service.ServiceLineBatchPlanner.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
 @Slf4j
@@ -14,16 +33,29 @@ public class ServiceLineService {
 
     private final ServiceLineApiClient apiClient;
     private final ServiceLineMapper mapper;
+    private final ResponseIndex<ExternalServiceLineDto> serviceLineIndex;
+    private final ServiceLineBatchPlanner planner;
+    private final int perLineConcurrency;
+    private final int maxBatchSize;
     
-    public ServiceLineService(ServiceLineApiClient apiClient, ServiceLineMapper mapper) {
+    public ServiceLineService(ServiceLineApiClient apiClient, ServiceLineMapper mapper, ArmadaApiProperties properties,
+                              ServiceLineBatchPlanner planner) {
         this.apiClient = apiClient;
         this.mapper = mapper;
+        this.planner = planner;
+        this.perLineConcurrency = Math.max(1, properties.getPlanner().getPerLineConcurrency());
+        this.maxBatchSize = properties.getPlanner().getMaxBatchSize();
+        ArmadaApiProperties.Index index = properties.getIndexes().getServiceLines();
+        this.serviceLineIndex = new ResponseIndex<>("service lines", index.isEnabled(), index.getMaxAge(),
+                index.getMissRefreshInterval(), ExternalServiceLineDto::id);
     }
 
     public List<ServiceLineDto> getServiceLines(String orgId, String dataPoolId) {
         log.info("Retrieving service lines for data pool: {}", dataPoolId);
         
-        List<ServiceLineDto> serviceLines = apiClient.fetchServiceLines(orgId, dataPoolId).stream()
+        List<ExternalServiceLineDto> external = apiClient.fetchServiceLines(orgId, dataPoolId);
+        serviceLineIndex.put(List.of(orgId, dataPoolId), external);
+        List<ServiceLineDto> serviceLines = external.stream()
                 .map(mapper::toDto)
                 .toList();
         
@@ -31,10 +63,16 @@ public class ServiceLineService {
         return serviceLines;
     }
 
+    /**
+     * Answered from a service line list of the data pool fetched within the index's max age, if it has the line
+     */
     public ServiceLineDto getServiceLineById(String orgId, String dataPoolId, String serviceLineId) {
         log.info("Retrieving service line: {} for data pool: {}", serviceLineId, dataPoolId);
         
-        ExternalServiceLineDto external = apiClient.fetchServiceLineById(orgId, dataPoolId, serviceLineId);
+        ExternalServiceLineDto external = serviceLineIndex.get(List.of(orgId, dataPoolId), serviceLineId);
+        if (external == null) {
+            external = apiClient.fetchServiceLineById(orgId, dataPoolId, serviceLineId);
+        }
         return mapper.toDto(external);
     }
 
@@ -63,4 +101,198 @@ public class ServiceLineService {
         
         return apiClient.fetchAllServiceLinesSettings(orgId, dataPoolId);
     }
-}
\ No newline at end of file
+
+    public Mono<List<ServiceLineDto>> getServiceLinesReactive(String orgId, String dataPoolId) {
+        log.info("Retrieving service lines (reactive) for data pool: {}", dataPoolId);
+
+        return apiClient.fetchServiceLinesReactive(orgId, dataPoolId)
+                .doOnNext(external -> serviceLineIndex.put(List.of(orgId, dataPoolId), external))
+                .map(external -> external.stream()
+                        .map(mapper::toDto)
+                        .toList());
+    }
+
+    public Mono<ServiceLineDto> getServiceLineByIdReactive(String orgId, String dataPoolId, String serviceLineId) {
+        log.info("Retrieving service line (reactive): {} for data pool: {}", serviceLineId, dataPoolId);
+
+        return Mono.fromSupplier(() -> serviceLineIndex.get(List.of(orgId, dataPoolId), serviceLineId))
+                .switchIfEmpty(Mono.defer(() -> apiClient.fetchServiceLineByIdReactive(orgId, dataPoolId, serviceLineId)))
+                .map(mapper::toDto);
+    }
+
+    public Mono<ServiceLineUsageDto> getServiceLineUsageReactive(String orgId, String dataPoolId, String serviceLineId, Integer billingCycles) {
+        log.info("Retrieving usage (reactive) for service line: {} with {} billing cycles",
+                serviceLineId, billingCycles);
+
+        return apiClient.fetchServiceLineUsageReactive(orgId, dataPoolId, serviceLineId, billingCycles);
+    }
+
+    public Mono<ServiceLinesUsageDto> getAllServiceLinesUsageReactive(String orgId, String dataPoolId, Integer billingCycles) {
+        log.info("Retrieving usage (reactive) for all service lines in data pool: {} with {} billing cycles",
+                dataPoolId, billingCycles);
+
+        return apiClient.fetchAllServiceLinesUsageReactive(orgId, dataPoolId, billingCycles);
+    }
+
+    public Mono<ServiceLineSettingsDto> getServiceLineSettingsReactive(String orgId, String dataPoolId, String serviceLineId) {
+        log.info("Retrieving settings (reactive) for service line: {}", serviceLineId);
+
+        return apiClient.fetchServiceLineSettingsReactive(orgId, dataPoolId, serviceLineId);
+    }
+
+    public Mono<List<ServiceLineSettingsDto>> getAllServiceLinesSettingsReactive(String orgId, String dataPoolId) {
+        log.info("Retrieving settings (reactive) for all service lines in data pool: {}", dataPoolId);
+
+        return apiClient.fetchAllServiceLinesSettingsReactive(orgId, dataPoolId);
+    }
+
+    public List<BatchItem<ServiceLineDto>> getServiceLinesByIds(String orgId, String dataPoolId,
+                                                                List<String> serviceLineIds) {
+        return block(getServiceLinesByIdsReactive(orgId, dataPoolId, serviceLineIds));
+    }
+
+    /**
+     * Several service lines of a data pool, one item per requested ID in request order. Fetched by ID or
+     * from the service line list, whichever {@link ServiceLineBatchPlanner} estimates is cheaper.
+     */
+    public Mono<List<BatchItem<ServiceLineDto>>> getServiceLinesByIdsReactive(String orgId, String dataPoolId,
+                                                                              List<String> serviceLineIds) {
+        log.info("Retrieving {} service lines for data pool: {}", serviceLineIds.size(), dataPoolId);
+
+        return batch(Resource.SERVICE_LINES, orgId, dataPoolId, serviceLineIds,
+                () -> getServiceLinesReactive(orgId, dataPoolId)
+                        .map(serviceLines -> byServiceLine(serviceLines, ServiceLineDto::id)),
+                serviceLineId -> getServiceLineByIdReactive(orgId, dataPoolId, serviceLineId));
+    }
+
+    public List<BatchItem<ServiceLineUsageDto>> getServiceLinesUsage(String orgId, String dataPoolId,
+                                                                     List<String> serviceLineIds, Integer billingCycles) {
+        return block(getServiceLinesUsageReactive(orgId, dataPoolId, serviceLineIds, billingCycles));
+    }
+
+    /**
+     * Usage of several service lines of a data pool, one item per requested ID in request order. Fetched per
+     * line or with one all-service-lines call, whichever {@link ServiceLineBatchPlanner} estimates is cheaper.
+     * Per-line calls are never collapsed into an all-service-lines call, so the plan reported is the plan run.
+     */
+    public Mono<List<BatchItem<ServiceLineUsageDto>>> getServiceLinesUsageReactive(String orgId, String dataPoolId,
+                                                                                   List<String> serviceLineIds,
+                                                                                   Integer billingCycles) {
+        log.info("Retrieving usage for {} service lines in data pool: {} with {} billing cycles",
+                serviceLineIds.size(), dataPoolId, billingCycles);
+
+        return batch(Resource.USAGE, orgId, dataPoolId, serviceLineIds,
+                () -> getAllServiceLinesUsageReactive(orgId, dataPoolId, billingCycles)
+                        .map(ServiceLinesUsageDto::byServiceLine),
+                serviceLineId -> apiClient.fetchServiceLineUsagePerLineReactive(
+                        orgId, dataPoolId, serviceLineId, billingCycles));
+    }
+
+    public List<BatchItem<ServiceLineSettingsDto>> getServiceLinesSettings(String orgId, String dataPoolId,
+                                                                           List<String> serviceLineIds) {
+        return block(getServiceLinesSettingsReactive(orgId, dataPoolId, serviceLineIds));
+    }
+
+    /**
+     * Settings of several service lines of a data pool, one item per requested ID in request order. Fetched per
+     * line or with one all-service-lines call, whichever {@link ServiceLineBatchPlanner} estimates is cheaper.
+     * Per-line misses of the settings index never refresh the all-service-lines settings.
+     */
+    public Mono<List<BatchItem<ServiceLineSettingsDto>>> getServiceLinesSettingsReactive(String orgId, String dataPoolId,
+                                                                                         List<String> serviceLineIds) {
+        log.info("Retrieving settings for {} service lines in data pool: {}", serviceLineIds.size(), dataPoolId);
+
+        return batch(Resource.SETTINGS, orgId, dataPoolId, serviceLineIds,
+                () -> getAllServiceLinesSettingsReactive(orgId, dataPoolId)
+                        .map(settings -> byServiceLine(settings, ServiceLineSettingsDto::serviceLineId)),
+                serviceLineId -> apiClient.fetchServiceLineSettingsPerLineReactive(orgId, dataPoolId, serviceLineId));
+    }
+
+    /**
+     * The plan {@link #getServiceLinesUsage} would use for these service lines right now
+     */
+    public BatchPlanDto explainServiceLinesUsage(String orgId, String dataPoolId, Collection<String> serviceLineIds) {
+        return planner.plan(Resource.USAGE, orgId, dataPoolId, new LinkedHashSet<>(serviceLineIds).size());
+    }
+
+    /**
+     * The plan {@link #getServiceLinesSettings} would use for these service lines right now
+     */
+    public BatchPlanDto explainServiceLinesSettings(String orgId, String dataPoolId, Collection<String> serviceLineIds) {
+        return planner.plan(Resource.SETTINGS, orgId, dataPoolId, new LinkedHashSet<>(serviceLineIds).size());
+    }
+
+    /**
+     * Runs the planned fetch and reports an outcome per requested ID. Lines missing from a bulk response are
+     * fetched on their own. Upstream errors for a line, or for the bulk call, become item errors; errors that
+     * concern the whole request (authentication, deadline) fail it.
+     */
+    private <T> Mono<List<BatchItem<T>>> batch(Resource resource, String orgId, String dataPoolId,
+                                               List<String> serviceLineIds,
+                                               Supplier<Mono<Map<String, T>>> bulkCall,
+                                               Function<String, Mono<T>> perLineCall) {
+        Set<String> ids = new LinkedHashSet<>(serviceLineIds);
+        if (ids.size() > maxBatchSize) {
+            return Mono.error(new InvalidRequestException(
+                    "At most " + maxBatchSize + " service lines can be requested at once, got " + ids.size()));
+        }
+        if (ids.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        return Mono.defer(() -> {
+            BatchPlanDto plan = planner.plan(resource, orgId, dataPoolId, ids.size());
+            Mono<Map<String, BatchItem<T>>> bulk = plan.strategy() == BatchPlanDto.Strategy.BULK
+                    ? bulkCall.get()
+                            .defaultIfEmpty(Map.of())
+                            .map(found -> {
+                                Map<String, BatchItem<T>> items = new HashMap<>();
+                                found.forEach((id, data) -> items.put(id, BatchItem.of(id, data)));
+                                return items;
+                            })
+                            .onErrorResume(e -> itemError(e) != null, e -> {
+                                Map<String, BatchItem<T>> items = new HashMap<>();
+                                ids.forEach(id -> items.put(id, BatchItem.failed(id, itemError(e))));
+                                return Mono.just(items);
+                            })
+                    : Mono.just(Map.of());
+            return bulk.flatMap(found -> Flux.fromIterable(ids)
+                    .filter(id -> !found.containsKey(id))
+                    .flatMap(id -> item(id, perLineCall.apply(id)), perLineConcurrency)
+                    .collectMap(BatchItem::id)
+                    .map(fetched -> serviceLineIds.stream()
+                            .map(id -> found.containsKey(id) ? found.get(id) : fetched.get(id))
+                            .toList()));
+        });
+    }
+
+    private static <T> Mono<BatchItem<T>> item(String id, Mono<T> call) {
+        return call.map(data -> BatchItem.of(id, data))
+                .switchIfEmpty(Mono.fromSupplier(() -> BatchItem.failed(id,
+                        new ApiError("SERVICELINE_NOT_FOUND", "No data for service line: " + id))))
+                .onErrorResume(e -> itemError(e) != null, e -> Mono.just(BatchItem.failed(id, itemError(e))));
+    }
+
+    /**
+     * The item error for an upstream failure of one call, or null when the failure concerns the whole request
+     */
+    private static ApiError itemError(Throwable e) {
+        return e instanceof ServiceLineApiException || e instanceof UpstreamRejectedException ? ApiError.from(e) : null;
+    }
+
+    private static <T> Map<String, T> byServiceLine(List<T> items, Function<T, String> idOf) {
+        Map<String, T> byServiceLine = new HashMap<>();
+        for (T item : items) {
+            byServiceLine.put(idOf.apply(item), item);
+        }
+        return byServiceLine;
+    }
+
+    /**
+     * Waits for the call on the current thread, carrying over the request deadline and priority bound to it
+     */
+    private static <T> T block(Mono<T> call) {
+        return call.contextWrite(Deadline::propagate)
+                .contextWrite(Priority::propagate)
+                .block();
+    }
+}
@@ -0,0 +1,135 @@
+package ai.armada.client.common.http;
+
+import ai.armada.client.config.ArmadaApiProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long RTT = Duration.ofMillis(20).toNanos();
+
+    private ArmadaApiProperties.AdaptiveConcurrency config;
+    private Bulkhead bulkhead;
+
+    @BeforeEach
+    void setUp() {
+        config = new ArmadaApiProperties.AdaptiveConcurrency();
+        config.setMinLimit(2);
+        config.setMaxLimit(64);
+        bulkhead = new Bulkhead("service-lines", 10, 100);
+    }
+
+    @Test
+    void onSuccess_WhenLatencySteadyAndBusy_ShouldRaiseLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(bulkhead, config, 100);
+
+        for (int i = 0; i < 50; i++) {
+            limit.onSuccess(RTT, limit.getLimit());
+        }
+
+        assertTrue(limit.getLimit() > 10);
+        assertEquals(limit.getLimit(), bulkhead.getMaxConcurrentCalls());
+        assertTrue(limit.getIncreases() > 0);
+        assertEquals(0, limit.getDecreases());
+    }
+
+    @Test
+    void onSuccess_WhenLatencyRises_ShouldLowerLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(bulkhead, config, 100);
+        for (int i = 0; i < 20; i++) {
+            limit.onSuccess(RTT, limit.getLimit());
+        }
+        int before = limit.getLimit();
+
+        for (int i = 0; i < 20; i++) {
+            limit.onSuccess(5 * RTT, limit.getLimit());
+        }
+
+        assertTrue(limit.getLimit() < before);
+        assertTrue(limit.getDecreases() > 0);
+    }
+
+    @Test
+    void onSuccess_WhenBulkheadMostlyIdle_ShouldNotRaiseLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(bulkhead, config, 100);
+
+        for (int i = 0; i < 50; i++) {
+            limit.onSuccess(RTT, 1);
+        }
+
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    void onDropped_ShouldBackOffDownToMinLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(bulkhead, config, 100);
+
+        limit.onDropped();
+        assertEquals(9, limit.getLimit());
+
+        for (int i = 0; i < 100; i++) {
+            limit.onDropped();
+        }
+        assertEquals(2, limit.getLimit());
+    }
+
+    @Test
+    void constructor_WhenConfiguredLimitOutsideBounds_ShouldClampIt() {
+        config.setMaxLimit(4);
+
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(bulkhead, config, 100);
+
+        assertEquals(4, limit.getLimit());
+        assertEquals(4, bulkhead.getMaxConcurrentCalls());
+    }
+
+    @Test
+    void onSuccess_WhenLimitReachesConnectionCapacity_ShouldStopThere() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(bulkhead, config, 16);
+
+        for (int i = 0; i < 200; i++) {
+            limit.onSuccess(RTT, limit.getLimit());
+        }
+
+        assertEquals(16, limit.getLimit());
+        assertEquals(16, bulkhead.getMaxConcurrentCalls());
+    }
+
+    @Test
+    void constructor_WhenConnectionCapacityBelowConfiguredLimit_ShouldClampToIt() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(bulkhead, config, 1);
+
+        assertEquals(1, limit.getLimit());
+        limit.onDropped();
+        assertEquals(1, limit.getLimit());
+    }
+
+    @Test
+    void filter_WhenUpstreamOverloaded_ShouldLowerLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(bulkhead, config, 100);
+        BulkheadFilter filter = new BulkheadFilter(bulkhead, limit);
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("/v1/orgs")).build();
+
+        StepVerifier.create(filter.filter(request, r -> Mono.just(
+                                ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).body("busy").build()))
+                        .flatMap(r -> r.bodyToMono(String.class)))
+                .expectNext("busy")
+                .verifyComplete();
+        StepVerifier.create(filter.filter(request, r -> Mono.error(new IllegalStateException("reset"))))
+                .verifyError(IllegalStateException.class);
+
+        assertEquals(2, limit.getDecreases());
+        assertEquals(0, bulkhead.getActiveCalls());
+    }
+}
@@ -0,0 +1,212 @@
+package ai.armada.client.common.http;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+
+    private final Bulkhead bulkhead = new Bulkhead("service-lines", 2, 1);
+
+    @Test
+    void acquire_WhenBelowLimit_ShouldGrantImmediately() {
+        StepVerifier.create(bulkhead.acquire())
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertEquals(1, bulkhead.getActiveCalls());
+    }
+
+    @Test
+    void acquire_WhenLimitReached_ShouldQueueUntilReleased() {
+        // Arrange
+        Bulkhead.Permit first = bulkhead.acquire().block();
+        bulkhead.acquire().block();
+        AtomicReference<Bulkhead.Permit> queued = new AtomicReference<>();
+
+        // Act
+        bulkhead.acquire().subscribe(queued::set);
+
+        // Assert
+        assertNull(queued.get());
+        assertEquals(1, bulkhead.getQueuedCalls());
+
+        first.release();
+
+        assertNotNull(queued.get());
+        assertEquals(0, bulkhead.getQueuedCalls());
+        assertEquals(2, bulkhead.getActiveCalls());
+    }
+
+    @Test
+    void acquire_WhenQueueFull_ShouldRejectWithUpstreamRejectedException() {
+        // Arrange
+        bulkhead.acquire().block();
+        bulkhead.acquire().block();
+        bulkhead.acquire().subscribe();
+
+        // Act & Assert
+        StepVerifier.create(bulkhead.acquire())
+                .expectErrorSatisfies(e -> {
+                    assertInstanceOf(UpstreamRejectedException.class, e);
+                    assertEquals("BULKHEAD_FULL", ((UpstreamRejectedException) e).getErrorCode());
+                })
+                .verify();
+        assertEquals(1, bulkhead.getRejectedCalls());
+    }
+
+    @Test
+    void acquire_WhenQueuedCallerCancels_ShouldLeaveQueueAndKeepSlotsIntact() {
+        // Arrange
+        Bulkhead.Permit first = bulkhead.acquire().block();
+        bulkhead.acquire().block();
+        Disposable waiting = bulkhead.acquire().subscribe();
+
+        // Act
+        waiting.dispose();
+        first.release();
+
+        // Assert
+        assertEquals(0, bulkhead.getQueuedCalls());
+        assertEquals(1, bulkhead.getActiveCalls());
+    }
+
+    @Test
+    void release_WhenCalledTwice_ShouldFreeOneSlot() {
+        // Arrange
+        Bulkhead.Permit permit = bulkhead.acquire().block();
+        bulkhead.acquire().block();
+
+        // Act
+        permit.release();
+        permit.release();
+
+        // Assert
+        assertEquals(1, bulkhead.getActiveCalls());
+    }
+
+    @Test
+    void setMaxConcurrentCalls_WhenRaised_ShouldStartQueuedCalls() {
+        // Arrange
+        bulkhead.acquire().block();
+        bulkhead.acquire().block();
+        AtomicReference<Bulkhead.Permit> queued = new AtomicReference<>();
+        bulkhead.acquire().subscribe(queued::set);
+
+        // Act
+        bulkhead.setMaxConcurrentCalls(3);
+
+        // Assert
+        assertNotNull(queued.get());
+        assertEquals(3, bulkhead.getActiveCalls());
+        assertEquals(0, bulkhead.getQueuedCalls());
+    }
+
+    @Test
+    void setMaxConcurrentCalls_WhenLowered_ShouldHoldNewCallsUntilBelowLimit() {
+        // Arrange
+        Bulkhead.Permit first = bulkhead.acquire().block();
+        Bulkhead.Permit second = bulkhead.acquire().block();
+        bulkhead.setMaxConcurrentCalls(1);
+        AtomicReference<Bulkhead.Permit> queued = new AtomicReference<>();
+        bulkhead.acquire().subscribe(queued::set);
+
+        // Act
+        first.release();
+
+        // Assert
+        assertNull(queued.get());
+        second.release();
+        assertNotNull(queued.get());
+        assertEquals(1, bulkhead.getActiveCalls());
+    }
+
+    @Test
+    void filter_WhenCallCompletes_ShouldReturnSlot() {
+        // Arrange
+        BulkheadFilter filter = new BulkheadFilter(bulkhead);
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("/v1/orgs")).build();
+        ClientResponse response = ClientResponse.create(HttpStatus.OK).body("ok").build();
+
+        // Act
+        StepVerifier.create(filter.filter(request, r -> Mono.just(response))
+                        .flatMap(r -> r.bodyToMono(String.class)))
+                .expectNext("ok")
+                .verifyComplete();
+
+        // Assert
+        assertEquals(0, bulkhead.getActiveCalls());
+    }
+
+    @Test
+    void acquire_WhenBackgroundReachesShare_ShouldKeepReservedSlotsForInteractive() {
+        // Arrange
+        Bulkhead lanes = new Bulkhead("service-lines", 3, 10, 1);
+        lanes.acquire(Priority.BACKGROUND).block();
+        lanes.acquire(Priority.BACKGROUND).block();
+        AtomicReference<Bulkhead.Permit> background = new AtomicReference<>();
+
+        // Act
+        lanes.acquire(Priority.BACKGROUND).subscribe(background::set);
+
+        // Assert
+        assertNull(background.get());
+        assertEquals(1, lanes.getQueuedBackgroundCalls());
+        StepVerifier.create(lanes.acquire(Priority.INTERACTIVE))
+                .expectNextCount(1)
+                .verifyComplete();
+        assertEquals(3, lanes.getActiveCalls());
+    }
+
+    @Test
+    void release_WhenBothLanesWaiting_ShouldServeInteractiveFirst() {
+        // Arrange
+        Bulkhead lanes = new Bulkhead("service-lines", 2, 10, 0);
+        Bulkhead.Permit first = lanes.acquire(Priority.BACKGROUND).block();
+        lanes.acquire(Priority.BACKGROUND).block();
+        AtomicReference<Bulkhead.Permit> background = new AtomicReference<>();
+        AtomicReference<Bulkhead.Permit> interactive = new AtomicReference<>();
+        lanes.acquire(Priority.BACKGROUND).subscribe(background::set);
+        lanes.acquire(Priority.INTERACTIVE).subscribe(interactive::set);
+
+        // Act
+        first.release();
+
+        // Assert
+        assertNotNull(interactive.get());
+        assertNull(background.get());
+        assertEquals(1, lanes.getActiveBackgroundCalls());
+    }
+
+    @Test
+    void filter_WhenContextIsBackground_ShouldAcquireBackgroundSlot() {
+        // Arrange
+        BulkheadFilter filter = new BulkheadFilter(bulkhead);
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("/v1/orgs")).build();
+        AtomicReference<Integer> backgroundDuringCall = new AtomicReference<>();
+
+        // Act
+        StepVerifier.create(filter.filter(request, r -> {
+                            backgroundDuringCall.set(bulkhead.getActiveBackgroundCalls());
+                            return Mono.just(ClientResponse.create(HttpStatus.OK).body("ok").build());
+                        })
+                        .flatMap(r -> r.bodyToMono(String.class))
+                        .contextWrite(Priority.BACKGROUND.asContext()))
+                .expectNext("ok")
+                .verifyComplete();
+
+        // Assert
+        assertEquals(1, backgroundDuringCall.get());
+        assertEquals(0, bulkhead.getActiveCalls());
+    }
+}
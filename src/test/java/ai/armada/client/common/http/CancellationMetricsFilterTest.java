@@ -0,0 +1,131 @@
+package ai.armada.client.common.http;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CancellationMetricsFilterTest {
+
+    private MockWebServer mockWebServer;
+    private CancellationMetricsFilter filter;
+    private WebClient webClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+
+        filter = new CancellationMetricsFilter();
+        webClient = WebClient.builder()
+                .baseUrl(mockWebServer.url("/").toString())
+                .filter(filter)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void filter_WhenResponseCompletes_ShouldNotRecordCancellation() {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse().setBody("{\"status\":\"success\"}"));
+
+        // Act & Assert
+        StepVerifier.create(webClient.get().uri("/v1/orgs").retrieve().bodyToMono(String.class))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertEquals(0, filter.getCancelledCalls());
+        assertEquals(0, filter.getBytesSaved());
+    }
+
+    @Test
+    void filter_WhenCancelledWhileReadingBody_ShouldRecordSkippedBytes() {
+        // Arrange
+        int bodySize = 64 * 1024;
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("x".repeat(bodySize))
+                .throttleBody(1024, 100, TimeUnit.MILLISECONDS));
+
+        // Act
+        Disposable subscription = inboundRequest(webClient.get().uri("/v1/usage").retrieve().bodyToMono(String.class));
+        await().atMost(Duration.ofSeconds(5)).until(() -> mockWebServer.getRequestCount() == 1);
+        sleep(300);
+        subscription.dispose();
+
+        // Assert
+        await().atMost(Duration.ofSeconds(5)).until(() -> filter.getCancelledCalls() == 1);
+        assertTrue(filter.getBytesSaved() > 0);
+        assertTrue(filter.getBytesSaved() < bodySize);
+    }
+
+    @Test
+    void filter_WhenCancelledBeforeHeaders_ShouldCountCallWithoutBytes() {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("{}")
+                .setHeadersDelay(2, TimeUnit.SECONDS));
+
+        // Act
+        Disposable subscription = inboundRequest(webClient.get().uri("/v1/orgs").retrieve().bodyToMono(String.class));
+        await().atMost(Duration.ofSeconds(5)).until(() -> mockWebServer.getRequestCount() == 1);
+        subscription.dispose();
+
+        // Assert
+        assertEquals(1, filter.getCancelledCalls());
+        assertEquals(0, filter.getBytesSaved());
+    }
+
+    @Test
+    void filter_WhenCancelledWithoutClientDisconnect_ShouldNotCountAsSaved() {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("{}")
+                .setHeadersDelay(2, TimeUnit.SECONDS));
+
+        // Act: a timeout cancels the call while the inbound request is still connected
+        StepVerifier.create(webClient.get().uri("/v1/orgs").retrieve().bodyToMono(String.class)
+                        .timeout(Duration.ofMillis(200))
+                        .contextWrite(new ClientDisconnect().asContext()))
+                .verifyError(TimeoutException.class);
+
+        // Assert
+        assertEquals(0, filter.getCancelledCalls());
+        assertEquals(1, filter.getOtherCancelledCalls());
+    }
+
+    /**
+     * Subscribes the way an inbound request on the reactive stack does, so that disposing the
+     * subscription counts as the client going away
+     */
+    private static Disposable inboundRequest(Mono<String> call) {
+        ClientDisconnect disconnect = new ClientDisconnect();
+        return call.doOnCancel(disconnect::markDisconnected)
+                .contextWrite(disconnect.asContext())
+                .subscribe();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
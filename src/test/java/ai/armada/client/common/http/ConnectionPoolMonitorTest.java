@@ -0,0 +1,90 @@
+package ai.armada.client.common.http;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolMonitorTest {
+
+    private MockWebServer mockWebServer;
+    private ConnectionPoolMonitor monitor;
+    private ConnectionProvider connectionProvider;
+    private WebClient webClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+
+        monitor = new ConnectionPoolMonitor();
+        connectionProvider = ConnectionProvider.builder("armada-test")
+                .maxConnections(4)
+                .pendingAcquireMaxCount(8)
+                .metrics(true, () -> monitor)
+                .build();
+        webClient = WebClient.builder()
+                .baseUrl(mockWebServer.url("/").toString())
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        connectionProvider.disposeLater().block();
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void getPools_BeforeFirstCall_ShouldBeEmpty() {
+        assertTrue(monitor.getPools().isEmpty());
+    }
+
+    @Test
+    void getPools_AfterCall_ShouldReportIdleConnection() {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse().setBody("{\"status\":\"success\"}"));
+
+        // Act
+        webClient.get().uri("/v1/orgs").retrieve().bodyToMono(String.class).block();
+
+        // Assert
+        await().atMost(Duration.ofSeconds(5)).until(() -> !monitor.getPools().isEmpty()
+                && monitor.getPools().values().iterator().next().idle() == 1);
+        ConnectionPoolMonitor.PoolStats stats = monitor.getPools().values().iterator().next();
+        assertTrue(monitor.getPools().keySet().iterator().next().startsWith("armada-test"));
+        assertEquals(0, stats.active());
+        assertEquals(0, stats.pending());
+        assertEquals(4, stats.maxConnections());
+        assertEquals(8, stats.maxPending());
+    }
+
+    @Test
+    void getPools_WhileCallInFlight_ShouldReportActiveConnection() {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("{\"status\":\"success\"}")
+                .setHeadersDelay(1, TimeUnit.SECONDS));
+
+        // Act
+        Disposable call = webClient.get().uri("/v1/orgs").retrieve().bodyToMono(String.class).subscribe();
+
+        // Assert
+        await().atMost(Duration.ofSeconds(5)).until(() -> !monitor.getPools().isEmpty()
+                && monitor.getPools().values().iterator().next().active() == 1);
+        call.dispose();
+    }
+}
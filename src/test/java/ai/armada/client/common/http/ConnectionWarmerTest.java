@@ -0,0 +1,95 @@
+package ai.armada.client.common.http;
+
+import ai.armada.client.common.security.TokenProvider;
+import ai.armada.client.config.ArmadaApiProperties;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionWarmerTest {
+
+    @Mock
+    private TokenProvider tokenProvider;
+
+    private MockWebServer mockWebServer;
+    private ArmadaApiProperties properties;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+
+        properties = new ArmadaApiProperties();
+        properties.getWarmup().setConnections(3);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void run_ShouldFetchTokenAndOpenConnections() throws InterruptedException {
+        // Arrange
+        when(tokenProvider.getAccessTokenReactive()).thenReturn(Mono.just("test-token"));
+        for (int i = 0; i < 3; i++) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(404));
+        }
+        WebClient webClient = WebClient.create(mockWebServer.url("/").toString());
+
+        // Act
+        new ConnectionWarmer(Map.of("organizationWebClient", webClient), tokenProvider, properties).run(null);
+
+        // Assert
+        verify(tokenProvider).getAccessTokenReactive();
+        assertEquals(3, mockWebServer.getRequestCount());
+        RecordedRequest request = mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+        assertEquals("HEAD", request.getMethod());
+        assertEquals("/", request.getPath());
+    }
+
+    @Test
+    void run_WhenUpstreamUnavailable_ShouldNotFailStartup() throws IOException {
+        // Arrange
+        when(tokenProvider.getAccessTokenReactive()).thenReturn(Mono.error(new IllegalStateException("auth down")));
+        String url = mockWebServer.url("/").toString();
+        mockWebServer.shutdown();
+
+        // Act & Assert
+        assertDoesNotThrow(() -> new ConnectionWarmer(
+                Map.of("organizationWebClient", WebClient.create(url)), tokenProvider, properties).run(null));
+    }
+
+    @Test
+    void run_WhenUpstreamHangs_ShouldGiveUpAfterTimeout() {
+        // Arrange
+        properties.getWarmup().setTimeout(Duration.ofMillis(200));
+        when(tokenProvider.getAccessTokenReactive()).thenReturn(Mono.never());
+        WebClient webClient = WebClient.create(mockWebServer.url("/").toString());
+
+        // Act
+        long start = System.nanoTime();
+        new ConnectionWarmer(Map.of("organizationWebClient", webClient), tokenProvider, properties).run(null);
+
+        // Assert
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(2)) < 0);
+    }
+}
@@ -0,0 +1,177 @@
+package ai.armada.client.common.http;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CycleWindowCacheTest {
+
+    private List<Integer> fetchedCycles;
+    private Function<Integer, Mono<List<Integer>>> call;
+
+    @BeforeEach
+    void setUp() {
+        fetchedCycles = new ArrayList<>();
+        // A response for n cycles lists cycle numbers n..1, most recent first
+        call = cycles -> Mono.fromCallable(() -> {
+            fetchedCycles.add(cycles);
+            List<Integer> response = new ArrayList<>();
+            for (int cycle = cycles; cycle >= 1; cycle--) {
+                response.add(cycle);
+            }
+            return response;
+        });
+    }
+
+    private CycleWindowCache<List<Integer>> cache(Duration maxAge, int minFetchedCycles) {
+        return new CycleWindowCache<>("usage", true, maxAge, minFetchedCycles,
+                (response, cycles) -> response.subList(0, Math.min(cycles, response.size())));
+    }
+
+    @Test
+    void fetch_WhenWiderResponseFetchedRecently_ShouldSliceIt() {
+        CycleWindowCache<List<Integer>> cache = cache(Duration.ofMinutes(1), 1);
+
+        StepVerifier.create(cache.fetch("pool", 6, call)).expectNext(List.of(6, 5, 4, 3, 2, 1)).verifyComplete();
+        StepVerifier.create(cache.fetch("pool", 3, call)).expectNext(List.of(6, 5, 4)).verifyComplete();
+        StepVerifier.create(cache.fetch("pool", 1, call)).expectNext(List.of(6)).verifyComplete();
+
+        assertEquals(List.of(6), fetchedCycles);
+        assertEquals(2, cache.getReusedRequests());
+    }
+
+    @Test
+    void fetch_WhenWiderRequestFollows_ShouldFetchAgain() {
+        CycleWindowCache<List<Integer>> cache = cache(Duration.ofMinutes(1), 1);
+
+        StepVerifier.create(cache.fetch("pool", 1, call)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(cache.fetch("pool", 3, call)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(cache.fetch("pool", 2, call)).expectNext(List.of(3, 2)).verifyComplete();
+
+        assertEquals(List.of(1, 3), fetchedCycles);
+    }
+
+    @Test
+    void fetch_WhenMinFetchedCyclesSet_ShouldFetchThatManyOnce() {
+        CycleWindowCache<List<Integer>> cache = cache(Duration.ofMinutes(1), 6);
+
+        StepVerifier.create(cache.fetch("pool", 1, call)).expectNext(List.of(6)).verifyComplete();
+        StepVerifier.create(cache.fetch("pool", 4, call)).expectNext(List.of(6, 5, 4, 3)).verifyComplete();
+
+        assertEquals(List.of(6), fetchedCycles);
+    }
+
+    @Test
+    void fetch_WhenWiderCallInFlight_ShouldWaitForIt() {
+        CycleWindowCache<List<Integer>> cache = cache(Duration.ofMinutes(1), 1);
+        Sinks.One<List<Integer>> response = Sinks.one();
+        List<Integer> calls = new ArrayList<>();
+        Function<Integer, Mono<List<Integer>>> slowCall = cycles -> {
+            calls.add(cycles);
+            return response.asMono();
+        };
+
+        StepVerifier.create(Mono.zip(cache.fetch("pool", 3, slowCall), cache.fetch("pool", 1, slowCall)))
+                .then(() -> response.tryEmitValue(List.of(3, 2, 1)))
+                .assertNext(results -> {
+                    assertEquals(List.of(3, 2, 1), results.getT1());
+                    assertEquals(List.of(3), results.getT2());
+                })
+                .verifyComplete();
+
+        assertEquals(List.of(3), calls);
+    }
+
+    @Test
+    void fetch_WhenResponseExpired_ShouldFetchAgain() throws InterruptedException {
+        CycleWindowCache<List<Integer>> cache = cache(Duration.ofMillis(20), 1);
+
+        StepVerifier.create(cache.fetch("pool", 3, call)).expectNextCount(1).verifyComplete();
+        Thread.sleep(40);
+        StepVerifier.create(cache.fetch("pool", 1, call)).expectNext(List.of(1)).verifyComplete();
+
+        assertEquals(List.of(3, 1), fetchedCycles);
+    }
+
+    @Test
+    void fetch_WhenFetchFailed_ShouldNotKeepIt() {
+        CycleWindowCache<List<Integer>> cache = cache(Duration.ofMinutes(1), 1);
+        Function<Integer, Mono<List<Integer>>> failing = cycles -> Mono.error(new IllegalStateException("boom"));
+
+        StepVerifier.create(cache.fetch("pool", 3, failing)).verifyError(IllegalStateException.class);
+        StepVerifier.create(cache.fetch("pool", 1, call)).expectNext(List.of(1)).verifyComplete();
+
+        assertEquals(List.of(1), fetchedCycles);
+    }
+
+    @Test
+    void fetch_WhenEveryCallerCancels_ShouldCancelFetchAndNotKeepIt() {
+        CycleWindowCache<List<Integer>> cache = cache(Duration.ofMinutes(1), 1);
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Function<Integer, Mono<List<Integer>>> hanging = cycles -> Mono.<List<Integer>>never()
+                .doOnCancel(() -> cancelled.set(true));
+
+        Disposable first = cache.fetch("pool", 3, hanging).subscribe();
+        Disposable second = cache.fetch("pool", 2, hanging).subscribe();
+        first.dispose();
+        assertFalse(cancelled.get());
+        second.dispose();
+
+        assertTrue(cancelled.get());
+        StepVerifier.create(cache.fetch("pool", 1, call)).expectNext(List.of(1)).verifyComplete();
+        assertEquals(List.of(1), fetchedCycles);
+    }
+
+    @Test
+    void fetch_WhenOtherKeysExpired_ShouldEvictThem() throws InterruptedException {
+        CycleWindowCache<List<Integer>> cache = cache(Duration.ofMillis(20), 1);
+
+        StepVerifier.create(cache.fetch("pool-1", 3, call)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(cache.fetch("pool-2", 3, call)).expectNextCount(1).verifyComplete();
+        assertEquals(2, cache.getSize());
+        Thread.sleep(40);
+        StepVerifier.create(cache.fetch("pool-3", 1, call)).expectNextCount(1).verifyComplete();
+
+        assertEquals(1, cache.getSize());
+    }
+
+    @Test
+    void fetch_WhenKeysDiffer_ShouldNotShareResponses() {
+        CycleWindowCache<List<Integer>> cache = cache(Duration.ofMinutes(1), 1);
+
+        StepVerifier.create(cache.fetch("pool-1", 6, call)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(cache.fetch("pool-2", 1, call)).expectNextCount(1).verifyComplete();
+
+        assertEquals(List.of(6, 1), fetchedCycles);
+    }
+
+    @Test
+    void fetch_WhenDeadlineExpiresWhileWaiting_ShouldFailOnlyThatCaller() {
+        CycleWindowCache<List<Integer>> cache = cache(Duration.ofMinutes(1), 1);
+        Sinks.One<List<Integer>> response = Sinks.one();
+        Function<Integer, Mono<List<Integer>>> slowCall = cycles -> response.asMono();
+
+        AtomicReference<List<Integer>> waiting = new AtomicReference<>();
+
+        StepVerifier.create(cache.fetch("pool", 3, slowCall)
+                        .contextWrite(context -> context.put(Deadline.class, Deadline.after(Duration.ofMillis(50)))))
+                .then(() -> cache.fetch("pool", 2, slowCall).subscribe(waiting::set))
+                .verifyError(DeadlineExceededException.class);
+        response.tryEmitValue(List.of(3, 2, 1));
+
+        // The fetch outlived the caller that timed out, because another caller was still waiting for it
+        assertEquals(List.of(3, 2), waiting.get());
+    }
+}
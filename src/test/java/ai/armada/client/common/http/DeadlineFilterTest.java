@@ -0,0 +1,108 @@
+package ai.armada.client.common.http;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineFilterTest {
+
+    private MockWebServer mockWebServer;
+    private WebClient webClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+
+        webClient = WebClient.builder()
+                .baseUrl(mockWebServer.url("/").toString())
+                .filter(new DeadlineFilter())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void filter_WhenNoDeadline_ShouldPassThrough() {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse().setBody("ok"));
+
+        // Act & Assert
+        StepVerifier.create(get())
+                .expectNext("ok")
+                .verifyComplete();
+    }
+
+    @Test
+    void filter_WhenDeadlineAlreadyPassed_ShouldFailWithoutCallingUpstream() {
+        // Act & Assert
+        StepVerifier.create(get().contextWrite(context -> context.put(Deadline.class, Deadline.after(Duration.ZERO))))
+                .expectError(DeadlineExceededException.class)
+                .verify();
+
+        assertEquals(0, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void filter_WhenHeadersArriveAfterDeadline_ShouldFailWithinBudget() {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("late")
+                .setHeadersDelay(3, TimeUnit.SECONDS));
+
+        // Act & Assert
+        Duration elapsed = StepVerifier.create(get()
+                        .contextWrite(context -> context.put(Deadline.class, Deadline.after(Duration.ofMillis(300)))))
+                .expectError(DeadlineExceededException.class)
+                .verify(Duration.ofSeconds(2));
+
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(2)) < 0);
+    }
+
+    @Test
+    void filter_WhenBodyOutlastsDeadline_ShouldFailWithinBudget() {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("x".repeat(64 * 1024))
+                .throttleBody(1024, 100, TimeUnit.MILLISECONDS));
+
+        // Act & Assert
+        StepVerifier.create(get()
+                        .contextWrite(context -> context.put(Deadline.class, Deadline.after(Duration.ofMillis(500)))))
+                .expectErrorSatisfies(e -> assertInstanceOf(DeadlineExceededException.class, e.getCause()))
+                .verify(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void propagate_WhenDeadlineBoundToThread_ShouldApplyToBlockingCall() {
+        // Arrange
+        Deadline.bind(Deadline.after(Duration.ZERO));
+
+        // Act & Assert
+        try {
+            assertThrows(DeadlineExceededException.class,
+                    () -> get().contextWrite(Deadline::propagate).block());
+        } finally {
+            Deadline.clear();
+        }
+        assertEquals(0, mockWebServer.getRequestCount());
+    }
+
+    private Mono<String> get() {
+        return webClient.get().uri("/v1/orgs").retrieve().bodyToMono(String.class);
+    }
+}
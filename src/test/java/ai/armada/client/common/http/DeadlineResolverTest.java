@@ -0,0 +1,69 @@
+package ai.armada.client.common.http;
+
+import ai.armada.client.config.ArmadaApiProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineResolverTest {
+
+    private ArmadaApiProperties properties;
+    private DeadlineResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ArmadaApiProperties();
+        properties.getDeadlines().getEndpoints()
+                .put("/api/organizations/*/data-pools/*/service-lines/data-usage", Duration.ofSeconds(3));
+        resolver = new DeadlineResolver(properties);
+    }
+
+    @Test
+    void resolve_WhenNothingConfigured_ShouldReturnNull() {
+        assertNull(resolver.resolve("/api/orgs", null));
+    }
+
+    @Test
+    void resolve_WhenEndpointConfigured_ShouldUseEndpointBudget() {
+        Deadline deadline = resolver.resolve("/api/organizations/org-1/data-pools/dp-1/service-lines/data-usage", null);
+
+        assertNotNull(deadline);
+        assertTrue(deadline.remaining().compareTo(Duration.ofSeconds(2)) > 0);
+        assertTrue(deadline.remaining().compareTo(Duration.ofSeconds(3)) <= 0);
+    }
+
+    @Test
+    void resolve_WhenHeaderTighterThanEndpoint_ShouldUseHeader() {
+        Deadline deadline = resolver.resolve("/api/organizations/org-1/data-pools/dp-1/service-lines/data-usage", "500");
+
+        assertTrue(deadline.remaining().compareTo(Duration.ofMillis(500)) <= 0);
+    }
+
+    @Test
+    void resolve_WhenHeaderHuge_ShouldCapItAtMaxHeaderBudget() {
+        properties.getDeadlines().setMaxHeaderBudget(Duration.ofSeconds(10));
+
+        Deadline deadline = resolver.resolve("/api/orgs", String.valueOf(Long.MAX_VALUE));
+
+        assertFalse(deadline.isExpired());
+        assertTrue(deadline.remaining().compareTo(Duration.ofSeconds(10)) <= 0);
+        assertTrue(deadline.remaining().compareTo(Duration.ofSeconds(9)) > 0);
+    }
+
+    @Test
+    void resolve_WhenHeaderLooserThanDefault_ShouldUseDefault() {
+        properties.getDeadlines().setDefaultBudget(Duration.ofSeconds(1));
+
+        Deadline deadline = resolver.resolve("/api/orgs", "60000");
+
+        assertTrue(deadline.remaining().compareTo(Duration.ofSeconds(1)) <= 0);
+    }
+
+    @Test
+    void resolve_WhenHeaderInvalid_ShouldIgnoreIt() {
+        assertNull(resolver.resolve("/api/orgs", "soon"));
+    }
+}
@@ -0,0 +1,190 @@
+package ai.armada.client.common.http;
+
+import ai.armada.client.config.ArmadaApiProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgerTest {
+
+    private ArmadaApiProperties.Hedging config;
+    private Deque<Mono<String>> responses;
+    private AtomicInteger attempts;
+    private Mono<String> call;
+
+    @BeforeEach
+    void setUp() {
+        config = new ArmadaApiProperties.Hedging();
+        config.setEnabled(true);
+        config.setPercentile(50);
+        config.setBudgetPercent(100);
+        config.setMinSamples(10);
+        config.setWindowSize(10);
+        config.setMinDelay(Duration.ofMillis(20));
+        responses = new ArrayDeque<>();
+        attempts = new AtomicInteger();
+        // Each subscription is one upstream attempt and takes the next scripted response
+        call = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            Mono<String> next = responses.pollFirst();
+            return next != null ? next : Mono.just("fast");
+        });
+    }
+
+    private void warmUp(Hedger hedger) {
+        // Twice the window, so the first, slower calls have left it
+        for (int i = 0; i < 2 * config.getWindowSize(); i++) {
+            assertEquals("fast", hedger.hedge("usage", call).block());
+        }
+        attempts.set(0);
+    }
+
+    @Test
+    void hedge_WhenCallIsSlow_ShouldSendSecondCopyAndCancelTheFirst() {
+        Hedger hedger = new Hedger("service line", config);
+        warmUp(hedger);
+        AtomicBoolean primaryCancelled = new AtomicBoolean();
+        responses.add(Mono.<String>never().doOnCancel(() -> primaryCancelled.set(true)));
+        responses.add(Mono.just("hedged"));
+
+        StepVerifier.create(hedger.hedge("usage", call))
+                .expectNext("hedged")
+                .verifyComplete();
+
+        assertEquals(2, attempts.get());
+        assertTrue(primaryCancelled.get());
+        assertEquals(1, hedger.getHedges());
+        assertEquals(1, hedger.getHedgesWon());
+        assertEquals(Duration.ofMillis(20), hedger.getHedgeDelay("usage"));
+    }
+
+    @Test
+    void hedge_WhenSecondCopyWins_ShouldMeasureFromTheFirstCallsStart() {
+        config.setMinDelay(Duration.ofMillis(50));
+        Hedger hedger = new Hedger("service line", config);
+        warmUp(hedger);
+        assertEquals(Duration.ofMillis(50), hedger.getHedgeDelay("usage"));
+
+        for (int i = 0; i < config.getWindowSize(); i++) {
+            responses.add(Mono.never());
+            responses.add(Mono.just("hedged"));
+            StepVerifier.create(hedger.hedge("usage", call))
+                    .expectNext("hedged")
+                    .verifyComplete();
+        }
+
+        // The instant second copies alone would have kept the percentile near zero
+        assertTrue(hedger.getHedgeDelay("usage").compareTo(Duration.ofMillis(50)) > 0);
+    }
+
+    @Test
+    void hedge_WhenCallsCancelled_ShouldRecordTheirElapsedTime() {
+        Hedger hedger = new Hedger("service line", config);
+        warmUp(hedger);
+
+        for (int i = 0; i < config.getWindowSize(); i++) {
+            responses.add(Mono.never());
+            StepVerifier.create(hedger.hedge("usage", call).contextWrite(Priority.BACKGROUND.asContext()))
+                    .expectSubscription()
+                    .expectNoEvent(Duration.ofMillis(30))
+                    .thenCancel()
+                    .verify();
+        }
+
+        assertTrue(hedger.getHedgeDelay("usage").compareTo(Duration.ofMillis(30)) >= 0);
+    }
+
+    @Test
+    void hedge_WhenResourceNotObservedEnough_ShouldNotHedge() {
+        Hedger hedger = new Hedger("service line", config);
+        responses.add(Mono.delay(Duration.ofMillis(200)).thenReturn("slow"));
+
+        StepVerifier.create(hedger.hedge("usage", call))
+                .expectNext("slow")
+                .verifyComplete();
+
+        assertEquals(1, attempts.get());
+        assertNull(hedger.getHedgeDelay("usage"));
+    }
+
+    @Test
+    void hedge_WhenBudgetSpent_ShouldWaitForTheFirstCall() {
+        config.setBudgetPercent(1);
+        Hedger hedger = new Hedger("service line", config);
+        warmUp(hedger);
+        responses.add(Mono.delay(Duration.ofMillis(200)).thenReturn("slow"));
+
+        StepVerifier.create(hedger.hedge("usage", call))
+                .expectNext("slow")
+                .verifyComplete();
+
+        assertEquals(1, attempts.get());
+        assertEquals(0, hedger.getHedges());
+        assertEquals(1, hedger.getHedgesDenied());
+    }
+
+    @Test
+    void hedge_WhenSecondCopyFails_ShouldUseTheFirstCall() {
+        Hedger hedger = new Hedger("service line", config);
+        warmUp(hedger);
+        responses.add(Mono.delay(Duration.ofMillis(200)).thenReturn("slow"));
+        responses.add(Mono.error(new IllegalStateException("boom")));
+
+        StepVerifier.create(hedger.hedge("usage", call))
+                .expectNext("slow")
+                .verifyComplete();
+
+        assertEquals(2, attempts.get());
+        assertEquals(0, hedger.getHedgesWon());
+    }
+
+    @Test
+    void hedge_WhenBackgroundCall_ShouldNotHedge() {
+        Hedger hedger = new Hedger("service line", config);
+        warmUp(hedger);
+        responses.add(Mono.delay(Duration.ofMillis(200)).thenReturn("slow"));
+
+        StepVerifier.create(hedger.hedge("usage", call).contextWrite(Priority.BACKGROUND.asContext()))
+                .expectNext("slow")
+                .verifyComplete();
+
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void hedge_WhenBulkheadHasQueue_ShouldNotHedge() {
+        Bulkhead bulkhead = new Bulkhead("service line", 1, 10);
+        Hedger hedger = new Hedger("service line", config, bulkhead);
+        warmUp(hedger);
+        bulkhead.acquire().subscribe();
+        Disposable queued = bulkhead.acquire().subscribe();
+        responses.add(Mono.delay(Duration.ofMillis(200)).thenReturn("slow"));
+
+        StepVerifier.create(hedger.hedge("usage", call))
+                .expectNext("slow")
+                .verifyComplete();
+
+        assertEquals(1, attempts.get());
+        assertEquals(0, hedger.getHedges());
+        assertEquals(1, hedger.getHedgesSkipped());
+        queued.dispose();
+    }
+
+    @Test
+    void hedge_WhenDisabled_ShouldReturnCallUnchanged() {
+        config.setEnabled(false);
+        Hedger hedger = new Hedger("service line", config);
+
+        assertSame(call, hedger.hedge("usage", call));
+    }
+}
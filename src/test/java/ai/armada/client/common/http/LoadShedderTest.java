@@ -0,0 +1,162 @@
+package ai.armada.client.common.http;
+
+import ai.armada.client.config.ArmadaApiProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadShedderTest {
+
+    private static final String PATH = "/api/organizations/org-1/data-pools";
+
+    private ArmadaApiProperties properties;
+    private UpstreamLoadMonitor monitor;
+    private Bulkhead bulkhead;
+    private LoadShedder loadShedder;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ArmadaApiProperties();
+        properties.getLoadShedding().setMaxInFlight(2);
+        properties.getLoadShedding().setMaxQueued(2);
+        monitor = new UpstreamLoadMonitor();
+        bulkhead = new Bulkhead("test", 1, 10);
+        loadShedder = new LoadShedder(properties, monitor, List.of(bulkhead));
+    }
+
+    @Test
+    void check_WhenUpstreamIdle_ShouldAdmit() {
+        assertNull(loadShedder.check(PATH));
+        assertEquals(0, loadShedder.getShedRequests());
+    }
+
+    @Test
+    void check_WhenTooManyCallsInFlight_ShouldReject() {
+        Sinks.One<ClientResponse> pending = Sinks.one();
+        monitor.filter(request(), req -> pending.asMono()).subscribe();
+        monitor.filter(request(), req -> pending.asMono()).subscribe();
+
+        assertEquals(2, monitor.getInFlight());
+        assertEquals(Duration.ofSeconds(1), loadShedder.check(PATH));
+        assertEquals(1, loadShedder.getShedRequests());
+    }
+
+    @Test
+    void check_WhenTooManyCallsQueuedInBulkheads_ShouldReject() {
+        bulkhead.acquire().subscribe();
+        Disposable first = bulkhead.acquire().subscribe();
+        Disposable second = bulkhead.acquire().subscribe();
+
+        assertEquals(0, monitor.getInFlight());
+        assertEquals(2, loadShedder.getQueuedCalls());
+        assertEquals(Duration.ofSeconds(1), loadShedder.check(PATH));
+        assertEquals(1, loadShedder.getShedRequests());
+
+        first.dispose();
+        second.dispose();
+    }
+
+    @Test
+    void check_WhenPathNotCovered_ShouldAdmit() {
+        Sinks.One<ClientResponse> pending = Sinks.one();
+        monitor.filter(request(), req -> pending.asMono()).subscribe();
+        monitor.filter(request(), req -> pending.asMono()).subscribe();
+
+        assertNull(loadShedder.check("/api/token/status"));
+    }
+
+    @Test
+    void check_WhenLatencyFarAboveThreshold_ShouldRejectAndAdvertiseLatency() {
+        properties.getLoadShedding().setLatencyThreshold(Duration.ofMillis(10));
+        properties.getLoadShedding().setMaxShedRatio(1.0);
+
+        monitor.filter(request(), req -> Mono.delay(Duration.ofMillis(150)).then(Mono.just(ok())))
+                .flatMap(ClientResponse::releaseBody)
+                .block();
+
+        // The body's completion is recorded after it has been signalled to the subscriber
+        await().atMost(Duration.ofSeconds(5)).until(() -> monitor.getInFlight() == 0);
+        assertEquals(Duration.ofSeconds(1), loadShedder.check(PATH));
+    }
+
+    @Test
+    void check_WhenLatencySampleStale_ShouldAdmit() {
+        properties.getLoadShedding().setLatencyThreshold(Duration.ofMillis(10));
+        properties.getLoadShedding().setLatencyWindow(Duration.ZERO);
+        properties.getLoadShedding().setMaxShedRatio(1.0);
+
+        monitor.filter(request(), req -> Mono.delay(Duration.ofMillis(50)).then(Mono.just(ok())))
+                .flatMap(ClientResponse::releaseBody)
+                .block();
+        await().atMost(Duration.ofSeconds(5)).until(() -> monitor.getInFlight() == 0);
+
+        assertNull(loadShedder.check(PATH));
+    }
+
+    @Test
+    void cancelledCall_ShouldLeaveFlightWithoutLatencySample() {
+        Sinks.One<ClientResponse> pending = Sinks.one();
+        monitor.filter(request(), req -> pending.asMono()).subscribe().dispose();
+
+        assertEquals(0, monitor.getInFlight());
+        assertNull(monitor.getAverageLatency(Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void cancelledCall_WhenSlowerThanAverage_ShouldRaiseLatency() throws InterruptedException {
+        monitor.filter(request(), req -> Mono.just(ok()))
+                .flatMap(ClientResponse::releaseBody)
+                .block();
+        Duration fast = monitor.getAverageLatency(Duration.ofMinutes(1));
+        Sinks.One<ClientResponse> pending = Sinks.one();
+        Disposable slow = monitor.filter(request(), req -> pending.asMono()).subscribe();
+
+        Thread.sleep(50);
+        slow.dispose();
+
+        assertTrue(monitor.getAverageLatency(Duration.ofMinutes(1)).compareTo(fast) > 0);
+    }
+
+    @Test
+    void servletFilter_WhenShedding_ShouldRespond503WithRetryAfter() throws Exception {
+        Sinks.One<ClientResponse> pending = Sinks.one();
+        monitor.filter(request(), req -> pending.asMono()).subscribe();
+        monitor.filter(request(), req -> pending.asMono()).subscribe();
+        LoadSheddingServletFilter filter = new LoadSheddingServletFilter(loadShedder, new ObjectMapper().findAndRegisterModules());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", PATH);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("SERVICE_OVERLOADED"));
+        assertNull(chain.getRequest());
+    }
+
+    private static ClientRequest request() {
+        return ClientRequest.create(HttpMethod.GET, URI.create("http://upstream/orgs")).build();
+    }
+
+    private static ClientResponse ok() {
+        return ClientResponse.create(HttpStatus.OK).build();
+    }
+}
@@ -0,0 +1,239 @@
+package ai.armada.client.common.http;
+
+import ai.armada.client.config.ArmadaApiProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private static final String DATA_POOL_USAGE = "/v1/organizations/{orgId}/data-pools/{dataPoolId}/data-usage";
+    private static final String SERVICE_LINE_USAGE =
+            "/v1/organizations/{orgId}/data-pools/{dataPoolId}/service-lines/{serviceLineId}/data-usage";
+
+    private ArmadaApiProperties properties;
+    private AtomicInteger calls;
+    private ExchangeFunction ok;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ArmadaApiProperties();
+        ArmadaApiProperties.Endpoints endpoints = new ArmadaApiProperties.Endpoints();
+        ArmadaApiProperties.Endpoints.Organizations organizations = new ArmadaApiProperties.Endpoints.Organizations();
+        organizations.setDataPoolUsage(DATA_POOL_USAGE);
+        organizations.setServiceLineUsage(SERVICE_LINE_USAGE);
+        endpoints.setOrganizations(organizations);
+        properties.setEndpoints(endpoints);
+        ArmadaApiProperties.Credentials credentials = new ArmadaApiProperties.Credentials();
+        credentials.setApiKeyId("key-1");
+        properties.setCredentials(credentials);
+        ArmadaApiProperties.RateLimiting rateLimiting = properties.getRateLimiting();
+        rateLimiting.setBurst(2);
+        rateLimiting.setMaxWait(Duration.ofSeconds(5));
+
+        calls = new AtomicInteger();
+        ok = request -> Mono.fromCallable(() -> {
+            calls.incrementAndGet();
+            return ClientResponse.create(HttpStatus.OK).build();
+        });
+    }
+
+    private static ClientRequest request(String path) {
+        return ClientRequest.create(HttpMethod.GET, URI.create(path)).build();
+    }
+
+    private ExchangeFunction status(HttpStatus status) {
+        return request -> Mono.fromCallable(() -> {
+            calls.incrementAndGet();
+            return ClientResponse.create(status).build();
+        });
+    }
+
+    /**
+     * Sends {@code okCalls} calls and then one that gets a {@code 429}, which makes the bucket pace
+     * at half of those calls per second
+     */
+    private void startPacing(RateLimiter limiter, ClientRequest request, int okCalls, String retryAfter) {
+        for (int i = 0; i < okCalls; i++) {
+            StepVerifier.create(limiter.filter(request, ok)).expectNextCount(1).verifyComplete();
+        }
+        StepVerifier.create(limiter.filter(request, rateLimited(retryAfter))).expectNextCount(1).verifyComplete();
+    }
+
+    private static ExchangeFunction rateLimited(String retryAfter) {
+        return request -> Mono.just(ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, retryAfter)
+                .build());
+    }
+
+    @Test
+    void filter_WhenNoRateLimitSeen_ShouldNotPaceCalls() {
+        RateLimiter limiter = new RateLimiter(properties);
+        ClientRequest request = request("/v1/organizations/org-1/data-pools/dp-1/data-usage");
+
+        for (int i = 0; i < 50; i++) {
+            StepVerifier.create(limiter.filter(request, ok)).expectNextCount(1).verifyComplete();
+        }
+
+        assertEquals(50, calls.get());
+        assertEquals(0, limiter.getDelayedCalls());
+        assertTrue(limiter.getRates().isEmpty());
+    }
+
+    @Test
+    void filter_WhenPacedAndBurstUsedUp_ShouldDelayFurtherCalls() {
+        // A steady, slow rate keeps the burst exact however long the calls take to run
+        properties.getRateLimiting().setIncrease(0);
+        RateLimiter limiter = new RateLimiter(properties);
+        ClientRequest request = request("/v1/organizations/org-1/data-pools/dp-1/data-usage");
+        startPacing(limiter, request, 3, "0");
+
+        // After a 429 the bucket resumes at its rate rather than with a burst
+        StepVerifier.create(limiter.filter(request, ok)).expectNextCount(1).verifyComplete();
+        assertEquals(0, limiter.getDelayedCalls());
+
+        long start = System.nanoTime();
+        StepVerifier.create(limiter.filter(request, ok)).expectNextCount(1).verifyComplete();
+
+        assertEquals(1, limiter.getDelayedCalls());
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(100).toNanos());
+        assertEquals(5, calls.get());
+    }
+
+    @Test
+    void filter_WhenUpstreamReturns429_ShouldPauseForRetryAfterAndPaceAtHalfTheSentRate() {
+        RateLimiter limiter = new RateLimiter(properties);
+        ClientRequest request = request("/v1/organizations/org-1/data-pools/dp-1/data-usage");
+
+        startPacing(limiter, request, 3, "10");
+
+        StepVerifier.create(limiter.filter(request, ok))
+                .expectErrorSatisfies(e -> {
+                    assertInstanceOf(UpstreamRejectedException.class, e);
+                    assertEquals("RATE_LIMITED", ((UpstreamRejectedException) e).getErrorCode());
+                })
+                .verify();
+        assertEquals(3, calls.get());
+        assertEquals(1, limiter.getRateLimitedResponses());
+        assertEquals(1, limiter.getRejectedCalls());
+        // Four calls went out in the last second
+        assertEquals(2.0, limiter.getRates().get("key-1 GET " + DATA_POOL_USAGE));
+    }
+
+    @Test
+    void filter_WhenRetryAfterIsHttpDate_ShouldPauseUntilThen() {
+        RateLimiter limiter = new RateLimiter(properties);
+        ClientRequest request = request("/v1/organizations/org-1/data-pools/dp-1/data-usage");
+        String inThirtySeconds = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().plusSeconds(30));
+
+        StepVerifier.create(limiter.filter(request, rateLimited(inThirtySeconds))).expectNextCount(1).verifyComplete();
+
+        StepVerifier.create(limiter.filter(request, ok)).verifyError(UpstreamRejectedException.class);
+    }
+
+    @Test
+    void filter_WhenRetryAfterShort_ShouldSendCallAfterPause() {
+        RateLimiter limiter = new RateLimiter(properties);
+        ClientRequest request = request("/v1/organizations/org-1/data-pools/dp-1/data-usage");
+        StepVerifier.create(limiter.filter(request, rateLimited("0"))).expectNextCount(1).verifyComplete();
+
+        StepVerifier.create(limiter.filter(request, ok)).expectNextCount(1).verifyComplete();
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void filter_WhenWaitExceedsDeadline_ShouldFailWithDeadlineExceeded() {
+        RateLimiter limiter = new RateLimiter(properties);
+        ClientRequest request = request("/v1/organizations/org-1/data-pools/dp-1/data-usage");
+        StepVerifier.create(limiter.filter(request, rateLimited("2"))).expectNextCount(1).verifyComplete();
+
+        StepVerifier.create(limiter.filter(request, ok)
+                        .contextWrite(context -> context.put(Deadline.class, Deadline.after(Duration.ofMillis(500)))))
+                .verifyError(DeadlineExceededException.class);
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void filter_WhenPathsMatchSameTemplate_ShouldShareOneBucket() {
+        RateLimiter limiter = new RateLimiter(properties);
+
+        StepVerifier.create(limiter.filter(request("/v1/organizations/org-1/data-pools/dp-1/data-usage"),
+                        rateLimited("10")))
+                .expectNextCount(1).verifyComplete();
+        StepVerifier.create(limiter.filter(request("/v1/organizations/org-2/data-pools/dp-9/data-usage"), ok))
+                .verifyError(UpstreamRejectedException.class);
+        StepVerifier.create(limiter.filter(
+                        request("/v1/organizations/org-1/data-pools/dp-1/service-lines/sl-1/data-usage"), ok))
+                .expectNextCount(1).verifyComplete();
+
+        assertEquals(1, calls.get());
+        assertEquals(Set.of("key-1 GET " + DATA_POOL_USAGE), limiter.getRates().keySet());
+    }
+
+    @Test
+    void filter_WhenPacedCallsSucceed_ShouldRaiseRate() {
+        RateLimiter limiter = new RateLimiter(properties);
+        ClientRequest request = request("/v1/organizations/org-1/data-pools/dp-1/data-usage");
+        startPacing(limiter, request, 3, "0");
+
+        StepVerifier.create(limiter.filter(request, ok)).expectNextCount(1).verifyComplete();
+
+        assertTrue(limiter.getRates().get("key-1 GET " + DATA_POOL_USAGE) > 2.0);
+    }
+
+    @Test
+    void filter_WhenPacedCallsFailWithServerError_ShouldKeepRate() {
+        RateLimiter limiter = new RateLimiter(properties);
+        ClientRequest request = request("/v1/organizations/org-1/data-pools/dp-1/data-usage");
+        startPacing(limiter, request, 3, "0");
+
+        StepVerifier.create(limiter.filter(request, status(HttpStatus.SERVICE_UNAVAILABLE)))
+                .expectNextCount(1).verifyComplete();
+
+        assertEquals(2.0, limiter.getRates().get("key-1 GET " + DATA_POOL_USAGE));
+    }
+
+    @Test
+    void filter_WhenRateBackAtMaxRate_ShouldStopPacing() {
+        properties.getRateLimiting().setMaxRate(3);
+        properties.getRateLimiting().setIncrease(10);
+        RateLimiter limiter = new RateLimiter(properties);
+        ClientRequest request = request("/v1/organizations/org-1/data-pools/dp-1/data-usage");
+        startPacing(limiter, request, 3, "0");
+        assertEquals(2.0, limiter.getRates().get("key-1 GET " + DATA_POOL_USAGE));
+
+        StepVerifier.create(limiter.filter(request, ok)).expectNextCount(1).verifyComplete();
+
+        assertTrue(limiter.getRates().isEmpty());
+    }
+
+    @Test
+    void filter_WhenDisabled_ShouldPassCallsThrough() {
+        properties.getRateLimiting().setEnabled(false);
+        RateLimiter limiter = new RateLimiter(properties);
+        ClientRequest request = request("/v1/organizations/org-1/data-pools/dp-1/data-usage");
+
+        StepVerifier.create(limiter.filter(request, rateLimited("10"))).expectNextCount(1).verifyComplete();
+        StepVerifier.create(limiter.filter(request, ok)).expectNextCount(1).verifyComplete();
+
+        assertEquals(1, calls.get());
+        assertTrue(limiter.getRates().isEmpty());
+    }
+}
@@ -0,0 +1,144 @@
+package ai.armada.client.common.http;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCollapserTest {
+
+    private final AtomicInteger singleCalls = new AtomicInteger();
+    private final List<Set<String>> batchCalls = new CopyOnWriteArrayList<>();
+
+    private final Function<Set<String>, Mono<Map<String, String>>> batchCall = items -> {
+        batchCalls.add(items);
+        return Mono.just(items.stream()
+                .filter(item -> !item.equals("missing"))
+                .collect(Collectors.toMap(item -> item, item -> "batch:" + item)));
+    };
+
+    private Mono<String> single(String item) {
+        return Mono.fromCallable(() -> {
+            singleCalls.incrementAndGet();
+            return "single:" + item;
+        });
+    }
+
+    @Test
+    void collapse_WhenEnoughItemsInWindow_ShouldAnswerAllFromOneBatch() {
+        RequestCollapser<String, String> collapser = new RequestCollapser<>("test", true, Duration.ofMillis(50), 3);
+
+        List<String> results = Flux.just("a", "b", "c", "a")
+                .flatMapSequential(item -> collapser.collapse("pool-1", item, batchCall, single(item)))
+                .collectList()
+                .block();
+
+        assertEquals(List.of("batch:a", "batch:b", "batch:c", "batch:a"), results);
+        assertEquals(List.of(Set.of("a", "b", "c")), batchCalls);
+        assertEquals(0, singleCalls.get());
+        assertEquals(1, collapser.getBatches());
+        assertEquals(4, collapser.getRequests());
+    }
+
+    @Test
+    void collapse_WhenTooFewItems_ShouldMakeSingleCalls() {
+        RequestCollapser<String, String> collapser = new RequestCollapser<>("test", true, Duration.ofMillis(50), 3);
+
+        List<String> results = Flux.just("a", "b")
+                .flatMapSequential(item -> collapser.collapse("pool-1", item, batchCall, single(item)))
+                .collectList()
+                .block();
+
+        assertEquals(List.of("single:a", "single:b"), results);
+        assertTrue(batchCalls.isEmpty());
+        assertEquals(2, singleCalls.get());
+    }
+
+    @Test
+    void collapse_WhenBatchKeysDiffer_ShouldNotMixBatches() {
+        RequestCollapser<String, String> collapser = new RequestCollapser<>("test", true, Duration.ofMillis(50), 2);
+
+        Flux.just("a", "b")
+                .flatMap(item -> Flux.merge(
+                        collapser.collapse("pool-1", item, batchCall, single(item)),
+                        collapser.collapse("pool-2", item, batchCall, single(item))))
+                .blockLast();
+
+        assertEquals(2, batchCalls.size());
+    }
+
+    @Test
+    void collapse_WhenItemMissingFromBatch_ShouldFallBackToSingleCall() {
+        RequestCollapser<String, String> collapser = new RequestCollapser<>("test", true, Duration.ofMillis(50), 2);
+
+        List<String> results = Flux.just("a", "missing")
+                .flatMapSequential(item -> collapser.collapse("pool-1", item, batchCall, single(item)))
+                .collectList()
+                .block();
+
+        assertEquals(List.of("batch:a", "single:missing"), results);
+    }
+
+    @Test
+    void collapse_WhenBatchCallFails_ShouldFallBackToSingleCalls() {
+        RequestCollapser<String, String> collapser = new RequestCollapser<>("test", true, Duration.ofMillis(50), 2);
+        Function<Set<String>, Mono<Map<String, String>>> failingBatchCall =
+                items -> Mono.error(new IllegalStateException("boom"));
+
+        List<String> results = Flux.just("a", "b")
+                .flatMapSequential(item -> collapser.collapse("pool-1", item, failingBatchCall, single(item)))
+                .collectList()
+                .block();
+
+        assertEquals(List.of("single:a", "single:b"), results);
+        assertEquals(2, singleCalls.get());
+        assertEquals(1, collapser.getFailedBatches());
+    }
+
+    @Test
+    void collapse_AfterWindowCloses_ShouldOpenNewWindow() {
+        RequestCollapser<String, String> collapser = new RequestCollapser<>("test", true, Duration.ofMillis(20), 2);
+
+        Flux.just("a", "b")
+                .flatMap(item -> collapser.collapse("pool-1", item, batchCall, single(item)))
+                .blockLast();
+        Flux.just("c", "d")
+                .flatMap(item -> collapser.collapse("pool-1", item, batchCall, single(item)))
+                .blockLast();
+
+        assertEquals(List.of(Set.of("a", "b"), Set.of("c", "d")), batchCalls);
+    }
+
+    @Test
+    void collapse_WhenDisabled_ShouldCallDirectly() {
+        RequestCollapser<String, String> collapser = new RequestCollapser<>("test", false, Duration.ofMillis(50), 2);
+
+        List<String> results = Flux.just("a", "b", "c")
+                .flatMapSequential(item -> collapser.collapse("pool-1", item, batchCall, single(item)))
+                .collectList()
+                .block();
+
+        assertEquals(List.of("single:a", "single:b", "single:c"), results);
+        assertEquals(0, collapser.getRequests());
+    }
+
+    @Test
+    void collapse_WhenCallerDeadlineShorterThanWindow_ShouldFailThatCaller() {
+        RequestCollapser<String, String> collapser = new RequestCollapser<>("test", true, Duration.ofMillis(200), 2);
+
+        Mono<String> call = collapser.collapse("pool-1", "a", batchCall, single("a"))
+                .contextWrite(context -> context.put(Deadline.class, Deadline.after(Duration.ofMillis(20))));
+
+        assertThrows(DeadlineExceededException.class, call::block);
+    }
+}
@@ -0,0 +1,180 @@
+package ai.armada.client.common.http;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseIndexTest {
+
+    private record Item(String id, String value) {
+    }
+
+    private AtomicInteger listCalls;
+    private AtomicInteger singleCalls;
+    private Mono<List<Item>> listCall;
+
+    @BeforeEach
+    void setUp() {
+        listCalls = new AtomicInteger();
+        singleCalls = new AtomicInteger();
+        listCall = Mono.fromCallable(() -> {
+            listCalls.incrementAndGet();
+            return List.of(new Item("a", "listed-a"), new Item("b", "listed-b"));
+        });
+    }
+
+    private Mono<Item> single(String id) {
+        return Mono.fromCallable(() -> {
+            singleCalls.incrementAndGet();
+            return new Item(id, "single-" + id);
+        });
+    }
+
+    private ResponseIndex<Item> index(Duration maxAge, Duration missRefreshInterval) {
+        return new ResponseIndex<>("items", true, maxAge, missRefreshInterval, Item::id);
+    }
+
+    @Test
+    void lookup_WhenListIsFresh_ShouldAnswerFromIt() {
+        ResponseIndex<Item> index = index(Duration.ofMinutes(1), Duration.ofSeconds(5));
+        index.put("parent", List.of(new Item("a", "listed-a")));
+
+        StepVerifier.create(index.lookup("parent", "a", listCall, single("a")))
+                .assertNext(item -> assertEquals("listed-a", item.value()))
+                .verifyComplete();
+
+        assertEquals(0, listCalls.get());
+        assertEquals(0, singleCalls.get());
+        assertEquals(1, index.getHits());
+    }
+
+    @Test
+    void lookup_WhenNothingIndexed_ShouldFetchListOnceForSeveralItems() {
+        ResponseIndex<Item> index = index(Duration.ofMinutes(1), Duration.ofSeconds(5));
+
+        StepVerifier.create(index.lookup("parent", "a", listCall, single("a")))
+                .assertNext(item -> assertEquals("listed-a", item.value()))
+                .verifyComplete();
+        StepVerifier.create(index.lookup("parent", "b", listCall, single("b")))
+                .assertNext(item -> assertEquals("listed-b", item.value()))
+                .verifyComplete();
+
+        assertEquals(1, listCalls.get());
+        assertEquals(0, singleCalls.get());
+        assertEquals(1, index.getRefreshes());
+    }
+
+    @Test
+    void lookup_WhenItemMissingFromRefreshedList_ShouldUseSingleCall() {
+        ResponseIndex<Item> index = index(Duration.ofMinutes(1), Duration.ofSeconds(5));
+
+        StepVerifier.create(index.lookup("parent", "c", listCall, single("c")))
+                .assertNext(item -> assertEquals("single-c", item.value()))
+                .verifyComplete();
+
+        assertEquals(1, listCalls.get());
+        assertEquals(1, singleCalls.get());
+    }
+
+    @Test
+    void lookup_WhenListRefreshedRecently_ShouldNotRefreshAgainOnMiss() {
+        ResponseIndex<Item> index = index(Duration.ofMinutes(1), Duration.ofSeconds(5));
+        index.put("parent", List.of(new Item("a", "listed-a")));
+
+        StepVerifier.create(index.lookup("parent", "c", listCall, single("c")))
+                .assertNext(item -> assertEquals("single-c", item.value()))
+                .verifyComplete();
+
+        assertEquals(0, listCalls.get());
+        assertEquals(1, singleCalls.get());
+        assertEquals(1, index.getMisses());
+    }
+
+    @Test
+    void lookup_WhenRefreshKeptNoList_ShouldNotRefreshAgainOnMiss() {
+        ResponseIndex<Item> index = index(Duration.ofMinutes(1), Duration.ofSeconds(5));
+        // The list call answers nothing, so no list is held afterwards
+        Mono<List<Item>> emptyListCall = Mono.fromRunnable(listCalls::incrementAndGet);
+        index.lookup("parent", "c", emptyListCall, single("c")).block();
+
+        StepVerifier.create(index.lookup("parent", "c", listCall, single("c")))
+                .assertNext(item -> assertEquals("single-c", item.value()))
+                .verifyComplete();
+
+        assertEquals(1, listCalls.get());
+        assertEquals(1, index.getRefreshes());
+        assertEquals(2, singleCalls.get());
+    }
+
+    @Test
+    void put_WhenOtherListsExpired_ShouldEvictThem() throws InterruptedException {
+        ResponseIndex<Item> index = index(Duration.ofMillis(20), Duration.ZERO);
+        index.put("parent-1", List.of(new Item("a", "listed-a")));
+        index.put("parent-2", List.of(new Item("a", "listed-a")));
+        Thread.sleep(40);
+        index.put("parent-3", List.of(new Item("a", "listed-a")));
+
+        assertEquals(1, index.getSize());
+    }
+
+    @Test
+    void lookup_WhenListExpired_ShouldRefreshIt() throws InterruptedException {
+        ResponseIndex<Item> index = index(Duration.ofMillis(20), Duration.ZERO);
+        index.put("parent", List.of(new Item("a", "stale-a")));
+        Thread.sleep(40);
+
+        StepVerifier.create(index.lookup("parent", "a", listCall, single("a")))
+                .assertNext(item -> assertEquals("listed-a", item.value()))
+                .verifyComplete();
+
+        assertEquals(1, listCalls.get());
+    }
+
+    @Test
+    void lookup_WhenParentsDiffer_ShouldKeepListsApart() {
+        ResponseIndex<Item> index = index(Duration.ofMinutes(1), Duration.ofSeconds(5));
+        index.put(List.of("org-1", "dp-1"), List.of(new Item("a", "dp-1-a")));
+
+        StepVerifier.create(index.lookup(List.of("org-1", "dp-2"), "a", listCall, single("a")))
+                .assertNext(item -> assertEquals("listed-a", item.value()))
+                .verifyComplete();
+
+        assertEquals(1, listCalls.get());
+        assertEquals(2, index.getSize());
+    }
+
+    @Test
+    void get_WhenListIsFresh_ShouldReturnIndexedItemOnly() throws InterruptedException {
+        ResponseIndex<Item> index = index(Duration.ofMillis(100), Duration.ZERO);
+        index.put("parent", List.of(new Item("a", "listed-a")));
+
+        assertEquals("listed-a", index.get("parent", "a").value());
+        assertNull(index.get("parent", "b"));
+        assertNull(index.get("other", "a"));
+        Thread.sleep(150);
+        assertNull(index.get("parent", "a"));
+
+        assertEquals(1, index.getHits());
+        assertEquals(3, index.getMisses());
+    }
+
+    @Test
+    void lookup_WhenDisabled_ShouldAlwaysUseSingleCall() {
+        ResponseIndex<Item> index = new ResponseIndex<>("items", false, Duration.ofMinutes(1), Duration.ZERO, Item::id);
+        index.put("parent", List.of(new Item("a", "listed-a")));
+
+        StepVerifier.create(index.lookup("parent", "a", listCall, single("a")))
+                .assertNext(item -> assertEquals("single-a", item.value()))
+                .verifyComplete();
+
+        assertEquals(0, listCalls.get());
+        assertEquals(0, index.getSize());
+    }
+}
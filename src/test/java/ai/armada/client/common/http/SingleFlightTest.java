@@ -0,0 +1,140 @@
+package ai.armada.client.common.http;
+
+import ai.armada.client.config.ArmadaApiProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private ArmadaApiProperties properties;
+    private SingleFlight singleFlight;
+    private AtomicInteger subscriptions;
+    private AtomicBoolean cancelled;
+    private Sinks.One<String> response;
+    private Mono<String> upstream;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ArmadaApiProperties();
+        singleFlight = new SingleFlight(properties);
+        subscriptions = new AtomicInteger();
+        cancelled = new AtomicBoolean();
+        response = Sinks.one();
+        upstream = response.asMono()
+                .doOnSubscribe(subscription -> subscriptions.incrementAndGet())
+                .doOnCancel(() -> cancelled.set(true));
+    }
+
+    @Test
+    void execute_WhenSameKeyInFlight_ShouldShareOneUpstreamCall() {
+        Object key = SingleFlight.key("/v1/orgs/org-1/data-pools/dp-1/data-usage", String.class, "token");
+        Mono<String> first = singleFlight.execute(key, upstream);
+        Mono<String> second = singleFlight.execute(key, upstream);
+
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> response.tryEmitValue("usage"))
+                .assertNext(results -> {
+                    assertEquals("usage", results.getT1());
+                    assertEquals("usage", results.getT2());
+                })
+                .verifyComplete();
+
+        assertEquals(1, subscriptions.get());
+        assertEquals(2.0, singleFlight.getFanInRatio());
+        assertEquals(1, singleFlight.getCoalescedCalls());
+        assertEquals(0, singleFlight.getInFlight());
+    }
+
+    @Test
+    void execute_WhenKeysDiffer_ShouldCallUpstreamForEach() {
+        Mono<String> first = singleFlight.execute(SingleFlight.key("/a", String.class, "token"), upstream);
+        Mono<String> second = singleFlight.execute(SingleFlight.key("/a", String.class, "other-token"), upstream);
+
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> response.tryEmitValue("value"))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertEquals(2, subscriptions.get());
+    }
+
+    @Test
+    void execute_AfterCompletion_ShouldCallUpstreamAgain() {
+        Object key = SingleFlight.key("/a", String.class, "token");
+        response.tryEmitValue("value");
+
+        singleFlight.execute(key, upstream).block();
+        singleFlight.execute(key, upstream).block();
+
+        assertEquals(2, subscriptions.get());
+    }
+
+    @Test
+    void execute_WhenOneCallerCancels_ShouldKeepCallForTheOthers() {
+        Object key = SingleFlight.key("/a", String.class, "token");
+        Disposable impatient = singleFlight.execute(key, upstream).subscribe();
+
+        StepVerifier.create(singleFlight.execute(key, upstream))
+                .then(impatient::dispose)
+                .then(() -> assertFalse(cancelled.get()))
+                .then(() -> response.tryEmitValue("value"))
+                .expectNext("value")
+                .verifyComplete();
+    }
+
+    @Test
+    void execute_WhenAllCallersCancel_ShouldCancelUpstream() {
+        Object key = SingleFlight.key("/a", String.class, "token");
+        Disposable first = singleFlight.execute(key, upstream).subscribe();
+        Disposable second = singleFlight.execute(key, upstream).subscribe();
+
+        first.dispose();
+        second.dispose();
+
+        assertTrue(cancelled.get());
+        assertEquals(0, singleFlight.getInFlight());
+    }
+
+    @Test
+    void execute_WhenCallerDeadlineExpires_ShouldFailOnlyThatCaller() {
+        Object key = SingleFlight.key("/a", String.class, "token");
+        Mono<String> tight = singleFlight.execute(key, upstream)
+                .contextWrite(context -> context.put(Deadline.class, Deadline.after(Duration.ofMillis(50))));
+
+        StepVerifier.create(Mono.zip(tight.onErrorResume(DeadlineExceededException.class, e -> Mono.just("timed out")),
+                        singleFlight.execute(key, upstream)))
+                .then(() -> Mono.delay(Duration.ofMillis(200)).block())
+                .then(() -> response.tryEmitValue("value"))
+                .assertNext(results -> {
+                    assertEquals("timed out", results.getT1());
+                    assertEquals("value", results.getT2());
+                })
+                .verifyComplete();
+
+        assertFalse(cancelled.get());
+    }
+
+    @Test
+    void execute_WhenDisabled_ShouldNotCoalesce() {
+        properties.getSingleFlight().setEnabled(false);
+        singleFlight = new SingleFlight(properties);
+        Object key = SingleFlight.key("/a", String.class, "token");
+
+        StepVerifier.create(Mono.zip(singleFlight.execute(key, upstream), singleFlight.execute(key, upstream)))
+                .then(() -> response.tryEmitValue("value"))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertEquals(2, subscriptions.get());
+    }
+}
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
 
 import java.io.IOException;
 
@@ -147,4 +148,62 @@ class AuthApiClientTest {
         assertThrows(AuthenticationException.class, () -> 
                 authApiClient.fetchAuthToken());
     }
-}
\ No newline at end of file
+
+    @Test
+    void fetchAuthTokenReactive_WhenSuccessful_ShouldEmitToken() throws InterruptedException {
+        // Arrange
+        String jsonResponse = """
+                {
+                    "status": "success",
+                    "data": {
+                        "access_token": "test-access-token",
+                        "expires_in": 3600,
+                        "organization_id": "org-123"
+                    }
+                }
+                """;
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(jsonResponse)
+                .addHeader("Content-Type", "application/json"));
+
+        // Act & Assert
+        StepVerifier.create(authApiClient.fetchAuthTokenReactive())
+                .assertNext(response -> {
+                    assertEquals("test-access-token", response.getAccessToken());
+                    assertEquals(3600L, response.getExpiresIn());
+                })
+                .verifyComplete();
+
+        RecordedRequest recordedRequest = mockWebServer.takeRequest();
+        assertEquals("POST", recordedRequest.getMethod());
+        assertEquals("/v1/auth/token", recordedRequest.getPath());
+    }
+
+    @Test
+    void fetchAuthTokenReactive_WhenMissingAccessToken_ShouldEmitAuthenticationException() {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("""
+                        { "status": "success", "data": { "expires_in": 3600 } }
+                        """)
+                .addHeader("Content-Type", "application/json"));
+
+        // Act & Assert
+        StepVerifier.create(authApiClient.fetchAuthTokenReactive())
+                .expectError(AuthenticationException.class)
+                .verify();
+    }
+
+    @Test
+    void fetchAuthTokenReactive_WhenUnauthorized_ShouldEmitAuthenticationException() {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(401)
+                .setBody("Unauthorized"));
+
+        // Act & Assert
+        StepVerifier.create(authApiClient.fetchAuthTokenReactive())
+                .expectErrorSatisfies(e -> assertTrue(e.getMessage().contains("401")))
+                .verify();
+    }
+}
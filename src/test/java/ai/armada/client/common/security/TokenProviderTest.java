@@ -6,6 +6,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -147,4 +158,110 @@ class TokenProviderTest {
         assertNotNull(currentToken);
         assertEquals("test-token", currentToken.value());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAccessToken_WhenConcurrentCallersWithoutToken_ShouldRefreshOnce() throws Exception {
+        // Arrange
+        TokenResponse tokenResponse = createTokenResponse("concurrent-token", 3600L, "org-123");
+        when(tokenConfig.getExpiryThresholdPercent()).thenReturn(50);
+        when(properties.getTokenConfig()).thenReturn(tokenConfig);
+        when(authApiClient.fetchAuthToken()).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            return tokenResponse;
+        });
+
+        int callers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return tokenProvider.getAccessToken();
+                }));
+            }
+
+            // Act
+            start.countDown();
+
+            // Assert
+            for (Future<String> result : results) {
+                assertEquals("concurrent-token", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(authApiClient, times(1)).fetchAuthToken();
+    }
+
+    @Test
+    void getAccessTokenReactive_WhenNoToken_ShouldFetchWithoutBlockingClient() {
+        // Arrange
+        TokenResponse tokenResponse = createTokenResponse("reactive-token", 3600L, "org-123");
+        when(authApiClient.fetchAuthTokenReactive()).thenReturn(Mono.just(tokenResponse));
+
+        // Act & Assert
+        StepVerifier.create(tokenProvider.getAccessTokenReactive())
+                .expectNext("reactive-token")
+                .verifyComplete();
+
+        assertEquals("reactive-token", tokenProvider.getCurrentToken().value());
+        verify(authApiClient, never()).fetchAuthToken();
+    }
+
+    @Test
+    void getAccessTokenReactive_WhenTokenValid_ShouldNotRefresh() {
+        // Arrange
+        TokenResponse tokenResponse = createTokenResponse("test-access-token", 3600L, "org-123");
+        when(tokenConfig.getExpiryThresholdPercent()).thenReturn(50);
+        when(properties.getTokenConfig()).thenReturn(tokenConfig);
+        when(authApiClient.fetchAuthToken()).thenReturn(tokenResponse);
+        tokenProvider.getAccessToken();
+
+        // Act & Assert
+        StepVerifier.create(tokenProvider.getAccessTokenReactive())
+                .expectNext("test-access-token")
+                .verifyComplete();
+
+        verify(authApiClient, never()).fetchAuthTokenReactive();
+    }
+
+    @Test
+    void getAccessTokenReactive_WhenConcurrentCallers_ShouldShareSingleRefresh() {
+        // Arrange
+        TokenResponse tokenResponse = createTokenResponse("shared-token", 3600L, "org-123");
+        when(authApiClient.fetchAuthTokenReactive())
+                .thenReturn(Mono.just(tokenResponse).delayElement(Duration.ofMillis(50)));
+
+        // Act & Assert
+        StepVerifier.create(Mono.zip(
+                        tokenProvider.getAccessTokenReactive(),
+                        tokenProvider.getAccessTokenReactive()))
+                .assertNext(tokens -> {
+                    assertEquals("shared-token", tokens.getT1());
+                    assertEquals("shared-token", tokens.getT2());
+                })
+                .verifyComplete();
+
+        verify(authApiClient, times(1)).fetchAuthTokenReactive();
+    }
+
+    @Test
+    void getAccessTokenReactive_WhenRefreshFails_ShouldEmitErrorAndRetryOnNextCall() {
+        // Arrange
+        TokenResponse tokenResponse = createTokenResponse("recovered-token", 3600L, "org-123");
+        when(authApiClient.fetchAuthTokenReactive())
+                .thenReturn(Mono.error(new AuthenticationException("Auth failed")))
+                .thenReturn(Mono.just(tokenResponse));
+
+        // Act & Assert
+        StepVerifier.create(tokenProvider.getAccessTokenReactive())
+                .expectError(AuthenticationException.class)
+                .verify();
+
+        StepVerifier.create(tokenProvider.getAccessTokenReactive())
+                .expectNext("recovered-token")
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,110 @@
+package ai.armada.client.config;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the NIO and native transports for the upstream client against a local stand-in server.
+ * Opt-in, as it takes a while and the numbers only mean something on a quiet machine:
+ * <pre>
+ * mvn test -Dtest=EventLoopBenchmarkTest -Dbenchmark=true
+ * </pre>
+ * Run it under {@code strace -f -c} to compare system call counts as well.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class EventLoopBenchmarkTest {
+
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 50_000);
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 64);
+    private static final String BODY = "{\"content\":{\"results\":[{\"id\":\"sl-1\",\"dataUsage\":1024}]}}";
+
+    private static DisposableServer server;
+
+    @BeforeAll
+    static void startServer() {
+        server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .handle((request, response) -> response.sendString(Mono.just(BODY)))
+                .bindNow();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.disposeNow();
+    }
+
+    @Test
+    void compareTransports() {
+        Result nio = run(false);
+        System.out.println("NIO:    " + nio);
+        if (LoopResources.hasNativeSupport()) {
+            Result epoll = run(true);
+            System.out.println("Native: " + epoll);
+        } else {
+            System.out.println("Native transport not available on this platform");
+        }
+        assertTrue(nio.requestsPerSecond() > 0);
+    }
+
+    private Result run(boolean nativeTransport) {
+        LoopResources loops = LoopResources.create("bench", LoopResources.DEFAULT_IO_WORKER_COUNT, true);
+        ConnectionProvider pool = ConnectionProvider.builder("bench").maxConnections(CONCURRENCY).build();
+        try {
+            HttpClient client = HttpClient.create(pool)
+                    .runOn(loops, nativeTransport)
+                    .baseUrl("http://127.0.0.1:" + server.port());
+
+            // Warm up connections and JIT before measuring
+            requests(client, REQUESTS / 10).blockLast();
+
+            long start = System.nanoTime();
+            List<Long> latencies = requests(client, REQUESTS).collectList().block();
+            long elapsed = System.nanoTime() - start;
+            return Result.of(latencies, elapsed);
+        } finally {
+            pool.disposeLater().block();
+            loops.disposeLater().block();
+        }
+    }
+
+    private static Flux<Long> requests(HttpClient client, int count) {
+        return Flux.range(0, count)
+                .flatMap(i -> Mono.defer(() -> {
+                    long start = System.nanoTime();
+                    return client.get().uri("/orgs").responseContent().aggregate().asString()
+                            .map(body -> System.nanoTime() - start);
+                }), CONCURRENCY);
+    }
+
+    private record Result(long requestsPerSecond, long p50Micros, long p99Micros) {
+
+        static Result of(List<Long> latencies, long elapsedNanos) {
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            return new Result(
+                    sorted.length * 1_000_000_000L / elapsedNanos,
+                    sorted[sorted.length / 2] / 1000,
+                    sorted[(int) (sorted.length * 0.99)] / 1000);
+        }
+
+        @Override
+        public String toString() {
+            return requestsPerSecond + " req/s, p50 " + p50Micros + "us, p99 " + p99Micros + "us";
+        }
+    }
+}
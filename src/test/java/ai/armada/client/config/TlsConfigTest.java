@@ -0,0 +1,54 @@
+package ai.armada.client.config;
+
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.OpenSsl;
+import io.netty.handler.ssl.SslContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.net.ssl.SSLException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TlsConfigTest {
+
+    private TlsProperties tls;
+    private Http2Properties http2;
+
+    @BeforeEach
+    void setUp() {
+        tls = new TlsProperties();
+        http2 = new Http2Properties();
+    }
+
+    @Test
+    void upstreamSslContext_ShouldApplySessionCacheSettings() throws SSLException {
+        tls.setSessionCacheSize(123);
+        tls.setSessionTimeout(Duration.ofMinutes(10));
+
+        SslContext context = new TlsConfig().upstreamSslContext(tls, http2);
+
+        assertTrue(context.isClient());
+        assertEquals(123, context.sessionCacheSize());
+        assertEquals(600, context.sessionTimeout());
+    }
+
+    @Test
+    void upstreamSslContext_WhenOpenSslUnavailable_ShouldFallBackToJdk() throws SSLException {
+        tls.setProvider(TlsProperties.Provider.OPENSSL);
+
+        SslContext context = new TlsConfig().upstreamSslContext(tls, http2);
+
+        assertEquals(OpenSsl.isAvailable(), !context.getClass().getSimpleName().startsWith("Jdk"));
+    }
+
+    @Test
+    void upstreamSslContext_WhenHttp2OverTls_ShouldNegotiateH2() throws SSLException {
+        http2.setEnabled(true);
+
+        SslContext context = new TlsConfig().upstreamSslContext(tls, http2);
+
+        assertTrue(context.applicationProtocolNegotiator().protocols().contains(ApplicationProtocolNames.HTTP_2));
+    }
+}
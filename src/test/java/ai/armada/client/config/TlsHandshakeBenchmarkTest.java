@@ -0,0 +1,146 @@
+package ai.armada.client.config;
+
+import io.netty.handler.ssl.OpenSsl;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslProvider;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.Http11SslContextSpec;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import javax.net.ssl.KeyManagerFactory;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures TLS handshakes per second and connect latency against a local TLS stand-in server,
+ * with every request on a new connection. Compares full handshakes (a fresh SSL context per connection)
+ * with session resumption through a shared context, for the JDK provider and, when netty-tcnative is on
+ * the classpath, OpenSSL. Opt-in:
+ * <pre>
+ * mvn test -Dtest=TlsHandshakeBenchmarkTest -Dbenchmark=true [-Popenssl]
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TlsHandshakeBenchmarkTest {
+
+    private static final int CONNECTIONS = Integer.getInteger("benchmark.connections", 2_000);
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 8);
+    private static final char[] PASSWORD = "benchmark".toCharArray();
+
+    private static Path keyStoreDir;
+    private static DisposableServer server;
+
+    @BeforeAll
+    static void startServer() throws Exception {
+        keyStoreDir = Files.createTempDirectory("tls-benchmark");
+        Path keyStoreFile = keyStoreDir.resolve("server.p12");
+        Process keytool = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "keytool").toString(),
+                "-genkeypair", "-alias", "server", "-keyalg", "EC", "-groupname", "secp256r1",
+                "-dname", "CN=localhost", "-validity", "1", "-storetype", "PKCS12",
+                "-keystore", keyStoreFile.toString(), "-storepass", new String(PASSWORD))
+                .inheritIO()
+                .start();
+        assertTrue(keytool.waitFor() == 0, "keytool failed");
+
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = Files.newInputStream(keyStoreFile)) {
+            keyStore.load(in, PASSWORD);
+        }
+        KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagerFactory.init(keyStore, PASSWORD);
+
+        SslContext serverContext = Http11SslContextSpec.forServer(keyManagerFactory).sslContext();
+        server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .secure(ssl -> ssl.sslContext(serverContext))
+                .handle((request, response) -> response.sendString(Mono.just("ok")))
+                .bindNow();
+    }
+
+    @AfterAll
+    static void stopServer() throws Exception {
+        server.disposeNow();
+        try (var files = Files.list(keyStoreDir)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(keyStoreDir);
+    }
+
+    @Test
+    void compareHandshakes() {
+        report("JDK, full handshake", run(() -> clientContext(SslProvider.JDK)));
+        SslContext sharedJdk = clientContext(SslProvider.JDK);
+        report("JDK, resumed       ", run(() -> sharedJdk));
+
+        if (OpenSsl.isAvailable()) {
+            report("OpenSSL, full      ", run(() -> clientContext(SslProvider.OPENSSL)));
+            SslContext sharedOpenSsl = clientContext(SslProvider.OPENSSL);
+            report("OpenSSL, resumed   ", run(() -> sharedOpenSsl));
+        } else {
+            System.out.println("OpenSSL not available, run with -Popenssl to include it");
+        }
+    }
+
+    private static List<Long> run(Supplier<SslContext> context) {
+        Flux<Long> connections = Flux.range(0, CONNECTIONS)
+                .flatMap(i -> Mono.defer(() -> {
+                    long start = System.nanoTime();
+                    return HttpClient.newConnection()
+                            .secure(ssl -> ssl.sslContext(context.get()))
+                            .get()
+                            .uri("https://localhost:" + server.port() + "/")
+                            .responseContent()
+                            .aggregate()
+                            .asString()
+                            .map(body -> System.nanoTime() - start);
+                }), CONCURRENCY);
+
+        // Warm up JIT and the session cache before measuring
+        connections.take(CONNECTIONS / 10).blockLast();
+        long start = System.nanoTime();
+        List<Long> latencies = connections.collectList().block();
+        latencies.add(System.nanoTime() - start);
+        return latencies;
+    }
+
+    private static void report(String label, List<Long> latenciesAndElapsed) {
+        long elapsed = latenciesAndElapsed.remove(latenciesAndElapsed.size() - 1);
+        long[] sorted = latenciesAndElapsed.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        System.out.printf("%s: %d handshakes/s, p50 connect %dus, p99 connect %dus%n", label,
+                sorted.length * 1_000_000_000L / elapsed,
+                sorted[sorted.length / 2] / 1000,
+                sorted[(int) (sorted.length * 0.99)] / 1000);
+    }
+
+    private static SslContext clientContext(SslProvider provider) {
+        try {
+            return Http11SslContextSpec.forClient()
+                    .configure(builder -> builder
+                            .sslProvider(provider)
+                            .trustManager(InsecureTrustManagerFactory.INSTANCE))
+                    .sslContext();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
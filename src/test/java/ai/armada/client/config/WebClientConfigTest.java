@@ -0,0 +1,126 @@
+package ai.armada.client.config;
+
+import ai.armada.client.common.http.CancellationMetricsFilter;
+import ai.armada.client.common.http.ConnectionPoolMonitor;
+import ai.armada.client.common.http.DeadlineFilter;
+import ai.armada.client.common.http.RateLimiter;
+import ai.armada.client.common.http.UpstreamLoadMonitor;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+import javax.net.ssl.SSLException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebClientConfigTest {
+
+    private ArmadaApiProperties properties;
+    private Http2Properties http2Properties;
+    private LoopResources loopResources;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ArmadaApiProperties();
+        http2Properties = new Http2Properties();
+        loopResources = LoopResources.create("test-client", 2, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        loopResources.disposeLater().block();
+    }
+
+    @Test
+    void http2_WhenUpstreamSpeaksH2c_ShouldMultiplexFanOutOverOneConnection() throws SSLException {
+        // Arrange
+        Set<String> connections = ConcurrentHashMap.newKeySet();
+        Set<String> protocols = ConcurrentHashMap.newKeySet();
+        DisposableServer server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .protocol(HttpProtocol.H2C, HttpProtocol.HTTP11)
+                .handle((request, response) -> {
+                    connections.add(String.valueOf(request.remoteAddress()));
+                    protocols.add(request.protocol());
+                    return response.sendString(Mono.delay(Duration.ofMillis(100)).thenReturn("{\"status\":\"success\"}"));
+                })
+                .bindNow();
+        http2Properties.setEnabled(true);
+        http2Properties.setCleartext(true);
+
+        try {
+            WebClient webClient = webClient("http://127.0.0.1:" + server.port());
+            // The first call upgrades the connection; the fan-out then shares it
+            webClient.get().uri("/v1/orgs").retrieve().bodyToMono(String.class).block();
+
+            // Act
+            List<String> bodies = Flux.range(0, 20)
+                    .flatMap(i -> webClient.get().uri("/v1/service-lines/{id}", i).retrieve().bodyToMono(String.class))
+                    .collectList()
+                    .block();
+
+            // Assert
+            assertEquals(20, bodies.size());
+            assertEquals(1, connections.size(), connections + " " + protocols);
+            assertTrue(protocols.contains("HTTP/2.0"), "protocols seen: " + protocols);
+        } finally {
+            server.disposeNow();
+        }
+    }
+
+    @Test
+    void http2_WhenUpstreamOnlySpeaksHttp11_ShouldFallBack() throws IOException {
+        // Arrange
+        MockWebServer mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        mockWebServer.enqueue(new MockResponse().setBody("{\"status\":\"success\"}"));
+        http2Properties.setEnabled(true);
+        http2Properties.setCleartext(true);
+
+        try {
+            // Act
+            String body = webClient(mockWebServer.url("/").toString())
+                    .get().uri("/v1/orgs").retrieve().bodyToMono(String.class).block();
+
+            // Assert
+            assertEquals("{\"status\":\"success\"}", body);
+        } finally {
+            mockWebServer.shutdown();
+        }
+    }
+
+    private WebClient webClient(String baseUrl) throws SSLException {
+        properties.setBaseUrl(baseUrl);
+        WebClientConfig config = new WebClientConfig(
+                properties,
+                new ConnectionPoolProperties(),
+                http2Properties,
+                new ConnectionPoolMonitor(),
+                new CancellationMetricsFilter(),
+                new UpstreamLoadMonitor(),
+                new DeadlineFilter(),
+                new RateLimiter(properties),
+                loopResources,
+                new TlsConfig().upstreamSslContext(new TlsProperties(), http2Properties));
+        ReflectionTestUtils.setField(config, "connectionTimeout", 5000);
+        ReflectionTestUtils.setField(config, "readTimeout", 5000);
+        ReflectionTestUtils.setField(config, "maxMemorySize", 1024 * 1024);
+        return config.serviceLineWebClient();
+    }
+}
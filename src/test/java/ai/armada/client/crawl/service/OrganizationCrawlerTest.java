@@ -0,0 +1,187 @@
+package ai.armada.client.crawl.service;
+
+import ai.armada.client.common.http.Priority;
+import ai.armada.client.common.security.AuthenticationException;
+import ai.armada.client.config.ArmadaApiProperties;
+import ai.armada.client.crawl.dto.CrawledDataPoolDto;
+import ai.armada.client.datapool.dto.DataPoolDto;
+import ai.armada.client.datapool.exception.DataPoolApiException;
+import ai.armada.client.datapool.service.DataPoolService;
+import ai.armada.client.organization.dto.OrganizationDto;
+import ai.armada.client.organization.service.OrganizationService;
+import ai.armada.client.serviceline.dto.ServiceLineDto;
+import ai.armada.client.serviceline.dto.ServiceLineListUsageDto;
+import ai.armada.client.serviceline.dto.ServiceLinesUsageDto;
+import ai.armada.client.serviceline.exception.ServiceLineApiException;
+import ai.armada.client.serviceline.service.ServiceLineService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrganizationCrawlerTest {
+
+    @Mock
+    private OrganizationService organizationService;
+
+    @Mock
+    private DataPoolService dataPoolService;
+
+    @Mock
+    private ServiceLineService serviceLineService;
+
+    private ArmadaApiProperties properties;
+    private OrganizationCrawler crawler;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ArmadaApiProperties();
+        crawler = new OrganizationCrawler(organizationService, dataPoolService, serviceLineService, properties);
+        when(organizationService.getOrganizationsReactive()).thenReturn(Mono.just(List.of(
+                new OrganizationDto("org-1", "Org 1"), new OrganizationDto("org-2", "Org 2"))));
+        when(dataPoolService.getDataPoolsReactive("org-1")).thenReturn(Mono.just(List.of(dataPool("dp-1"), dataPool("dp-2"))));
+        // Defaults some tests replace with their own stubs
+        lenient().when(dataPoolService.getDataPoolsReactive("org-2")).thenReturn(Mono.just(List.of(dataPool("dp-3"))));
+        when(serviceLineService.getServiceLinesReactive(anyString(), anyString()))
+                .thenAnswer(invocation -> Mono.just(List.of(serviceLine(invocation.getArgument(1) + "-sl"))));
+        lenient().when(serviceLineService.getAllServiceLinesUsageReactive(anyString(), anyString(), eq(1)))
+                .thenAnswer(invocation -> {
+                    String dataPoolId = invocation.getArgument(1);
+                    return Mono.just(new ServiceLinesUsageDto(dataPoolId, List.of(new ServiceLineListUsageDto(
+                            dataPoolId + "-sl", "Line", "555-0001", "Active", null, List.of(), List.of()))));
+                });
+    }
+
+    private static DataPoolDto dataPool(String id) {
+        return new DataPoolDto(id, "Pool " + id, "USA", "Premium", "Active",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), 100.0f, 10.0f, 1);
+    }
+
+    private static ServiceLineDto serviceLine(String id) {
+        return new ServiceLineDto(id, "Line", "555-0001", "Active", LocalDate.of(2024, 1, 1), List.of());
+    }
+
+    @Test
+    void crawl_ShouldEmitEveryDataPoolWithServiceLineUsage() {
+        // Act
+        List<CrawledDataPoolDto> crawled = crawler.crawl().collectList().block();
+
+        // Assert
+        assertNotNull(crawled);
+        assertEquals(Set.of("dp-1", "dp-2", "dp-3"),
+                Set.copyOf(crawled.stream().map(pool -> pool.dataPool().id()).toList()));
+        CrawledDataPoolDto dp3 = crawled.stream().filter(pool -> pool.dataPool().id().equals("dp-3")).findFirst().orElseThrow();
+        assertEquals("org-2", dp3.orgId());
+        assertEquals("dp-3-sl", dp3.serviceLines().get(0).serviceLine().id());
+        assertNotNull(dp3.serviceLines().get(0).usage());
+        assertEquals(2, crawler.getOrganizations());
+        assertEquals(3, crawler.getDataPoolsCrawled());
+        assertEquals(3, crawler.getServiceLines());
+        assertEquals(0, crawler.getActiveCrawls());
+    }
+
+    @Test
+    void crawl_ShouldRunUpstreamCallsAtBackgroundPriority() {
+        // Arrange
+        List<Priority> priorities = new ArrayList<>();
+        when(serviceLineService.getServiceLinesReactive(anyString(), anyString()))
+                .thenAnswer(invocation -> Mono.deferContextual(context -> {
+                    priorities.add(Priority.from(context));
+                    return Mono.just(List.of(serviceLine("sl")));
+                }));
+
+        // Act
+        crawler.crawl().blockLast();
+
+        // Assert
+        assertEquals(List.of(Priority.BACKGROUND, Priority.BACKGROUND, Priority.BACKGROUND), priorities);
+    }
+
+    @Test
+    void crawl_WhenResumedFromCheckpoint_ShouldSkipCompletedDataPools() {
+        // Arrange
+        CrawlCheckpoint first = new CrawlCheckpoint();
+        crawler.crawl(first).take(2).doOnNext(first::markCompleted).blockLast();
+
+        // Act
+        CrawlCheckpoint resumed = CrawlCheckpoint.resume(first.getCompletedDataPools());
+        List<CrawledDataPoolDto> rest = crawler.crawl(resumed).collectList().block();
+
+        // Assert
+        assertNotNull(rest);
+        assertEquals(1, rest.size());
+        assertFalse(first.isCompleted(rest.get(0).orgId(), rest.get(0).dataPool().id()));
+        assertEquals(2, crawler.getDataPoolsSkipped());
+    }
+
+    @Test
+    void crawl_WhenConsumerRequestsOnePool_ShouldNotFetchBeyondConcurrency() {
+        // Arrange
+        properties.getCrawl().setDataPoolConcurrency(2);
+        crawler = new OrganizationCrawler(organizationService, dataPoolService, serviceLineService, properties);
+        when(dataPoolService.getDataPoolsReactive("org-1")).thenReturn(Mono.just(
+                IntStream.rangeClosed(1, 50).mapToObj(i -> dataPool("dp-" + i)).toList()));
+        AtomicInteger fetches = new AtomicInteger();
+        when(serviceLineService.getServiceLinesReactive(anyString(), anyString()))
+                .thenAnswer(invocation -> Mono.fromCallable(() -> {
+                    fetches.incrementAndGet();
+                    return List.of(serviceLine("sl"));
+                }));
+
+        // Act & Assert
+        StepVerifier.create(crawler.crawl(), 1)
+                .expectNextCount(1)
+                .thenCancel()
+                .verify();
+        assertTrue(fetches.get() <= 3, "fetched " + fetches.get() + " data pools for a demand of one");
+    }
+
+    @Test
+    void crawl_WhenDataPoolFails_ShouldEmitItsErrorAndContinue() {
+        // Arrange
+        when(serviceLineService.getServiceLinesReactive("org-1", "dp-2"))
+                .thenReturn(Mono.error(new ServiceLineApiException("SERVICELINE_FETCH_ERROR", "Upstream down")));
+        when(dataPoolService.getDataPoolsReactive("org-2"))
+                .thenReturn(Mono.error(new DataPoolApiException("DATAPOOL_FETCH_ERROR", "Upstream down")));
+        CrawlCheckpoint checkpoint = new CrawlCheckpoint();
+
+        // Act
+        List<CrawledDataPoolDto> crawled = crawler.crawl(checkpoint).doOnNext(checkpoint::markCompleted)
+                .collectList().block();
+
+        // Assert
+        assertNotNull(crawled);
+        assertEquals(3, crawled.size());
+        assertEquals(2, crawled.stream().filter(pool -> pool.error() != null).count());
+        assertTrue(crawled.stream().anyMatch(pool -> pool.dataPool() == null
+                && pool.error().errorCode().equals("DATAPOOL_FETCH_ERROR")));
+        assertEquals(Set.of("org-1/dp-1"), checkpoint.getCompletedDataPools());
+        assertEquals(2, crawler.getDataPoolsFailed());
+    }
+
+    @Test
+    void crawl_WhenAuthenticationFails_ShouldEndCrawl() {
+        // Arrange
+        when(serviceLineService.getAllServiceLinesUsageReactive(anyString(), anyString(), eq(1)))
+                .thenReturn(Mono.error(new AuthenticationException("Token refresh failed")));
+
+        // Act & Assert
+        StepVerifier.create(crawler.crawl())
+                .verifyError(AuthenticationException.class);
+    }
+}
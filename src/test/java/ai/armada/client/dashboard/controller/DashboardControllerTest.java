@@ -0,0 +1,61 @@
+package ai.armada.client.dashboard.controller;
+
+import ai.armada.client.common.ApiError;
+import ai.armada.client.common.http.DeadlineExceededException;
+import ai.armada.client.dashboard.dto.DataPoolDashboardDto;
+import ai.armada.client.dashboard.service.DashboardService;
+import ai.armada.client.datapool.dto.DataPoolDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(DashboardController.class)
+class DashboardControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private DashboardService dashboardService;
+
+    @Test
+    void getDataPoolDashboard_WhenSectionFailed_ShouldReturnPartialDashboard() throws Exception {
+        // Arrange
+        DataPoolDto dataPool = new DataPoolDto("dp-001", "Data Pool 1", "USA", "Premium", "Active",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), 1000.0f, 250.5f, 1);
+        DataPoolDashboardDto dashboard = new DataPoolDashboardDto(dataPool, null, null, List.of(), null,
+                Map.of(DataPoolDashboardDto.USAGE, new ApiError("DATAPOOL_USAGE_ERROR", "Usage unavailable")));
+        when(dashboardService.getDataPoolDashboard("org-123", "dp-001", 2)).thenReturn(dashboard);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/organizations/{orgId}/data-pools/{dataPoolId}/dashboard", "org-123", "dp-001")
+                        .param("billingCycles", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.dataPool.id").value("dp-001"))
+                .andExpect(jsonPath("$.serviceLines.length()").value(0))
+                .andExpect(jsonPath("$.usage").doesNotExist())
+                .andExpect(jsonPath("$.errors.usage.errorCode").value("DATAPOOL_USAGE_ERROR"));
+    }
+
+    @Test
+    void getDataPoolDashboard_WhenDeadlineExceeded_ShouldReturnGatewayTimeout() throws Exception {
+        // Arrange
+        when(dashboardService.getDataPoolDashboard("org-123", "dp-001", 1))
+                .thenThrow(new DeadlineExceededException("Deadline exceeded for upstream call GET /v1/data-pools"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/organizations/{orgId}/data-pools/{dataPoolId}/dashboard", "org-123", "dp-001"))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(jsonPath("$.errorCode").value("DEADLINE_EXCEEDED"));
+    }
+}
@@ -0,0 +1,43 @@
+package ai.armada.client.dashboard.controller;
+
+import ai.armada.client.dashboard.dto.DataPoolDashboardDto;
+import ai.armada.client.dashboard.service.DashboardService;
+import ai.armada.client.datapool.dto.DataPoolSettingsDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(ReactiveDashboardController.class)
+class ReactiveDashboardControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private DashboardService dashboardService;
+
+    @Test
+    void getDataPoolDashboard_WhenSuccessful_ShouldReturnDashboard() {
+        // Arrange
+        DataPoolDashboardDto dashboard = new DataPoolDashboardDto(null, null,
+                new DataPoolSettingsDto(List.of(), List.of()), List.of(), null, Map.of());
+        when(dashboardService.getDataPoolDashboardReactive("org-123", "dp-001", 1)).thenReturn(Mono.just(dashboard));
+
+        // Act & Assert
+        webTestClient.get()
+                .uri("/api/organizations/{orgId}/data-pools/{dataPoolId}/dashboard", "org-123", "dp-001")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.settings.settings.length()").isEqualTo(0)
+                .jsonPath("$.errors").isEmpty();
+    }
+}
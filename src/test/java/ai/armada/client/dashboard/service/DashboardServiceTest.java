@@ -0,0 +1,133 @@
+package ai.armada.client.dashboard.service;
+
+import ai.armada.client.common.security.AuthenticationException;
+import ai.armada.client.dashboard.dto.DataPoolDashboardDto;
+import ai.armada.client.datapool.dto.DataPoolDataUsageDto;
+import ai.armada.client.datapool.dto.DataPoolDto;
+import ai.armada.client.datapool.dto.DataPoolSettingsDto;
+import ai.armada.client.datapool.exception.DataPoolApiException;
+import ai.armada.client.datapool.service.DataPoolService;
+import ai.armada.client.serviceline.dto.ServiceLineDto;
+import ai.armada.client.serviceline.dto.ServiceLinesUsageDto;
+import ai.armada.client.serviceline.exception.ServiceLineApiException;
+import ai.armada.client.serviceline.service.ServiceLineService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceTest {
+
+    @Mock
+    private DataPoolService dataPoolService;
+
+    @Mock
+    private ServiceLineService serviceLineService;
+
+    private DashboardService dashboardService;
+
+    private final DataPoolDto dataPool = new DataPoolDto("dp-001", "Data Pool 1", "USA", "Premium", "Active",
+            LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), 1000.0f, 250.5f, 3);
+    private final DataPoolDataUsageDto usage = new DataPoolDataUsageDto(List.of());
+    private final DataPoolSettingsDto settings = new DataPoolSettingsDto(List.of(), List.of());
+    private final List<ServiceLineDto> serviceLines = List.of(new ServiceLineDto("sl-001", "Line 1", "555-0001",
+            "Active", LocalDate.of(2024, 1, 1), List.of("KIT001")));
+    private final ServiceLinesUsageDto serviceLinesUsage = new ServiceLinesUsageDto("dp-001", List.of());
+
+    @BeforeEach
+    void setUp() {
+        dashboardService = new DashboardService(dataPoolService, serviceLineService);
+    }
+
+    private void stubSections(Duration latency) {
+        when(dataPoolService.getDataPoolByIdReactive("org-123", "dp-001"))
+                .thenReturn(Mono.delay(latency).thenReturn(dataPool));
+        when(dataPoolService.getDataPoolUsageReactive("org-123", "dp-001", 1))
+                .thenReturn(Mono.delay(latency).thenReturn(usage));
+        when(dataPoolService.getDataPoolSettingsReactive("org-123", "dp-001"))
+                .thenReturn(Mono.delay(latency).thenReturn(settings));
+        when(serviceLineService.getServiceLinesReactive("org-123", "dp-001"))
+                .thenReturn(Mono.delay(latency).thenReturn(serviceLines));
+        when(serviceLineService.getAllServiceLinesUsageReactive("org-123", "dp-001", 1))
+                .thenReturn(Mono.delay(latency).thenReturn(serviceLinesUsage));
+    }
+
+    @Test
+    void getDataPoolDashboardReactive_ShouldFetchSectionsConcurrently() {
+        // Act & Assert: five sections of 100ms each complete after 100ms, not 500ms
+        StepVerifier.withVirtualTime(() -> {
+                    stubSections(Duration.ofMillis(100));
+                    return dashboardService.getDataPoolDashboardReactive("org-123", "dp-001", 1);
+                })
+                .expectSubscription()
+                .thenAwait(Duration.ofMillis(100))
+                .assertNext(dashboard -> {
+                    assertEquals(dataPool, dashboard.dataPool());
+                    assertEquals(usage, dashboard.usage());
+                    assertEquals(settings, dashboard.settings());
+                    assertEquals(serviceLines, dashboard.serviceLines());
+                    assertEquals(serviceLinesUsage, dashboard.serviceLinesUsage());
+                    assertTrue(dashboard.errors().isEmpty());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getDataPoolDashboard_WhenOneSectionFails_ShouldReturnTheOthersWithItsError() {
+        // Arrange
+        stubSections(Duration.ZERO);
+        when(serviceLineService.getAllServiceLinesUsageReactive("org-123", "dp-001", 1))
+                .thenReturn(Mono.error(new ServiceLineApiException("SERVICELINE_USAGE_ERROR", "Usage unavailable")));
+
+        // Act
+        DataPoolDashboardDto dashboard = dashboardService.getDataPoolDashboard("org-123", "dp-001", 1);
+
+        // Assert
+        assertEquals(dataPool, dashboard.dataPool());
+        assertEquals(serviceLines, dashboard.serviceLines());
+        assertNull(dashboard.serviceLinesUsage());
+        assertEquals(List.of(DataPoolDashboardDto.SERVICE_LINES_USAGE), List.copyOf(dashboard.errors().keySet()));
+        assertEquals("SERVICELINE_USAGE_ERROR",
+                dashboard.errors().get(DataPoolDashboardDto.SERVICE_LINES_USAGE).errorCode());
+    }
+
+    @Test
+    void getDataPoolDashboardReactive_WhenAuthenticationFails_ShouldFail() {
+        // Arrange
+        stubSections(Duration.ZERO);
+        when(dataPoolService.getDataPoolSettingsReactive("org-123", "dp-001"))
+                .thenReturn(Mono.error(new AuthenticationException("Token refresh failed")));
+
+        // Act & Assert
+        StepVerifier.create(dashboardService.getDataPoolDashboardReactive("org-123", "dp-001", 1))
+                .verifyError(AuthenticationException.class);
+    }
+
+    @Test
+    void getDataPoolDashboardReactive_WhenEverySectionFails_ShouldFailWithFirstError() {
+        // Arrange
+        DataPoolApiException failure = new DataPoolApiException("DATAPOOL_FETCH_ERROR", "Upstream down");
+        when(dataPoolService.getDataPoolByIdReactive("org-123", "dp-001")).thenReturn(Mono.error(failure));
+        when(dataPoolService.getDataPoolUsageReactive("org-123", "dp-001", 1)).thenReturn(Mono.error(failure));
+        when(dataPoolService.getDataPoolSettingsReactive("org-123", "dp-001")).thenReturn(Mono.error(failure));
+        when(serviceLineService.getServiceLinesReactive("org-123", "dp-001"))
+                .thenReturn(Mono.error(new ServiceLineApiException("SERVICELINE_FETCH_ERROR", "Upstream down")));
+        when(serviceLineService.getAllServiceLinesUsageReactive("org-123", "dp-001", 1))
+                .thenReturn(Mono.error(new ServiceLineApiException("SERVICELINE_USAGE_ERROR", "Upstream down")));
+
+        // Act & Assert
+        StepVerifier.create(dashboardService.getDataPoolDashboardReactive("org-123", "dp-001", 1))
+                .verifyErrorMatches(e -> e == failure);
+    }
+}
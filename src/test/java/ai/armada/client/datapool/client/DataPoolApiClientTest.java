@@ -1,5 +1,8 @@
 package ai.armada.client.datapool.client;
 
+import ai.armada.client.common.http.Bulkhead;
+import ai.armada.client.common.http.BulkheadFilter;
+import ai.armada.client.common.http.SingleFlight;
 import ai.armada.client.common.security.TokenProvider;
 import ai.armada.client.config.ArmadaApiProperties;
 import ai.armada.client.datapool.dto.*;
@@ -11,9 +14,14 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -33,6 +41,7 @@ class DataPoolApiClientTest {
         // Mock TokenProvider
         tokenProvider = mock(TokenProvider.class);
         when(tokenProvider.getAccessToken()).thenReturn("test-access-token");
+        when(tokenProvider.getAccessTokenReactive()).thenReturn(Mono.just("test-access-token"));
 
         // Setup properties
         properties = new ArmadaApiProperties();
@@ -52,7 +61,8 @@ class DataPoolApiClientTest {
                 .build();
 
         dataPoolApiClient = new DataPoolApiClient(
-                webClient, tokenProvider, properties);
+                webClient, tokenProvider, properties, new SingleFlight(properties),
+                new BulkheadFilter(new Bulkhead("data pool", 16, 100)));
     }
 
     @AfterEach
@@ -363,6 +373,66 @@ class DataPoolApiClientTest {
         assertEquals("Bearer test-access-token", recordedRequest.getHeader("Authorization"));
     }
 
+    @Test
+    void fetchDataPoolUsageReactive_WhenCalledConcurrently_ShouldShareOneUpstreamCall() {
+        // Arrange
+        String jsonResponse = """
+                {
+                    "status": "success",
+                    "data": {
+                        "billingCycles": []
+                    }
+                }
+                """;
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(jsonResponse)
+                .addHeader("Content-Type", "application/json")
+                .setHeadersDelay(200, TimeUnit.MILLISECONDS));
+
+        // Act
+        List<DataPoolDataUsageDto> usages = Flux.range(0, 5)
+                .flatMap(i -> dataPoolApiClient.fetchDataPoolUsageReactive("org-123", "dp-001", 2))
+                .collectList()
+                .block();
+
+        // Assert
+        assertEquals(5, usages.size());
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void fetchDataPoolUsage_WhenMoreCyclesFetchedRecently_ShouldReuseLatestCycles() throws InterruptedException {
+        // Arrange
+        String jsonResponse = """
+                {
+                    "status": "success",
+                    "data": {
+                        "billingCycles": [
+                            { "startDate": "2024-03-01", "endDate": "2024-03-31", "totalBillingCycleUsageGB": 3.0, "dailyDataUsage": [] },
+                            { "startDate": "2024-02-01", "endDate": "2024-02-29", "totalBillingCycleUsageGB": 2.0, "dailyDataUsage": [] },
+                            { "startDate": "2024-01-01", "endDate": "2024-01-31", "totalBillingCycleUsageGB": 1.0, "dailyDataUsage": [] }
+                        ]
+                    }
+                }
+                """;
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(jsonResponse)
+                .addHeader("Content-Type", "application/json"));
+
+        // Act
+        DataPoolDataUsageDto threeCycles = dataPoolApiClient.fetchDataPoolUsage("org-123", "dp-001", 3);
+        DataPoolDataUsageDto oneCycle = dataPoolApiClient.fetchDataPoolUsage("org-123", "dp-001", 1);
+
+        // Assert
+        assertEquals(3, threeCycles.billingCycles().size());
+        assertEquals(1, oneCycle.billingCycles().size());
+        assertEquals(LocalDate.of(2024, 3, 1), oneCycle.billingCycles().get(0).startDate());
+
+        // Verify one request
+        assertEquals(1, mockWebServer.getRequestCount());
+        assertTrue(mockWebServer.takeRequest().getPath().contains("billingCycles=3"));
+    }
+
     @Test
     void fetchDataPoolUsage_WhenServerError_ShouldThrowException() {
         // Arrange
@@ -434,4 +504,106 @@ class DataPoolApiClientTest {
 
         assertEquals("DATAPOOL_SETTINGS_ERROR", exception.getErrorCode());
     }
+
+    @Test
+    void fetchDataPoolsReactive_WhenSuccessful_ShouldEmitList() throws InterruptedException {
+        // Arrange
+        String jsonResponse = """
+                {
+                    "status": "success",
+                    "data": [
+                        { "id": "dp-001", "name": "Data Pool 1", "totalServiceLines": 3 }
+                    ]
+                }
+                """;
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(jsonResponse)
+                .addHeader("Content-Type", "application/json"));
+
+        // Act & Assert
+        StepVerifier.create(dataPoolApiClient.fetchDataPoolsReactive("org-123"))
+                .assertNext(dataPools -> {
+                    assertEquals(1, dataPools.size());
+                    assertEquals("dp-001", dataPools.get(0).id());
+                })
+                .verifyComplete();
+
+        RecordedRequest recordedRequest = mockWebServer.takeRequest();
+        assertEquals("/v1/orgs/org-123/data-pools", recordedRequest.getPath());
+        assertEquals("Bearer test-access-token", recordedRequest.getHeader("Authorization"));
+        verify(tokenProvider, never()).getAccessToken();
+    }
+
+    @Test
+    void fetchDataPoolUsageReactive_WhenSuccessful_ShouldEmitUsage() throws InterruptedException {
+        // Arrange
+        String jsonResponse = """
+                {
+                    "status": "success",
+                    "data": {
+                        "billingCycles": [
+                            { "startDate": "2024-01-01", "endDate": "2024-01-31", "totalBillingCycleUsageGB": 12.5 }
+                        ]
+                    }
+                }
+                """;
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(jsonResponse)
+                .addHeader("Content-Type", "application/json"));
+
+        // Act & Assert
+        StepVerifier.create(dataPoolApiClient.fetchDataPoolUsageReactive("org-123", "dp-001", 2))
+                .assertNext(usage -> assertEquals(12.5f, usage.billingCycles().get(0).totalBillingCycleUsageGB()))
+                .verifyComplete();
+
+        RecordedRequest recordedRequest = mockWebServer.takeRequest();
+        assertEquals("/v1/orgs/org-123/data-pools/dp-001/data-usage?billingCycles=2", recordedRequest.getPath());
+    }
+
+    @Test
+    void fetchDataPoolByIdReactive_WhenNotFound_ShouldEmitDataPoolApiException() {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(404)
+                .setBody("Not Found"));
+
+        // Act & Assert
+        StepVerifier.create(dataPoolApiClient.fetchDataPoolByIdReactive("org-123", "dp-999"))
+                .expectErrorSatisfies(e -> {
+                    DataPoolApiException exception = assertInstanceOf(DataPoolApiException.class, e);
+                    assertEquals("DATAPOOL_FETCH_ERROR", exception.getErrorCode());
+                    assertTrue(exception.getMessage().contains("Not Found"));
+                })
+                .verify();
+    }
+
+    @Test
+    void fetchDataPoolSettingsReactive_WhenErrorStatus_ShouldEmitDataPoolApiException() {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("""
+                        { "status": "error", "data": null }
+                        """)
+                .addHeader("Content-Type", "application/json"));
+
+        // Act & Assert
+        StepVerifier.create(dataPoolApiClient.fetchDataPoolSettingsReactive("org-123", "dp-001"))
+                .expectErrorSatisfies(e -> assertEquals("DATAPOOL_SETTINGS_ERROR",
+                        assertInstanceOf(DataPoolApiException.class, e).getErrorCode()))
+                .verify();
+    }
+
+    @Test
+    void streamDataPools_WhenNullData_ShouldCompleteEmpty() {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("""
+                        { "status": "success", "data": null }
+                        """)
+                .addHeader("Content-Type", "application/json"));
+
+        // Act & Assert
+        StepVerifier.create(dataPoolApiClient.streamDataPools("org-123"))
+                .verifyComplete();
+    }
 }
@@ -1,5 +1,6 @@
 package ai.armada.client.datapool.controller;
 
+import ai.armada.client.common.http.UpstreamRejectedException;
 import ai.armada.client.datapool.dto.*;
 import ai.armada.client.datapool.exception.DataPoolApiException;
 import ai.armada.client.datapool.service.DataPoolService;
@@ -241,4 +242,18 @@ class DataPoolControllerTest {
                 .andExpect(jsonPath("$.errorCode").value("DATAPOOL_SETTINGS_ERROR"))
                 .andExpect(jsonPath("$.message").exists());
     }
+
+    @Test
+    void getDataPoolUsage_WhenBulkheadFull_ShouldReturnServiceUnavailable() throws Exception {
+        // Arrange
+        String orgId = "org-123";
+        String dataPoolId = "dp-001";
+        when(dataPoolService.getDataPoolUsage(orgId, dataPoolId, 1))
+                .thenThrow(new UpstreamRejectedException("BULKHEAD_FULL", "Too many concurrent data-pools calls"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/organizations/{orgId}/data-pools/{dataPoolId}/data-usage", orgId, dataPoolId))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.errorCode").value("BULKHEAD_FULL"));
+    }
 }
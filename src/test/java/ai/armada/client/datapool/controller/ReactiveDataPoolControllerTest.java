@@ -0,0 +1,74 @@
+package ai.armada.client.datapool.controller;
+
+import ai.armada.client.datapool.dto.*;
+import ai.armada.client.datapool.exception.DataPoolApiException;
+import ai.armada.client.datapool.service.DataPoolService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(ReactiveDataPoolController.class)
+class ReactiveDataPoolControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private DataPoolService dataPoolService;
+
+    @Test
+    void getDataPoolById_WhenSuccessful_ShouldReturnDataPool() {
+        // Arrange
+        DataPoolDto dataPool = new DataPoolDto(
+                "dp-001", "Data Pool 1", "US", "Premium", "Active",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), 100.0f, 25.5f, 5);
+        when(dataPoolService.getDataPoolByIdReactive("org-123", "dp-001")).thenReturn(Mono.just(dataPool));
+
+        // Act & Assert
+        webTestClient.get()
+                .uri("/api/organizations/{orgId}/data-pools/{dataPoolId}", "org-123", "dp-001")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo("dp-001")
+                .jsonPath("$.totalServiceLines").isEqualTo(5);
+    }
+
+    @Test
+    void getDataPools_WhenServiceFails_ShouldReturnBadGateway() {
+        // Arrange
+        when(dataPoolService.getDataPoolsReactive("org-123"))
+                .thenReturn(Mono.error(new DataPoolApiException("DATAPOOL_FETCH_ERROR", "API error")));
+
+        // Act & Assert
+        webTestClient.get()
+                .uri("/api/organizations/{orgId}/data-pools", "org-123")
+                .exchange()
+                .expectStatus().isEqualTo(502)
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("DATAPOOL_FETCH_ERROR");
+    }
+
+    @Test
+    void getDataPoolUsage_WhenDefaultBillingCycles_ShouldRequestOneCycle() {
+        // Arrange
+        when(dataPoolService.getDataPoolUsageReactive("org-123", "dp-001", 1))
+                .thenReturn(Mono.just(new DataPoolDataUsageDto(List.of())));
+
+        // Act & Assert
+        webTestClient.get()
+                .uri("/api/organizations/{orgId}/data-pools/{dataPoolId}/data-usage", "org-123", "dp-001")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.billingCycles.length()").isEqualTo(0);
+    }
+}
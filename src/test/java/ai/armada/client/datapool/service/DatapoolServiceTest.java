@@ -1,14 +1,19 @@
 package ai.armada.client.datapool.service;
 
+import ai.armada.client.config.ArmadaApiProperties;
 import ai.armada.client.datapool.client.DataPoolApiClient;
 import ai.armada.client.datapool.dto.*;
 import ai.armada.client.datapool.exception.DataPoolApiException;
 import ai.armada.client.datapool.mapper.DataPoolMapper;
+import ai.armada.client.serviceline.dto.BatchPlanDto;
+import ai.armada.client.serviceline.service.ServiceLineBatchPlanner;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -26,11 +31,14 @@ class DatapoolServiceTest {
     @Mock
     private DataPoolMapper mapper;
 
+    private ServiceLineBatchPlanner planner;
+
     private DataPoolService dataPoolService;
 
     @BeforeEach
     void setUp() {
-        dataPoolService = new DataPoolService(apiClient, mapper);
+        planner = new ServiceLineBatchPlanner(new ArmadaApiProperties());
+        dataPoolService = new DataPoolService(apiClient, mapper, new ArmadaApiProperties(), planner);
     }
 
     @Test
@@ -215,6 +223,77 @@ class DatapoolServiceTest {
         verify(mapper, times(1)).toDto(externalDataPool);
     }
 
+    @Test
+    void getDataPools_WhenTotalServiceLinesReported_ShouldRecordPoolSizeForPlanner() {
+        // Arrange
+        String orgId = "org-123";
+        ExternalDataPoolDto externalDataPool = new ExternalDataPoolDto(
+                "dp-001", "Data Pool 1", "USA", "Premium", "Active",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), 100.0f, 50.0f, 120);
+        DataPoolDto mappedDataPool = new DataPoolDto(
+                "dp-001", "Data Pool 1", "USA", "Premium", "Active",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), 100.0f, 50.0f, 120);
+        when(apiClient.fetchDataPools(orgId)).thenReturn(List.of(externalDataPool));
+        when(mapper.toDto(externalDataPool)).thenReturn(mappedDataPool);
+
+        // Act
+        dataPoolService.getDataPools(orgId);
+
+        // Assert
+        BatchPlanDto plan = planner.plan(ServiceLineBatchPlanner.Resource.USAGE, orgId, "dp-001", 1);
+        assertTrue(plan.poolSizeObserved());
+        assertEquals(120, plan.poolSize());
+    }
+
+    @Test
+    void getDataPoolById_WhenDataPoolsListedRecently_ShouldNotCallUpstream() {
+        // Arrange
+        String orgId = "org-123";
+        ExternalDataPoolDto externalDataPool = new ExternalDataPoolDto(
+                "dp-001", "Data Pool 1", "USA", "Premium", "Active",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), 100.0f, 50.0f, 5);
+        DataPoolDto mappedDataPool = new DataPoolDto(
+                "dp-001", "Data Pool 1", "USA", "Premium", "Active",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), 100.0f, 50.0f, 5);
+
+        when(apiClient.fetchDataPools(orgId)).thenReturn(List.of(externalDataPool));
+        when(mapper.toDto(externalDataPool)).thenReturn(mappedDataPool);
+        dataPoolService.getDataPools(orgId);
+
+        // Act
+        DataPoolDto result = dataPoolService.getDataPoolById(orgId, "dp-001");
+
+        // Assert
+        assertEquals("dp-001", result.id());
+        verify(apiClient, never()).fetchDataPoolById(any(), any());
+    }
+
+    @Test
+    void getDataPoolByIdReactive_WhenNotInRecentList_ShouldCallUpstream() {
+        // Arrange
+        String orgId = "org-123";
+        ExternalDataPoolDto listedDataPool = new ExternalDataPoolDto(
+                "dp-001", "Data Pool 1", "USA", "Premium", "Active",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), 100.0f, 50.0f, 5);
+        ExternalDataPoolDto otherDataPool = new ExternalDataPoolDto(
+                "dp-002", "Data Pool 2", "USA", "Premium", "Active",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), 100.0f, 50.0f, 5);
+        DataPoolDto mappedDataPool = new DataPoolDto(
+                "dp-002", "Data Pool 2", "USA", "Premium", "Active",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), 100.0f, 50.0f, 5);
+
+        when(apiClient.fetchDataPoolsReactive(orgId)).thenReturn(Mono.just(List.of(listedDataPool)));
+        when(apiClient.fetchDataPoolByIdReactive(orgId, "dp-002")).thenReturn(Mono.just(otherDataPool));
+        when(mapper.toDto(any())).thenReturn(mappedDataPool);
+
+        // Act & Assert
+        StepVerifier.create(dataPoolService.getDataPoolsReactive(orgId)
+                        .then(dataPoolService.getDataPoolByIdReactive(orgId, "dp-002")))
+                .assertNext(result -> assertEquals("dp-002", result.id()))
+                .verifyComplete();
+        verify(apiClient, times(1)).fetchDataPoolByIdReactive(orgId, "dp-002");
+    }
+
     @Test
     void getDataPoolById_WhenApiClientThrowsException_ShouldPropagateException() {
         // Arrange
@@ -313,4 +392,37 @@ class DatapoolServiceTest {
 
         verify(apiClient, times(1)).fetchDataPoolSettings(orgId, dataPoolId);
     }
+
+    @Test
+    void getDataPoolsReactive_WhenSuccessful_ShouldEmitMappedDataPools() {
+        // Arrange
+        String orgId = "org-123";
+        ExternalDataPoolDto external = new ExternalDataPoolDto(
+                "dp-001", "Data Pool 1", "US", "Premium", "Active",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), 100.0f, 25.5f, 5);
+        DataPoolDto mapped = new DataPoolDto(
+                "dp-001", "Data Pool 1", "US", "Premium", "Active",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), 100.0f, 25.5f, 5);
+        when(apiClient.fetchDataPoolsReactive(orgId)).thenReturn(Mono.just(List.of(external)));
+        when(mapper.toDto(external)).thenReturn(mapped);
+
+        // Act & Assert
+        StepVerifier.create(dataPoolService.getDataPoolsReactive(orgId))
+                .expectNext(List.of(mapped))
+                .verifyComplete();
+
+        verify(apiClient, never()).fetchDataPools(anyString());
+    }
+
+    @Test
+    void getDataPoolUsageReactive_WhenApiClientFails_ShouldPropagateError() {
+        // Arrange
+        when(apiClient.fetchDataPoolUsageReactive("org-123", "dp-001", 1))
+                .thenReturn(Mono.error(new DataPoolApiException("DATAPOOL_USAGE_ERROR", "API error")));
+
+        // Act & Assert
+        StepVerifier.create(dataPoolService.getDataPoolUsageReactive("org-123", "dp-001", 1))
+                .expectError(DataPoolApiException.class)
+                .verify();
+    }
 }
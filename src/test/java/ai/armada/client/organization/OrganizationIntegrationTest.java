@@ -54,6 +54,8 @@ class OrganizationIntegrationTest {
         registry.add("armada.api.endpoints.auth.token", () -> "/v1/auth/token");
         registry.add("armada.api.endpoints.organizations.list", () -> "/v1/orgs");
         registry.add("armada.api.tokenConfig.expiry-threshold-percent", () -> 50);
+        // Warm-up requests would consume the responses queued by the tests
+        registry.add("armada.api.warmup.enabled", () -> false);
     }
 
     @AfterEach
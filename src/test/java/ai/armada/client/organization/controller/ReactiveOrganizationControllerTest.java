@@ -0,0 +1,40 @@
+package ai.armada.client.organization.controller;
+
+import ai.armada.client.organization.dto.OrganizationDto;
+import ai.armada.client.organization.service.OrganizationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(ReactiveOrganizationController.class)
+class ReactiveOrganizationControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private OrganizationService organizationService;
+
+    @Test
+    void getOrganizations_WhenSuccessful_ShouldReturnOrganizations() {
+        // Arrange
+        when(organizationService.getOrganizationsReactive())
+                .thenReturn(Mono.just(List.of(new OrganizationDto("org-123", "Test Organization"))));
+
+        // Act & Assert
+        webTestClient.get()
+                .uri("/api/orgs")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo("org-123")
+                .jsonPath("$[0].display_name").isEqualTo("Test Organization");
+    }
+}
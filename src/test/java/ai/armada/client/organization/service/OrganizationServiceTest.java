@@ -10,6 +10,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -112,4 +114,21 @@ class OrganizationServiceTest {
         assertThrows(RuntimeException.class, () -> 
                 organizationService.getOrganizations());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getOrganizationsReactive_WhenSuccessful_ShouldEmitMappedOrganizations() {
+        // Arrange
+        ExternalOrganizationDto external = new ExternalOrganizationDto();
+        external.setId("org-123");
+        OrganizationDto mapped = new OrganizationDto("org-123", "Test Organization");
+        when(apiClient.fetchOrganizationsReactive()).thenReturn(Mono.just(List.of(external)));
+        when(mapper.toDto(external)).thenReturn(mapped);
+
+        // Act & Assert
+        StepVerifier.create(organizationService.getOrganizationsReactive())
+                .expectNext(List.of(mapped))
+                .verifyComplete();
+
+        verify(apiClient, never()).fetchOrganizations();
+    }
+}
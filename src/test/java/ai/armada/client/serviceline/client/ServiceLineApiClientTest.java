@@ -1,9 +1,18 @@
 package ai.armada.client.serviceline.client;
 
+import ai.armada.client.common.http.Bulkhead;
+import ai.armada.client.common.http.BulkheadFilter;
+import ai.armada.client.common.http.Deadline;
+import ai.armada.client.common.http.DeadlineExceededException;
+import ai.armada.client.common.http.DeadlineFilter;
+import ai.armada.client.common.http.SingleFlight;
+import ai.armada.client.common.security.AuthenticationException;
 import ai.armada.client.common.security.TokenProvider;
 import ai.armada.client.config.ArmadaApiProperties;
 import ai.armada.client.serviceline.dto.*;
 import ai.armada.client.serviceline.exception.ServiceLineApiException;
+import ai.armada.client.serviceline.service.ServiceLineBatchPlanner;
+import ai.armada.client.serviceline.service.ServiceLineBatchPlanner.Resource;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
@@ -11,9 +20,15 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -24,6 +39,8 @@ class ServiceLineApiClientTest {
     private ServiceLineApiClient serviceLineApiClient;
     private TokenProvider tokenProvider;
     private ArmadaApiProperties properties;
+    private ServiceLineBatchPlanner planner;
+    private BulkheadFilter bulkheadFilter;
 
     @BeforeEach
     void setUp() throws IOException {
@@ -33,6 +50,7 @@ class ServiceLineApiClientTest {
         // Mock TokenProvider
         tokenProvider = mock(TokenProvider.class);
         when(tokenProvider.getAccessToken()).thenReturn("test-access-token");
+        when(tokenProvider.getAccessTokenReactive()).thenReturn(Mono.just("test-access-token"));
 
         // Setup properties
         properties = new ArmadaApiProperties();
@@ -51,10 +69,14 @@ class ServiceLineApiClientTest {
 
         WebClient webClient = WebClient.builder()
                 .baseUrl(properties.getBaseUrl())
+                .filter(new DeadlineFilter())
                 .build();
 
+        planner = new ServiceLineBatchPlanner(properties);
+        bulkheadFilter = new BulkheadFilter(new Bulkhead("service line", 32, 200));
         serviceLineApiClient = new ServiceLineApiClient(
-                webClient, tokenProvider, properties);
+                webClient, tokenProvider, properties, new SingleFlight(properties), planner,
+                bulkheadFilter);
     }
 
     @AfterEach
@@ -392,6 +414,104 @@ class ServiceLineApiClientTest {
         assertTrue(recordedRequest.getPath().contains("billingCycles=2"));
     }
 
+    @Test
+    void fetchServiceLineUsageReactive_WhenManyLinesRequestedTogether_ShouldUseOneAllLinesCall()
+            throws InterruptedException {
+        // Arrange
+        properties.getCollapsing().setWindow(Duration.ofMillis(100));
+        serviceLineApiClient = new ServiceLineApiClient(
+                WebClient.create(properties.getBaseUrl()), tokenProvider, properties, new SingleFlight(properties),
+                planner, bulkheadFilter);
+        String jsonResponse = """
+                {
+                    "status": "success",
+                    "data": {
+                        "id": "dp-001",
+                        "serviceLines": [
+                            {"serviceLineId": "sl-1", "serviceLineName": "Line 1", "billingCycles": []},
+                            {"serviceLineId": "sl-2", "serviceLineName": "Line 2", "billingCycles": []},
+                            {"serviceLineId": "sl-3", "serviceLineName": "Line 3", "billingCycles": []}
+                        ]
+                    }
+                }
+                """;
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(jsonResponse)
+                .addHeader("Content-Type", "application/json"));
+
+        // Act
+        List<ServiceLineUsageDto> usages = Flux.just("sl-1", "sl-2", "sl-3")
+                .flatMapSequential(id -> serviceLineApiClient.fetchServiceLineUsageReactive("org-123", "dp-001", id, 2))
+                .collectList()
+                .block();
+
+        // Assert
+        assertEquals(List.of("Line 1", "Line 2", "Line 3"),
+                usages.stream().map(ServiceLineUsageDto::serviceLineName).toList());
+        assertEquals(1, mockWebServer.getRequestCount());
+        RecordedRequest recordedRequest = mockWebServer.takeRequest();
+        assertTrue(recordedRequest.getPath().contains("/v1/orgs/org-123/data-pools/dp-001/service-lines/data-usage"));
+        assertTrue(recordedRequest.getPath().contains("billingCycles=2"));
+    }
+
+    @Test
+    void fetchServiceLineUsagePerLineReactive_WhenManyLinesRequestedTogether_ShouldCallEachLine()
+            throws InterruptedException {
+        // Arrange
+        properties.getCollapsing().setWindow(Duration.ofMillis(100));
+        serviceLineApiClient = new ServiceLineApiClient(
+                WebClient.create(properties.getBaseUrl()), tokenProvider, properties, new SingleFlight(properties),
+                planner, bulkheadFilter);
+        for (int i = 0; i < 3; i++) {
+            mockWebServer.enqueue(new MockResponse()
+                    .setBody("""
+                            {"status": "success", "data": {"serviceLineName": "Line", "billingCycles": []}}
+                            """)
+                    .addHeader("Content-Type", "application/json"));
+        }
+
+        // Act
+        List<ServiceLineUsageDto> usages = Flux.just("sl-1", "sl-2", "sl-3")
+                .flatMapSequential(id -> serviceLineApiClient.fetchServiceLineUsagePerLineReactive(
+                        "org-123", "dp-001", id, 2))
+                .collectList()
+                .block();
+
+        // Assert
+        assertEquals(3, usages.size());
+        assertEquals(3, mockWebServer.getRequestCount());
+        for (int i = 0; i < 3; i++) {
+            assertTrue(mockWebServer.takeRequest().getPath().matches(".*/service-lines/sl-\\d/data-usage.*"));
+        }
+    }
+
+    @Test
+    void fetchServiceLineUsage_WhenCollapsingAndTokenRefreshBlocks_ShouldResolveTokenOnCallerThread() {
+        // Arrange: a due refresh blocks, which Reactor's non-blocking threads refuse
+        properties.getCollapsing().setWindow(Duration.ofMillis(50));
+        when(tokenProvider.getAccessToken()).thenAnswer(invocation -> {
+            if (Schedulers.isInNonBlockingThread()) {
+                throw new IllegalStateException("block() is not supported in thread " + Thread.currentThread().getName());
+            }
+            return "test-access-token";
+        });
+        serviceLineApiClient = new ServiceLineApiClient(
+                WebClient.create(properties.getBaseUrl()), tokenProvider, properties, new SingleFlight(properties),
+                planner, bulkheadFilter);
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("""
+                        {"status": "success", "data": {"serviceLineName": "Line 1", "billingCycles": []}}
+                        """)
+                .addHeader("Content-Type", "application/json"));
+
+        // Act: a lone request waits out the collapse window, then makes its single call
+        ServiceLineUsageDto usage = serviceLineApiClient.fetchServiceLineUsage("org-123", "dp-001", "sl-1", 1);
+
+        // Assert
+        assertEquals("Line 1", usage.serviceLineName());
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+
     @Test
     void fetchAllServiceLinesUsage_WhenServerError_ShouldThrowException() {
         // Arrange
@@ -410,11 +530,94 @@ class ServiceLineApiClientTest {
     }
 
     @Test
-    void fetchServiceLineSettings_WhenSuccessful_ShouldReturnSettings() throws InterruptedException {
+    void fetchServiceLineSettings_WhenSuccessful_ShouldAnswerFromAllServiceLinesSettings() throws InterruptedException {
+        // Arrange
+        String orgId = "org-123";
+        String dataPoolId = "dp-001";
+        String jsonResponse = """
+                {
+                    "status": "success",
+                    "data": [
+                    {
+                        "serviceLineId": "sl-001",
+                        "settings": [],
+                        "notifications": []
+                    },
+                    {
+                        "serviceLineId": "sl-002",
+                        "settings": [],
+                        "notifications": []
+                    }
+                ]
+                }
+                """;
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(jsonResponse)
+                .addHeader("Content-Type", "application/json"));
+
+        // Act
+        ServiceLineSettingsDto first = serviceLineApiClient.fetchServiceLineSettings(orgId, dataPoolId, "sl-001");
+        ServiceLineSettingsDto second = serviceLineApiClient.fetchServiceLineSettings(orgId, dataPoolId, "sl-002");
+
+        // Assert
+        assertEquals("sl-001", first.serviceLineId());
+        assertEquals("sl-002", second.serviceLineId());
+
+        // Verify one request for both lines
+        assertEquals(1, mockWebServer.getRequestCount());
+        RecordedRequest recordedRequest = mockWebServer.takeRequest();
+        assertEquals("/v1/orgs/org-123/data-pools/dp-001/service-lines/settings", recordedRequest.getPath());
+        assertEquals("Bearer test-access-token", recordedRequest.getHeader("Authorization"));
+
+        // Only the all-service-lines call reached the upstream: the pool size is known, the per-line cost is not
+        BatchPlanDto plan = planner.plan(Resource.SETTINGS, orgId, dataPoolId, 1);
+        assertTrue(plan.poolSizeObserved());
+        assertEquals(2, plan.poolSize());
+        assertEquals(100, plan.perLineEstimateMs());
+    }
+
+    @Test
+    void fetchServiceLineSettings_WhenLineMissingAndTokenRefreshBlocks_ShouldResolveTokenOnCallerThread() {
+        // Arrange: a due refresh blocks, which Reactor's non-blocking threads refuse
+        when(tokenProvider.getAccessToken()).thenAnswer(invocation -> {
+            if (Schedulers.isInNonBlockingThread()) {
+                throw new IllegalStateException("block() is not supported in thread " + Thread.currentThread().getName());
+            }
+            return "test-access-token";
+        });
+        serviceLineApiClient = new ServiceLineApiClient(
+                WebClient.create(properties.getBaseUrl()), tokenProvider, properties, new SingleFlight(properties),
+                planner, bulkheadFilter);
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("""
+                        { "status": "success", "data": [] }
+                        """)
+                .addHeader("Content-Type", "application/json"));
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("""
+                        { "status": "success", "data": {"serviceLineId": "sl-001", "settings": [], "notifications": []} }
+                        """)
+                .addHeader("Content-Type", "application/json"));
+
+        // Act: the miss falls back to the single call once the list arrives on an event loop thread
+        ServiceLineSettingsDto settings = serviceLineApiClient.fetchServiceLineSettings("org-123", "dp-001", "sl-001");
+
+        // Assert
+        assertEquals("sl-001", settings.serviceLineId());
+        assertEquals(2, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void fetchServiceLineSettings_WhenLineMissingFromAllServiceLinesSettings_ShouldFetchLineAlone() throws InterruptedException {
         // Arrange
         String orgId = "org-123";
         String dataPoolId = "dp-001";
         String serviceLineId = "sl-001";
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("""
+                        { "status": "success", "data": [] }
+                        """)
+                .addHeader("Content-Type", "application/json"));
         String jsonResponse = """
                 {
                     "status": "success",
@@ -441,13 +644,34 @@ class ServiceLineApiClientTest {
         assertNotNull(settings);
         assertEquals("sl-001", settings.serviceLineId());
 
-        // Verify request
+        // Verify requests
+        assertEquals("/v1/orgs/org-123/data-pools/dp-001/service-lines/settings", mockWebServer.takeRequest().getPath());
         RecordedRequest recordedRequest = mockWebServer.takeRequest();
         assertEquals("GET", recordedRequest.getMethod());
         assertEquals("/v1/orgs/org-123/data-pools/dp-001/service-lines/sl-001/settings", recordedRequest.getPath());
         assertEquals("Bearer test-access-token", recordedRequest.getHeader("Authorization"));
     }
 
+    @Test
+    void fetchServiceLineSettingsPerLineReactive_WhenLineNotIndexed_ShouldFetchLineAloneWithoutRefresh()
+            throws InterruptedException {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("""
+                        {"status": "success", "data": {"serviceLineId": "sl-001", "settings": [], "notifications": []}}
+                        """)
+                .addHeader("Content-Type", "application/json"));
+
+        // Act & Assert
+        StepVerifier.create(serviceLineApiClient.fetchServiceLineSettingsPerLineReactive("org-123", "dp-001", "sl-001"))
+                .assertNext(settings -> assertEquals("sl-001", settings.serviceLineId()))
+                .verifyComplete();
+        assertEquals(1, mockWebServer.getRequestCount());
+        assertEquals("/v1/orgs/org-123/data-pools/dp-001/service-lines/sl-001/settings",
+                mockWebServer.takeRequest().getPath());
+        assertTrue(planner.plan(Resource.SETTINGS, "org-123", "dp-001", 1).perLineEstimateMs() < 100);
+    }
+
     @Test
     void fetchServiceLineSettings_WhenServerError_ShouldThrowException() {
         // Arrange
@@ -555,4 +779,186 @@ class ServiceLineApiClientTest {
         assertThrows(ServiceLineApiException.class, () ->
                 serviceLineApiClient.fetchServiceLines(orgId, dataPoolId));
     }
+
+    @Test
+    void fetchServiceLinesReactive_WhenSuccessful_ShouldEmitList() throws InterruptedException {
+        // Arrange
+        String jsonResponse = """
+                {
+                    "status": "success",
+                    "data": [
+                        {
+                            "id": "sl-001",
+                            "serviceLineName": "Service Line 1",
+                            "serviceLineNumber": "555-0001",
+                            "status": "Active",
+                            "activationDate": "2024-01-01",
+                            "kitNumbers": ["KIT001"]
+                        }
+                    ]
+                }
+                """;
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(jsonResponse)
+                .addHeader("Content-Type", "application/json"));
+
+        // Act & Assert
+        StepVerifier.create(serviceLineApiClient.fetchServiceLinesReactive("org-123", "dp-001"))
+                .assertNext(serviceLines -> {
+                    assertEquals(1, serviceLines.size());
+                    assertEquals("sl-001", serviceLines.get(0).id());
+                })
+                .verifyComplete();
+
+        RecordedRequest recordedRequest = mockWebServer.takeRequest();
+        assertEquals("/v1/orgs/org-123/data-pools/dp-001/service-lines", recordedRequest.getPath());
+        assertEquals("Bearer test-access-token", recordedRequest.getHeader("Authorization"));
+        verify(tokenProvider, never()).getAccessToken();
+    }
+
+    @Test
+    void fetchServiceLinesReactive_WhenNullData_ShouldEmitEmptyList() {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("""
+                        { "status": "success", "data": null }
+                        """)
+                .addHeader("Content-Type", "application/json"));
+
+        // Act & Assert
+        StepVerifier.create(serviceLineApiClient.fetchServiceLinesReactive("org-123", "dp-001"))
+                .assertNext(serviceLines -> assertTrue(serviceLines.isEmpty()))
+                .verifyComplete();
+    }
+
+    @Test
+    void fetchAllServiceLinesUsageReactive_WhenSuccessful_ShouldEmitUsage() throws InterruptedException {
+        // Arrange
+        String jsonResponse = """
+                {
+                    "status": "success",
+                    "data": {
+                        "id": "dp-001",
+                        "serviceLines": [
+                            { "serviceLineId": "sl-001", "billingCycles": [] }
+                        ]
+                    }
+                }
+                """;
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(jsonResponse)
+                .addHeader("Content-Type", "application/json"));
+
+        // Act & Assert
+        StepVerifier.create(serviceLineApiClient.fetchAllServiceLinesUsageReactive("org-123", "dp-001", 3))
+                .assertNext(usage -> {
+                    assertEquals("dp-001", usage.id());
+                    assertEquals("sl-001", usage.serviceLines().get(0).serviceLineId());
+                })
+                .verifyComplete();
+
+        RecordedRequest recordedRequest = mockWebServer.takeRequest();
+        assertEquals("/v1/orgs/org-123/data-pools/dp-001/service-lines/data-usage?billingCycles=3",
+                recordedRequest.getPath());
+    }
+
+    @Test
+    void fetchServiceLineSettingsReactive_WhenErrorStatus_ShouldEmitServiceLineApiException() {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("""
+                        { "status": "error", "data": null }
+                        """)
+                .addHeader("Content-Type", "application/json"));
+
+        // Act & Assert
+        StepVerifier.create(serviceLineApiClient.fetchServiceLineSettingsReactive("org-123", "dp-001", "sl-001"))
+                .expectErrorSatisfies(e -> {
+                    ServiceLineApiException exception = assertInstanceOf(ServiceLineApiException.class, e);
+                    assertEquals("SERVICELINE_SETTINGS_ERROR", exception.getErrorCode());
+                    assertTrue(exception.getMessage().contains("error"));
+                })
+                .verify();
+    }
+
+    @Test
+    void fetchServiceLineByIdReactive_WhenServerError_ShouldEmitServiceLineApiException() {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(500)
+                .setBody("Internal Server Error"));
+
+        // Act & Assert
+        StepVerifier.create(serviceLineApiClient.fetchServiceLineByIdReactive("org-123", "dp-001", "sl-001"))
+                .expectErrorSatisfies(e -> assertEquals("SERVICELINE_FETCH_ERROR",
+                        assertInstanceOf(ServiceLineApiException.class, e).getErrorCode()))
+                .verify();
+    }
+
+    @Test
+    void fetchServiceLineUsageReactive_WhenAuthenticationFails_ShouldPropagateAuthenticationException() {
+        // Arrange
+        when(tokenProvider.getAccessTokenReactive())
+                .thenReturn(Mono.error(new AuthenticationException("Token refresh failed")));
+
+        // Act & Assert
+        StepVerifier.create(serviceLineApiClient.fetchServiceLineUsageReactive("org-123", "dp-001", "sl-001", 1))
+                .expectError(AuthenticationException.class)
+                .verify();
+        assertEquals(0, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void streamServiceLines_WhenSuccessful_ShouldEmitEachServiceLine() {
+        // Arrange
+        String jsonResponse = """
+                {
+                    "status": "success",
+                    "data": [
+                        { "id": "sl-001", "serviceLineName": "Service Line 1" },
+                        { "id": "sl-002", "serviceLineName": "Service Line 2" }
+                    ]
+                }
+                """;
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(jsonResponse)
+                .addHeader("Content-Type", "application/json"));
+
+        // Act & Assert
+        StepVerifier.create(serviceLineApiClient.streamServiceLines("org-123", "dp-001"))
+                .assertNext(serviceLine -> assertEquals("sl-001", serviceLine.id()))
+                .assertNext(serviceLine -> assertEquals("sl-002", serviceLine.id()))
+                .verifyComplete();
+    }
+
+    @Test
+    void streamAllServiceLinesSettings_WhenServerError_ShouldEmitServiceLineApiException() {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(500)
+                .setBody("Internal Server Error"));
+
+        // Act & Assert
+        StepVerifier.create(serviceLineApiClient.streamAllServiceLinesSettings("org-123", "dp-001"))
+                .expectErrorSatisfies(e -> {
+                    assertInstanceOf(ServiceLineApiException.class, e);
+                    assertEquals("SERVICELINE_SETTINGS_ERROR", ((ServiceLineApiException) e).getErrorCode());
+                })
+                .verify();
+    }
+
+    @Test
+    void fetchAllServiceLinesUsageReactive_WhenDeadlineRunsOutDuringBody_ShouldEmitDeadlineExceededException() {
+        // Arrange
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("{\"status\": \"success\", \"data\": {\"serviceLines\": []}}" + " ".repeat(32 * 1024))
+                .addHeader("Content-Type", "application/json")
+                .throttleBody(1024, 100, TimeUnit.MILLISECONDS));
+
+        // Act & Assert
+        StepVerifier.create(serviceLineApiClient.fetchAllServiceLinesUsageReactive("org-123", "dp-001", 1)
+                        .contextWrite(context -> context.put(Deadline.class, Deadline.after(Duration.ofMillis(300)))))
+                .expectError(DeadlineExceededException.class)
+                .verify(Duration.ofSeconds(2));
+    }
 }
@@ -0,0 +1,143 @@
+package ai.armada.client.serviceline.controller;
+
+import ai.armada.client.common.ApiError;
+import ai.armada.client.common.BatchItem;
+import ai.armada.client.common.InvalidRequestException;
+import ai.armada.client.common.security.AuthenticationException;
+import ai.armada.client.serviceline.dto.*;
+import ai.armada.client.serviceline.exception.ServiceLineApiException;
+import ai.armada.client.serviceline.service.ServiceLineService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@WebFluxTest(ReactiveServiceLineController.class)
+class ReactiveServiceLineControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private ServiceLineService serviceLineService;
+
+    @Test
+    void getServiceLines_WhenSuccessful_ShouldReturnServiceLineList() {
+        // Arrange
+        ServiceLineDto serviceLine = new ServiceLineDto(
+                "sl-001",
+                "Service Line 1",
+                "555-0001",
+                "Active",
+                LocalDate.of(2024, 1, 1),
+                List.of("KIT001")
+        );
+        when(serviceLineService.getServiceLinesReactive("org-123", "dp-001"))
+                .thenReturn(Mono.just(List.of(serviceLine)));
+
+        // Act & Assert
+        webTestClient.get()
+                .uri("/api/organizations/{orgId}/data-pools/{dataPoolId}/service-lines", "org-123", "dp-001")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo("sl-001")
+                .jsonPath("$[0].serviceLineName").isEqualTo("Service Line 1");
+
+        verify(serviceLineService, never()).getServiceLines(anyString(), anyString());
+    }
+
+    @Test
+    void getAllServiceLinesUsage_WhenBillingCyclesProvided_ShouldPassThrough() {
+        // Arrange
+        ServiceLinesUsageDto usage = new ServiceLinesUsageDto("dp-001", List.of());
+        when(serviceLineService.getAllServiceLinesUsageReactive("org-123", "dp-001", 6))
+                .thenReturn(Mono.just(usage));
+
+        // Act & Assert
+        webTestClient.get()
+                .uri("/api/organizations/{orgId}/data-pools/{dataPoolId}/service-lines/data-usage?billingCycles=6",
+                        "org-123", "dp-001")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo("dp-001");
+    }
+
+    @Test
+    void getServiceLineSettings_WhenServiceFails_ShouldReturnBadGateway() {
+        // Arrange
+        when(serviceLineService.getServiceLineSettingsReactive("org-123", "dp-001", "sl-001"))
+                .thenReturn(Mono.error(new ServiceLineApiException("SERVICELINE_SETTINGS_ERROR", "API error")));
+
+        // Act & Assert
+        webTestClient.get()
+                .uri("/api/organizations/{orgId}/data-pools/{dataPoolId}/service-lines/{serviceLineId}/settings",
+                        "org-123", "dp-001", "sl-001")
+                .exchange()
+                .expectStatus().isEqualTo(502)
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("SERVICELINE_SETTINGS_ERROR")
+                .jsonPath("$.path").isEqualTo("/api/organizations/org-123/data-pools/dp-001/service-lines/sl-001/settings");
+    }
+
+    @Test
+    void getServiceLineById_WhenAuthenticationFails_ShouldReturnUnauthorized() {
+        // Arrange
+        when(serviceLineService.getServiceLineByIdReactive("org-123", "dp-001", "sl-001"))
+                .thenReturn(Mono.error(new AuthenticationException("Token refresh failed")));
+
+        // Act & Assert
+        webTestClient.get()
+                .uri("/api/organizations/{orgId}/data-pools/{dataPoolId}/service-lines/{serviceLineId}",
+                        "org-123", "dp-001", "sl-001")
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("AUTH_ERROR");
+    }
+
+    @Test
+    void batchGetServiceLinesUsage_ShouldReturnOneItemPerId() {
+        // Arrange
+        ServiceLineUsageDto usage = new ServiceLineUsageDto("Line 1", "555-0001", "Active", null, List.of(), List.of());
+        when(serviceLineService.getServiceLinesUsageReactive("org-123", "dp-001", List.of("sl-001", "sl-009"), 3))
+                .thenReturn(Mono.just(List.of(BatchItem.of("sl-001", usage),
+                        BatchItem.failed("sl-009", new ApiError("SERVICELINE_NOT_FOUND", "No data")))));
+
+        // Act & Assert
+        webTestClient.post()
+                .uri("/api/organizations/{orgId}/data-pools/{dataPoolId}/service-lines/data-usage:batchGet",
+                        "org-123", "dp-001")
+                .bodyValue(new ServiceLineUsageBatchRequest(List.of("sl-001", "sl-009"), 3))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].data.serviceLineName").isEqualTo("Line 1")
+                .jsonPath("$[1].error.errorCode").isEqualTo("SERVICELINE_NOT_FOUND");
+    }
+
+    @Test
+    void getServiceLinesByIds_WhenTooManyIds_ShouldReturnBadRequest() {
+        // Arrange
+        when(serviceLineService.getServiceLinesByIdsReactive("org-123", "dp-001", List.of("sl-001", "sl-002")))
+                .thenReturn(Mono.error(new InvalidRequestException("Too many service lines")));
+
+        // Act & Assert
+        webTestClient.get()
+                .uri("/api/organizations/{orgId}/data-pools/{dataPoolId}/service-lines?ids=sl-001,sl-002",
+                        "org-123", "dp-001")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("INVALID_REQUEST");
+    }
+}
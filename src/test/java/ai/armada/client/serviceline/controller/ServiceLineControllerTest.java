@@ -1,5 +1,8 @@
 package ai.armada.client.serviceline.controller;
 
+import ai.armada.client.common.ApiError;
+import ai.armada.client.common.BatchItem;
+import ai.armada.client.common.http.DeadlineExceededException;
 import ai.armada.client.serviceline.dto.*;
 import ai.armada.client.serviceline.exception.ServiceLineApiException;
 import ai.armada.client.serviceline.service.ServiceLineService;
@@ -7,14 +10,18 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ServiceLineController.class)
@@ -345,4 +352,69 @@ class ServiceLineControllerTest {
                 .andExpect(jsonPath("$.errorCode").value("SERVICELINE_SETTINGS_ERROR"))
                 .andExpect(jsonPath("$.message").exists());
     }
+
+    @Test
+    void getAllServiceLinesUsage_WhenDeadlineExceeded_ShouldReturnGatewayTimeout() throws Exception {
+        // Arrange
+        String orgId = "org-123";
+        String dataPoolId = "dp-001";
+        when(serviceLineService.getAllServiceLinesUsage(orgId, dataPoolId, 1))
+                .thenThrow(new DeadlineExceededException("Deadline exceeded for upstream call GET /v1/usage"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/organizations/{orgId}/data-pools/{dataPoolId}/service-lines/data-usage",
+                        orgId, dataPoolId))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(jsonPath("$.errorCode").value("DEADLINE_EXCEEDED"));
+    }
+
+    @Test
+    void getServiceLinesByIds_ShouldReturnOneItemPerIdInRequestOrder() throws Exception {
+        // Arrange
+        ServiceLineDto serviceLine = new ServiceLineDto("sl-002", "Service Line 2", "555-0002", "Active",
+                LocalDate.of(2024, 2, 1), List.of("KIT003"));
+        when(serviceLineService.getServiceLinesByIds("org-123", "dp-001", List.of("sl-002", "sl-009")))
+                .thenReturn(List.of(BatchItem.of("sl-002", serviceLine),
+                        BatchItem.failed("sl-009", new ApiError("SERVICELINE_FETCH_ERROR", "Not found"))));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/organizations/{orgId}/data-pools/{dataPoolId}/service-lines",
+                        "org-123", "dp-001").param("ids", "sl-002,sl-009"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value("sl-002"))
+                .andExpect(jsonPath("$[0].data.serviceLineName").value("Service Line 2"))
+                .andExpect(jsonPath("$[0].error").doesNotExist())
+                .andExpect(jsonPath("$[1].id").value("sl-009"))
+                .andExpect(jsonPath("$[1].error.errorCode").value("SERVICELINE_FETCH_ERROR"));
+    }
+
+    @Test
+    void batchGetServiceLinesUsage_ShouldDefaultBillingCycles() throws Exception {
+        // Arrange
+        ServiceLineUsageDto usage = new ServiceLineUsageDto("Line 1", "555-0001", "Active", null, List.of(), List.of());
+        when(serviceLineService.getServiceLinesUsage("org-123", "dp-001", List.of("sl-001"), 1))
+                .thenReturn(List.of(BatchItem.of("sl-001", usage)));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/organizations/{orgId}/data-pools/{dataPoolId}/service-lines/data-usage:batchGet",
+                        "org-123", "dp-001")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("serviceLineIds", List.of("sl-001")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("sl-001"))
+                .andExpect(jsonPath("$[0].data.serviceLineName").value("Line 1"));
+    }
+
+    @Test
+    void batchGetServiceLinesUsage_WhenIdsMissing_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/organizations/{orgId}/data-pools/{dataPoolId}/service-lines/data-usage:batchGet",
+                        "org-123", "dp-001")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"billingCycles\": 2}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_REQUEST"));
+        verifyNoInteractions(serviceLineService);
+    }
 }
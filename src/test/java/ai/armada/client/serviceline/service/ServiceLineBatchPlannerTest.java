@@ -0,0 +1,88 @@
+package ai.armada.client.serviceline.service;
+
+import ai.armada.client.config.ArmadaApiProperties;
+import ai.armada.client.serviceline.dto.BatchPlanDto;
+import ai.armada.client.serviceline.service.ServiceLineBatchPlanner.Resource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceLineBatchPlannerTest {
+
+    private ArmadaApiProperties properties;
+    private ServiceLineBatchPlanner planner;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ArmadaApiProperties();
+        planner = new ServiceLineBatchPlanner(properties);
+    }
+
+    @Test
+    void plan_WhenFewLinesOfLargePool_ShouldFetchPerLine() {
+        planner.recordPoolSize("org-1", "dp-1", 500);
+
+        BatchPlanDto plan = planner.plan(Resource.USAGE, "org-1", "dp-1", 3);
+
+        assertEquals(BatchPlanDto.Strategy.PER_LINE, plan.strategy());
+        assertEquals(500, plan.poolSize());
+        assertTrue(plan.poolSizeObserved());
+        assertTrue(plan.perLineEstimateMs() < plan.bulkEstimateMs());
+    }
+
+    @Test
+    void plan_WhenManyLinesOfPool_ShouldFetchInBulk() {
+        planner.recordPoolSize("org-1", "dp-1", 40);
+
+        BatchPlanDto plan = planner.plan(Resource.SETTINGS, "org-1", "dp-1", 20);
+
+        assertEquals(BatchPlanDto.Strategy.BULK, plan.strategy());
+        assertEquals("SETTINGS", plan.resource());
+        assertEquals(20, plan.requestedServiceLines());
+    }
+
+    @Test
+    void plan_WhenPoolSizeUnknown_ShouldAssumeAtLeastRequestedLines() {
+        BatchPlanDto plan = planner.plan(Resource.USAGE, "org-1", "dp-1", 200);
+
+        assertFalse(plan.poolSizeObserved());
+        assertEquals(200, plan.poolSize());
+        assertEquals(BatchPlanDto.Strategy.BULK, plan.strategy());
+    }
+
+    @Test
+    void plan_WhenBulkCallsObservedSlow_ShouldPreferPerLine() {
+        planner.recordPoolSize("org-1", "dp-1", 40);
+        assertEquals(BatchPlanDto.Strategy.BULK, planner.plan(Resource.USAGE, "org-1", "dp-1", 10).strategy());
+
+        for (int i = 0; i < 20; i++) {
+            StepVerifier.create(planner.measureBulk(Resource.USAGE, "org-1", "dp-1",
+                            Mono.delay(Duration.ofMillis(100)).thenReturn(List.of("sl-1", "sl-2")), List::size))
+                    .expectNextCount(1)
+                    .verifyComplete();
+            StepVerifier.create(planner.measurePerLine(Resource.USAGE, Mono.just("fast")))
+                    .expectNext("fast")
+                    .verifyComplete();
+        }
+
+        BatchPlanDto plan = planner.plan(Resource.USAGE, "org-1", "dp-1", 1);
+        assertEquals(BatchPlanDto.Strategy.PER_LINE, plan.strategy());
+        // Observed bulk responses also update the pool size
+        assertEquals(2, plan.poolSize());
+    }
+
+    @Test
+    void plan_WhenDisabled_ShouldAlwaysFetchPerLine() {
+        properties.getPlanner().setEnabled(false);
+        ServiceLineBatchPlanner disabled = new ServiceLineBatchPlanner(properties);
+        disabled.recordPoolSize("org-1", "dp-1", 10);
+
+        assertEquals(BatchPlanDto.Strategy.PER_LINE, disabled.plan(Resource.USAGE, "org-1", "dp-1", 10).strategy());
+    }
+}
@@ -1,5 +1,8 @@
 package ai.armada.client.serviceline.service;
 
+import ai.armada.client.common.BatchItem;
+import ai.armada.client.common.InvalidRequestException;
+import ai.armada.client.config.ArmadaApiProperties;
 import ai.armada.client.serviceline.client.ServiceLineApiClient;
 import ai.armada.client.serviceline.dto.*;
 import ai.armada.client.serviceline.exception.ServiceLineApiException;
@@ -9,10 +12,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -28,9 +34,13 @@ class ServiceLineServiceTest {
 
     private ServiceLineService serviceLineService;
 
+    private ServiceLineBatchPlanner planner;
+
     @BeforeEach
     void setUp() {
-        serviceLineService = new ServiceLineService(apiClient, mapper);
+        ArmadaApiProperties properties = new ArmadaApiProperties();
+        planner = new ServiceLineBatchPlanner(properties);
+        serviceLineService = new ServiceLineService(apiClient, mapper, properties, planner);
     }
 
     @Test
@@ -170,6 +180,49 @@ class ServiceLineServiceTest {
         verify(mapper, times(1)).toDto(externalSL);
     }
 
+    @Test
+    void getServiceLineByIdReactive_WhenServiceLinesListedRecently_ShouldNotCallUpstream() {
+        // Arrange
+        String orgId = "org-123";
+        String dataPoolId = "dp-001";
+        ExternalServiceLineDto externalSL = new ExternalServiceLineDto(
+                "sl-001", "Service Line 1", "555-0001", "Active", LocalDate.of(2024, 1, 1), List.of("KIT001"));
+        ServiceLineDto mappedSL = new ServiceLineDto(
+                "sl-001", "Service Line 1", "555-0001", "Active", LocalDate.of(2024, 1, 1), List.of("KIT001"));
+
+        when(apiClient.fetchServiceLinesReactive(orgId, dataPoolId)).thenReturn(Mono.just(List.of(externalSL)));
+        when(mapper.toDto(externalSL)).thenReturn(mappedSL);
+
+        // Act & Assert
+        StepVerifier.create(serviceLineService.getServiceLinesReactive(orgId, dataPoolId)
+                        .then(serviceLineService.getServiceLineByIdReactive(orgId, dataPoolId, "sl-001")))
+                .assertNext(result -> assertEquals("sl-001", result.id()))
+                .verifyComplete();
+        verify(apiClient, never()).fetchServiceLineByIdReactive(any(), any(), any());
+    }
+
+    @Test
+    void getServiceLineById_WhenListedInAnotherDataPool_ShouldCallUpstream() {
+        // Arrange
+        String orgId = "org-123";
+        ExternalServiceLineDto externalSL = new ExternalServiceLineDto(
+                "sl-001", "Service Line 1", "555-0001", "Active", LocalDate.of(2024, 1, 1), List.of("KIT001"));
+        ServiceLineDto mappedSL = new ServiceLineDto(
+                "sl-001", "Service Line 1", "555-0001", "Active", LocalDate.of(2024, 1, 1), List.of("KIT001"));
+
+        when(apiClient.fetchServiceLines(orgId, "dp-001")).thenReturn(List.of(externalSL));
+        when(apiClient.fetchServiceLineById(orgId, "dp-002", "sl-001")).thenReturn(externalSL);
+        when(mapper.toDto(externalSL)).thenReturn(mappedSL);
+        serviceLineService.getServiceLines(orgId, "dp-001");
+
+        // Act
+        ServiceLineDto result = serviceLineService.getServiceLineById(orgId, "dp-002", "sl-001");
+
+        // Assert
+        assertEquals("sl-001", result.id());
+        verify(apiClient, times(1)).fetchServiceLineById(orgId, "dp-002", "sl-001");
+    }
+
     @Test
     void getServiceLineById_WhenApiClientThrowsException_ShouldPropagateException() {
         // Arrange
@@ -394,4 +447,144 @@ class ServiceLineServiceTest {
 
         verify(apiClient, times(1)).fetchAllServiceLinesSettings(orgId, dataPoolId);
     }
+
+    @Test
+    void getServiceLinesReactive_WhenSuccessful_ShouldEmitMappedServiceLines() {
+        // Arrange
+        String orgId = "org-123";
+        String dataPoolId = "dp-001";
+        ExternalServiceLineDto external = new ExternalServiceLineDto(
+                "sl-001", "Service Line 1", "555-0001", "Active", LocalDate.of(2024, 1, 1), List.of("KIT001"));
+        ServiceLineDto mapped = new ServiceLineDto(
+                "sl-001", "Service Line 1", "555-0001", "Active", LocalDate.of(2024, 1, 1), List.of("KIT001"));
+        when(apiClient.fetchServiceLinesReactive(orgId, dataPoolId)).thenReturn(Mono.just(List.of(external)));
+        when(mapper.toDto(external)).thenReturn(mapped);
+
+        // Act & Assert
+        StepVerifier.create(serviceLineService.getServiceLinesReactive(orgId, dataPoolId))
+                .expectNext(List.of(mapped))
+                .verifyComplete();
+
+        verify(apiClient, never()).fetchServiceLines(anyString(), anyString());
+    }
+
+    @Test
+    void getServiceLineByIdReactive_WhenApiClientFails_ShouldPropagateError() {
+        // Arrange
+        when(apiClient.fetchServiceLineByIdReactive("org-123", "dp-001", "sl-001"))
+                .thenReturn(Mono.error(new ServiceLineApiException("SERVICELINE_FETCH_ERROR", "API error")));
+
+        // Act & Assert
+        StepVerifier.create(serviceLineService.getServiceLineByIdReactive("org-123", "dp-001", "sl-001"))
+                .expectError(ServiceLineApiException.class)
+                .verify();
+
+        verifyNoInteractions(mapper);
+    }
+
+    @Test
+    void getAllServiceLinesUsageReactive_ShouldDelegateToApiClient() {
+        // Arrange
+        ServiceLinesUsageDto usage = new ServiceLinesUsageDto("dp-001", List.of());
+        when(apiClient.fetchAllServiceLinesUsageReactive("org-123", "dp-001", 3)).thenReturn(Mono.just(usage));
+
+        // Act & Assert
+        StepVerifier.create(serviceLineService.getAllServiceLinesUsageReactive("org-123", "dp-001", 3))
+                .expectNext(usage)
+                .verifyComplete();
+    }
+
+    @Test
+    void getServiceLinesUsageReactive_WhenFewLinesOfLargePool_ShouldFetchPerLineInRequestOrder() {
+        // Arrange
+        ServiceLineUsageDto first = new ServiceLineUsageDto("Line 1", "555-0001", "Active", null, List.of(), List.of());
+        ServiceLineUsageDto second = new ServiceLineUsageDto("Line 2", "555-0002", "Active", null, List.of(), List.of());
+        planner.recordPoolSize("org-123", "dp-001", 500);
+        when(apiClient.fetchServiceLineUsagePerLineReactive("org-123", "dp-001", "sl-002", 1)).thenReturn(Mono.just(second));
+        when(apiClient.fetchServiceLineUsagePerLineReactive("org-123", "dp-001", "sl-001", 1)).thenReturn(Mono.just(first));
+
+        // Act & Assert
+        StepVerifier.create(serviceLineService.getServiceLinesUsageReactive(
+                        "org-123", "dp-001", List.of("sl-002", "sl-001", "sl-002"), 1))
+                .assertNext(usage -> {
+                    assertEquals(List.of("sl-002", "sl-001", "sl-002"), usage.stream().map(BatchItem::id).toList());
+                    assertEquals(second, usage.get(0).data());
+                    assertEquals(first, usage.get(1).data());
+                    assertEquals(second, usage.get(2).data());
+                })
+                .verifyComplete();
+        verify(apiClient, times(1)).fetchServiceLineUsagePerLineReactive("org-123", "dp-001", "sl-002", 1);
+        verify(apiClient, never()).fetchAllServiceLinesUsageReactive(any(), any(), any());
+    }
+
+    @Test
+    void getServiceLinesUsage_WhenMostLinesOfPool_ShouldUseOneAllLinesCall() {
+        // Arrange
+        ServiceLinesUsageDto allUsage = new ServiceLinesUsageDto("dp-001", List.of(
+                new ServiceLineListUsageDto("sl-001", "Line 1", "555-0001", "Active", null, List.of(), List.of()),
+                new ServiceLineListUsageDto("sl-002", "Line 2", "555-0002", "Active", null, List.of(), List.of()),
+                new ServiceLineListUsageDto("sl-003", "Line 3", "555-0003", "Active", null, List.of(), List.of())));
+        planner.recordPoolSize("org-123", "dp-001", 4);
+        when(apiClient.fetchAllServiceLinesUsageReactive("org-123", "dp-001", 1)).thenReturn(Mono.just(allUsage));
+        when(apiClient.fetchServiceLineUsagePerLineReactive("org-123", "dp-001", "sl-004", 1)).thenReturn(Mono.empty());
+
+        // Act
+        List<BatchItem<ServiceLineUsageDto>> usage = serviceLineService.getServiceLinesUsage(
+                "org-123", "dp-001", List.of("sl-003", "sl-001", "sl-004"), 1);
+
+        // Assert
+        assertEquals(List.of("sl-003", "sl-001", "sl-004"), usage.stream().map(BatchItem::id).toList());
+        assertEquals("Line 3", usage.get(0).data().serviceLineName());
+        assertNull(usage.get(2).data());
+        assertEquals("SERVICELINE_NOT_FOUND", usage.get(2).error().errorCode());
+        verify(apiClient, never()).fetchServiceLineUsagePerLineReactive("org-123", "dp-001", "sl-001", 1);
+        verify(apiClient, times(1)).fetchServiceLineUsagePerLineReactive("org-123", "dp-001", "sl-004", 1);
+    }
+
+    @Test
+    void getServiceLinesByIdsReactive_WhenOneLineFails_ShouldReportItsErrorOnly() {
+        // Arrange
+        ExternalServiceLineDto external = new ExternalServiceLineDto("sl-001", "Line 1", "555-0001", "Active",
+                LocalDate.of(2024, 1, 1), List.of("KIT001"));
+        ServiceLineDto mapped = new ServiceLineDto("sl-001", "Line 1", "555-0001", "Active",
+                LocalDate.of(2024, 1, 1), List.of("KIT001"));
+        planner.recordPoolSize("org-123", "dp-001", 500);
+        when(apiClient.fetchServiceLineByIdReactive("org-123", "dp-001", "sl-001")).thenReturn(Mono.just(external));
+        when(apiClient.fetchServiceLineByIdReactive("org-123", "dp-001", "sl-009"))
+                .thenReturn(Mono.error(new ServiceLineApiException("SERVICELINE_FETCH_ERROR", "Not found")));
+        when(mapper.toDto(external)).thenReturn(mapped);
+
+        // Act & Assert
+        StepVerifier.create(serviceLineService.getServiceLinesByIdsReactive(
+                        "org-123", "dp-001", List.of("sl-009", "sl-001")))
+                .assertNext(serviceLines -> {
+                    assertEquals("SERVICELINE_FETCH_ERROR", serviceLines.get(0).error().errorCode());
+                    assertEquals(mapped, serviceLines.get(1).data());
+                    assertNull(serviceLines.get(1).error());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getServiceLinesSettingsReactive_WhenTooManyLines_ShouldRejectRequest() {
+        // Arrange
+        List<String> ids = IntStream.rangeClosed(1, 501).mapToObj(i -> "sl-" + i).toList();
+
+        // Act & Assert
+        StepVerifier.create(serviceLineService.getServiceLinesSettingsReactive("org-123", "dp-001", ids))
+                .verifyError(InvalidRequestException.class);
+        verifyNoInteractions(apiClient);
+    }
+
+    @Test
+    void explainServiceLinesSettings_ShouldReportChosenPlan() {
+        // Act
+        BatchPlanDto plan = serviceLineService.explainServiceLinesSettings("org-123", "dp-001", List.of("sl-001", "sl-001"));
+
+        // Assert
+        assertEquals("SETTINGS", plan.resource());
+        assertEquals(1, plan.requestedServiceLines());
+        assertEquals(BatchPlanDto.Strategy.PER_LINE, plan.strategy());
+        verifyNoInteractions(apiClient);
+    }
 }